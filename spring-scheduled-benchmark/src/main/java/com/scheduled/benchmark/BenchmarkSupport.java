@@ -0,0 +1,121 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.annotation.JobScheduledAnnotationBeanPostProcessor;
+import com.scheduled.cluster.StandaloneSharding;
+import com.scheduled.config.DataConfig;
+import com.scheduled.config.source.ScheduleConfigSource;
+import com.scheduled.history.ExecutionHistory;
+import com.scheduled.history.OverflowPolicy;
+import com.scheduled.task.JobTask;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 基准测试公用的任务类及组装方法，不启动Spring容器，直接组装DataConfig与注解处理器
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+final class BenchmarkSupport {
+
+    static final String CRON_KEY = "bench_cron";
+
+    static final String ENABLE_KEY = "bench_enable";
+
+    static final String RATE_KEY = "bench_rate";
+
+    /**
+     * 每年只触发一次，排期后不会在测试期间执行
+     */
+    static final String IDLE_CRON = "0 0 0 1 1 ?";
+
+    private BenchmarkSupport() {
+    }
+
+    static Map<String, String> defaultConfig() {
+        Map<String, String> config = new HashMap<>();
+        config.put(CRON_KEY, IDLE_CRON);
+        config.put(ENABLE_KEY, "true");
+        config.put(RATE_KEY, "86400000");
+        return config;
+    }
+
+    static DataConfig newDataConfig(ScheduleConfigSource source) {
+        DataConfig config = new DataConfig();
+        inject(config, "source", source);
+        return config;
+    }
+
+    static ExposedProcessor newProcessor(DataConfig config, TaskScheduler scheduler) {
+        ExposedProcessor processor = new ExposedProcessor();
+        inject(processor, "config", config);
+        inject(processor, "sharding", new StandaloneSharding("benchmark"));
+        inject(processor, "history", new ExecutionHistory(false, null, "benchmark", 1, OverflowPolicy.DROP, 1, 1, 1));
+        inject(config, "processor", processor);
+        if (scheduler != null) {
+            inject(processor, "taskScheduler", scheduler);
+        }
+        return processor;
+    }
+
+    /**
+     * 生成count个bean，annotated个带注解（cron与fixedRate各一半），其余为普通bean
+     */
+    static Object[] newBeans(int count, int annotated) {
+        Object[] beans = new Object[count];
+        for (int i = 0; i < count; i++) {
+            if (i < annotated) {
+                beans[i] = i % 2 == 0 ? new CronJob() : new RateJob();
+            } else {
+                beans[i] = new PlainBean();
+            }
+        }
+        return beans;
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * 暴露processScheduled以便单独测试配置解析
+     */
+    static class ExposedProcessor extends JobScheduledAnnotationBeanPostProcessor {
+
+        void process(JobTask jobTask) {
+            processScheduled(jobTask);
+        }
+    }
+
+    public static class CronJob {
+
+        @JobScheduled(cron = CRON_KEY, enable = ENABLE_KEY)
+        public void execute() {
+        }
+    }
+
+    public static class RateJob {
+
+        @JobScheduled(fixedRateString = RATE_KEY, initialDelay = 86400000)
+        public void execute() {
+        }
+    }
+
+    public static class PlainBean {
+
+        public void execute() {
+        }
+
+        @Override
+        public String toString() {
+            return "plain";
+        }
+    }
+}
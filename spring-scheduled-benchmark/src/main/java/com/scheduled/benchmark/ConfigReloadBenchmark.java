@@ -0,0 +1,121 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.benchmark.BenchmarkSupport.ExposedProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.config.source.JdbcPollingConfigSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 用内嵌H2代替MySQL，测试data_config有rows行配置时DataConfig检查配置变化的开销：
+ * 全量模式无变化、全量模式一行变化、增量模式一行变化。变化的是任务引用的enable配置，会触发任务重新排期
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.xml")
+@State(Scope.Benchmark)
+public class ConfigReloadBenchmark {
+
+    private static final String DDL = "CREATE TABLE data_config (" +
+            "config_key VARCHAR(128) NOT NULL PRIMARY KEY, " +
+            "config_value VARCHAR(512) NOT NULL, " +
+            "update_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private JdbcTemplate template;
+
+    private JdbcPollingConfigSource fullSource;
+
+    private JdbcPollingConfigSource deltaSource;
+
+    private boolean flip;
+
+    private long clock;
+
+    @Setup
+    public void setup() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bench" + this.rows + ";DB_CLOSE_DELAY=-1");
+        this.template = new JdbcTemplate(dataSource);
+        this.template.execute("DROP TABLE IF EXISTS data_config");
+        this.template.execute(DDL);
+        this.template.execute("CREATE INDEX idx_update_time ON data_config (update_time)");
+
+        this.clock = System.currentTimeMillis() - 3600_000L;
+        List<Object[]> args = new ArrayList<>(this.rows);
+        for (Map.Entry<String, String> entry : BenchmarkSupport.defaultConfig().entrySet()) {
+            args.add(new Object[]{entry.getKey(), entry.getValue(), new Timestamp(this.clock)});
+        }
+        for (int i = args.size(); i < this.rows; i++) {
+            args.add(new Object[]{"key_" + i, "value_" + i, new Timestamp(this.clock)});
+        }
+        this.template.batchUpdate("INSERT INTO data_config (config_key, config_value, update_time) VALUES (?, ?, ?)", args);
+
+        this.fullSource = new JdbcPollingConfigSource(this.template, Long.MAX_VALUE, false, 0, 0);
+        this.deltaSource = new JdbcPollingConfigSource(this.template, Long.MAX_VALUE, true, 0, 0);
+        DataConfig fullConfig = BenchmarkSupport.newDataConfig(this.fullSource);
+        DataConfig deltaConfig = BenchmarkSupport.newDataConfig(this.deltaSource);
+        ExposedProcessor fullProcessor = BenchmarkSupport.newProcessor(fullConfig, null);
+        ExposedProcessor deltaProcessor = BenchmarkSupport.newProcessor(deltaConfig, null);
+        fullConfig.getString(BenchmarkSupport.ENABLE_KEY);
+        deltaConfig.getString(BenchmarkSupport.ENABLE_KEY);
+        fullProcessor.getObject(new BenchmarkSupport.CronJob(), "cronJob");
+        deltaProcessor.getObject(new BenchmarkSupport.CronJob(), "cronJob");
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.fullSource.stop();
+        this.deltaSource.stop();
+        this.template.execute("DROP TABLE data_config");
+    }
+
+    private void touchEnable() {
+        this.flip = !this.flip;
+        this.clock++;
+        this.template.update("UPDATE data_config SET config_value = ?, update_time = ? WHERE config_key = ?",
+                this.flip ? "TRUE" : "true", new Timestamp(this.clock), BenchmarkSupport.ENABLE_KEY);
+    }
+
+    @Benchmark
+    public void fullPollUnchanged() {
+        this.fullSource.poll();
+    }
+
+    @Benchmark
+    public void fullPollOneChange() {
+        touchEnable();
+        this.fullSource.poll();
+    }
+
+    @Benchmark
+    public void deltaPollOneChange() {
+        touchEnable();
+        this.deltaSource.poll();
+    }
+}
@@ -0,0 +1,77 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.cron.CompiledCron;
+import com.scheduled.cron.CronCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.support.CronSequenceGenerator;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription CompiledCron与Spring CronSequenceGenerator的解析及下次触发时间计算对比
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CronBenchmark {
+
+    @Param({"0 0/5 * * * ?", "0 15 10 ? * MON-FRI", "0 0 0 1 1 ?"})
+    private String expression;
+
+    @Param({"Asia/Shanghai", "America/New_York"})
+    private String zone;
+
+    private TimeZone timeZone;
+
+    private CronSequenceGenerator generator;
+
+    private CompiledCron compiled;
+
+    private long now;
+
+    @Setup
+    public void setup() {
+        this.timeZone = TimeZone.getTimeZone(this.zone);
+        this.generator = new CronSequenceGenerator(this.expression, this.timeZone);
+        this.compiled = CronCache.compile(this.expression, this.timeZone);
+        this.now = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long springNext() {
+        return this.generator.next(new Date(this.now)).getTime();
+    }
+
+    @Benchmark
+    public long compiledNext() {
+        return this.compiled.next(this.now);
+    }
+
+    @Benchmark
+    public Object springParse() {
+        return new CronSequenceGenerator(this.expression, this.timeZone);
+    }
+
+    @Benchmark
+    public Object cachedCompile() {
+        return CronCache.compile(this.expression, this.timeZone);
+    }
+}
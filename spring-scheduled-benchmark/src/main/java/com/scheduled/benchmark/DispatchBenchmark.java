@@ -0,0 +1,114 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.metrics.LatencyHistogram;
+import com.scheduled.scheduler.HashedWheelTaskScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Date;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 调度线程池饱和时的派发吞吐及调度延迟：多个线程持续提交立即执行的任务，
+ * 未执行完的任务数保持在backlog个，任务本身消耗少量CPU。吞吐由JMH给出，
+ * 调度延迟（提交到开始执行）的分位数在每轮结束时打印
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.xml")
+@Threads(4)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    @Param({"pool", "wheel"})
+    private String type;
+
+    @Param({"4"})
+    private int poolSize;
+
+    @Param({"10000"})
+    private int backlog;
+
+    @Param({"500"})
+    private int workTokens;
+
+    private TaskScheduler scheduler;
+
+    private Semaphore permits;
+
+    private LatencyHistogram lag;
+
+    @Setup
+    public void setup() throws Exception {
+        if ("wheel".equals(this.type)) {
+            HashedWheelTaskScheduler wheel = new HashedWheelTaskScheduler();
+            wheel.setWorkerPoolSize(this.poolSize);
+            wheel.afterPropertiesSet();
+            this.scheduler = wheel;
+        } else {
+            ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
+            pool.setPoolSize(this.poolSize);
+            pool.initialize();
+            this.scheduler = pool;
+        }
+        this.permits = new Semaphore(this.backlog);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLag() {
+        this.lag = new LatencyHistogram();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLag() throws InterruptedException {
+        //等待积压的任务执行完，避免影响下一轮
+        this.permits.acquire(this.backlog);
+        this.permits.release(this.backlog);
+        LatencyHistogram.Snapshot snapshot = this.lag.snapshot(0.5, 0.99, 0.999);
+        long[] values = snapshot.getValues();
+        System.out.printf("%n  lag(us): p50=%d p99=%d p999=%d max=%d count=%d%n",
+                values[0], values[1], values[2], snapshot.getMax(), snapshot.getCount());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (this.scheduler instanceof HashedWheelTaskScheduler) {
+            ((HashedWheelTaskScheduler) this.scheduler).destroy();
+        } else {
+            ((ThreadPoolTaskScheduler) this.scheduler).shutdown();
+        }
+    }
+
+    @Benchmark
+    public void dispatch() throws InterruptedException {
+        this.permits.acquire();
+        final long submitted = System.nanoTime();
+        final LatencyHistogram histogram = this.lag;
+        this.scheduler.schedule(() -> {
+            histogram.record((System.nanoTime() - submitted) / 1000);
+            Blackhole.consumeCPU(this.workTokens);
+            this.permits.release();
+        }, new Date());
+    }
+}
@@ -0,0 +1,79 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.invoker.JobInvokers;
+import com.scheduled.invoker.JobMethodRunnable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 每次触发调用任务方法的开销：ScheduledMethodRunnable反射调用与LambdaMetafactory/MethodHandle调用器对比
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvokerBenchmark {
+
+    private Job job;
+
+    private Runnable reflective;
+
+    private Runnable lambda;
+
+    private Runnable methodHandle;
+
+    @Setup
+    public void setup() throws Throwable {
+        this.job = new Job();
+        Method method = Job.class.getMethod("execute");
+        this.reflective = new ScheduledMethodRunnable(this.job, method);
+        this.lambda = new JobMethodRunnable(this.job, method, JobInvokers.lambda(this.job, method));
+        this.methodHandle = new JobMethodRunnable(this.job, method, JobInvokers.methodHandle(this.job, method));
+    }
+
+    @Benchmark
+    public void direct() {
+        this.job.execute();
+    }
+
+    @Benchmark
+    public void scheduledMethodRunnable() {
+        this.reflective.run();
+    }
+
+    @Benchmark
+    public void lambdaInvoker() {
+        this.lambda.run();
+    }
+
+    @Benchmark
+    public void methodHandleInvoker() {
+        this.methodHandle.run();
+    }
+
+    public static class Job {
+
+        private long counter;
+
+        public void execute() {
+            this.counter++;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.benchmark.BenchmarkSupport.ExposedProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.config.source.InMemoryConfigSource;
+import com.scheduled.task.JobTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription processScheduled()按当前配置解析单个任务排期的开销（配置查找、类型转换、cron编译缓存）
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.xml")
+@State(Scope.Benchmark)
+public class ProcessScheduledBenchmark {
+
+    private ExposedProcessor processor;
+
+    private JobTask cronTask;
+
+    private JobTask rateTask;
+
+    @Setup
+    public void setup() {
+        DataConfig config = BenchmarkSupport.newDataConfig(new InMemoryConfigSource(BenchmarkSupport.defaultConfig()));
+        this.processor = BenchmarkSupport.newProcessor(config, null);
+        this.cronTask = newTask(new BenchmarkSupport.CronJob());
+        this.rateTask = newTask(new BenchmarkSupport.RateJob());
+    }
+
+    private static JobTask newTask(Object bean) {
+        JobClassMetadata metadata = JobClassMetadata.introspect(bean);
+        return new JobTask("bench", bean, metadata.getMethods().get(0));
+    }
+
+    @Benchmark
+    public Object cron() {
+        this.processor.process(this.cronTask);
+        return this.cronTask.getSchedule();
+    }
+
+    @Benchmark
+    public Object fixedRate() {
+        this.processor.process(this.rateTask);
+        return this.rateTask.getSchedule();
+    }
+}
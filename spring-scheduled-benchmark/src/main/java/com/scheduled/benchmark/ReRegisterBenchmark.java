@@ -0,0 +1,90 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.benchmark.BenchmarkSupport.ExposedProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.config.source.InMemoryConfigSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 已排期tasks个任务时重新注册的端到端耗时：全部重新注册、配置变化触发全部任务重新排期、
+ * 与任务无关的配置变化（只走DataConfig及索引查找）。任务排在很远的将来，测试期间不会执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.xml")
+@State(Scope.Benchmark)
+public class ReRegisterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tasks;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    private InMemoryConfigSource source;
+
+    private ExposedProcessor processor;
+
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(4);
+        this.scheduler.initialize();
+        this.source = new InMemoryConfigSource(BenchmarkSupport.defaultConfig());
+        DataConfig config = BenchmarkSupport.newDataConfig(this.source);
+        this.processor = BenchmarkSupport.newProcessor(config, this.scheduler);
+        Object[] beans = BenchmarkSupport.newBeans(this.tasks, this.tasks);
+        for (int i = 0; i < beans.length; i++) {
+            this.processor.getObject(beans[i], "bean" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.processor.destroy();
+        this.scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void reRegister() {
+        this.processor.reRegister();
+    }
+
+    /**
+     * 修改所有cron任务引用的配置，约一半任务重新排期
+     */
+    @Benchmark
+    public void refreshSharedKey() {
+        this.flip = !this.flip;
+        this.source.put(BenchmarkSupport.CRON_KEY, this.flip ? "0 0 0 2 1 ?" : BenchmarkSupport.IDLE_CRON);
+    }
+
+    /**
+     * 修改没有任务引用的配置
+     */
+    @Benchmark
+    public void refreshUnrelatedKey() {
+        this.flip = !this.flip;
+        this.source.put("bench_unrelated", this.flip ? "a" : "b");
+    }
+}
@@ -0,0 +1,69 @@
+package com.scheduled.benchmark;
+
+import com.scheduled.benchmark.BenchmarkSupport.ExposedProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.config.source.InMemoryConfigSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 容器启动时getObject()扫描bean的开销：beans个bean中四分之一带注解，其余为普通bean，
+ * 每次调用都使用新的处理器，包含类元数据的首次解析、任务注册及配置解析，不包含排期
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.xml")
+@State(Scope.Benchmark)
+public class RegistrationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int beans;
+
+    private Object[] instances;
+
+    private String[] names;
+
+    private DataConfig config;
+
+    private ExposedProcessor processor;
+
+    @Setup
+    public void setup() {
+        this.instances = BenchmarkSupport.newBeans(this.beans, this.beans / 4);
+        this.names = new String[this.beans];
+        for (int i = 0; i < this.beans; i++) {
+            this.names[i] = "bean" + i;
+        }
+        this.config = BenchmarkSupport.newDataConfig(new InMemoryConfigSource(BenchmarkSupport.defaultConfig()));
+    }
+
+    @Setup(Level.Invocation)
+    public void newProcessor() {
+        this.processor = BenchmarkSupport.newProcessor(this.config, null);
+    }
+
+    @Benchmark
+    public int scan() {
+        for (int i = 0; i < this.instances.length; i++) {
+            this.processor.getObject(this.instances[i], this.names[i]);
+        }
+        return this.processor.getTaskRegistry().size();
+    }
+}
@@ -13,7 +13,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class CustomerTask {
 
-    @JobScheduled(cron = DataConfig.JOB1_CRON, enable = DataConfig.JOB1_ENABLE)
+    @JobScheduled(cron = DataConfig.JOB1_CRON, enable = DataConfig.JOB1_ENABLE, pool = "slow")
     public void job1() {
         System.out.println("调度任务1执行");
         try {
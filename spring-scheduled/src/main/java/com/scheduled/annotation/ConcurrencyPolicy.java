@@ -0,0 +1,25 @@
+package com.scheduled.annotation;
+
+/**
+ * @author Feinik
+ * @Discription 任务上次执行尚未完成时，新的触发如何处理
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public enum ConcurrencyPolicy {
+
+    /**
+     * 跳过本次触发
+     */
+    SKIP,
+
+    /**
+     * 排队，等当前执行完成后立即执行，最多排队maxCatchUp次
+     */
+    QUEUE,
+
+    /**
+     * 允许并行执行
+     */
+    ALLOW_PARALLEL
+}
@@ -0,0 +1,97 @@
+package com.scheduled.annotation;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Feinik
+ * @Discription 某个bean类型上所有被JobScheduled注解的方法，每个类型只反射扫描一次，之后注册及重新注册任务都直接复用
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class JobClassMetadata {
+
+    private final List<JobMethodMetadata> methods;
+
+    private JobClassMetadata(List<JobMethodMetadata> methods) {
+        this.methods = Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * 扫描bean的类型层次，解析出被注解的方法
+     * @param bean
+     * @return
+     */
+    public static JobClassMetadata introspect(Object bean) {
+        Class<?> beanClass = bean.getClass();
+        Class<?> targetClass = AopProxyUtils.ultimateTargetClass(bean);
+        List<JobMethodMetadata> methods = new ArrayList<>(1);
+        ReflectionUtils.doWithMethods(targetClass, method -> {
+            Set<JobScheduled> schedules = AnnotationUtils.getRepeatableAnnotations(method, JobScheduled.class, Schedules.class);
+            int index = 0;
+            for (JobScheduled jobScheduled : schedules) {
+                Method invocableMethod = AopUtils.selectInvocableMethod(method, beanClass);
+                methods.add(new JobMethodMetadata(method, invocableMethod, jobScheduled, index++));
+            }
+        });
+        return new JobClassMetadata(methods);
+    }
+
+    public List<JobMethodMetadata> getMethods() {
+        return this.methods;
+    }
+
+    public boolean isEmpty() {
+        return this.methods.isEmpty();
+    }
+
+    /**
+     * 单个被注解的方法
+     */
+    public static final class JobMethodMetadata {
+
+        private final Method method;
+
+        private final Method invocableMethod;
+
+        private final JobScheduled scheduled;
+
+        private final int index;
+
+        JobMethodMetadata(Method method, Method invocableMethod, JobScheduled scheduled, int index) {
+            this.method = method;
+            this.invocableMethod = invocableMethod;
+            this.scheduled = scheduled;
+            this.index = index;
+        }
+
+        public Method getMethod() {
+            return this.method;
+        }
+
+        /**
+         * 在bean实际类型（可能是代理）上可调用的方法
+         * @return
+         */
+        public Method getInvocableMethod() {
+            return this.invocableMethod;
+        }
+
+        public JobScheduled getScheduled() {
+            return this.scheduled;
+        }
+
+        public int getIndex() {
+            return this.index;
+        }
+    }
+}
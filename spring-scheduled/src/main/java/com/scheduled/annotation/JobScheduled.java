@@ -8,7 +8,9 @@ import java.lang.annotation.Target;
 
 /**
  * @author Feinik
- * @Discription 自定义schedule注解，支持定时任务开启，关闭
+ * @Discription 自定义schedule注解，支持定时任务开启，关闭。
+ * 方法返回CompletionStage或ListenableFuture时按异步任务处理：调用返回后立即释放调度线程，以返回的结果完成作为执行结束。
+ * 以PartitionContext为唯一参数的方法为分片任务，见{@link #partitions()}
  * @Data 2018/12/30
  * @Version 1.0.0
  */
@@ -57,4 +59,64 @@ public @interface JobScheduled {
     long initialDelay() default -1;
 
     String initialDelayString() default "";
+
+    /**
+     * 上次执行未完成时新触发的处理方式，见{@link ConcurrencyPolicy}，也可以配置为DataConfig中的key
+     * @return
+     */
+    String concurrency() default "SKIP";
+
+    /**
+     * 错过触发时间后的处理方式，见{@link MisfirePolicy}，也可以配置为DataConfig中的key
+     * @return
+     */
+    String misfire() default "FIRE_ONCE";
+
+    /**
+     * FIRE_ALL时连续补执行的最大次数，以及QUEUE时最多排队的次数，也可以配置为DataConfig中的key
+     * @return
+     */
+    String maxCatchUp() default "10";
+
+    /**
+     * 触发时间的分散范围，如30s、500ms，也可以配置为DataConfig中的key。每个任务按任务id的哈希在该范围内取一个固定偏移，
+     * 重启后不变，避免大量任务在同一时刻开始执行。只作用于cron和固定频率任务
+     * @return
+     */
+    String spread() default "";
+
+    /**
+     * 任务分组，同组任务共用启动限流配置：DataConfig中的 job_start_limit.分组名，没有分组或分组未配置时使用 job_start_limit，
+     * 配置值格式为 次数/时长，如 20/1s
+     * @return
+     */
+    String group() default "";
+
+    /**
+     * 执行任务的线程池名称，也可以配置为DataConfig中的key。同名任务共用一个独立的线程池，与其他任务互不占用线程，
+     * 线程池配置见DataConfig中的 job_pool.名称（如 size=4,queue=100,priority=5）。为空时在调度线程中执行
+     * @return
+     */
+    String pool() default "";
+
+    /**
+     * 单次执行的超时时间，如30s、5m，也可以配置为DataConfig中的key，为空时不限制。
+     * 超时后中断执行线程并记为失败，中断后仍未结束的放弃该次执行：释放并发名额，固定延迟任务继续下一次排期
+     * @return
+     */
+    String timeout() default "";
+
+    /**
+     * 分片数，也可以配置为DataConfig中的key，只能用于以{@code PartitionContext}为唯一参数的方法，为空时为1。
+     * 每次触发把方法按分片在分片线程池中并行执行一次，所有分片都结束后本次执行才结束，任一分片失败时本次执行失败
+     * @return
+     */
+    String partitions() default "";
+
+    /**
+     * 上游任务id（beanName.方法名），设置后任务不再单独排期，而是在同一次触发中所有上游任务都执行成功后执行，
+     * 上游失败或跳过时本任务及其下游同样跳过。不能与cron、fixedDelay、fixedRate、initialDelay同时使用
+     * @return
+     */
+    String[] dependsOn() default {};
 }
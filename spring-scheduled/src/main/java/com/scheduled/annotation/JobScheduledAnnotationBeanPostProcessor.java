@@ -1,11 +1,20 @@
 package com.scheduled.annotation;
 
+import com.scheduled.annotation.JobClassMetadata.JobMethodMetadata;
+import com.scheduled.cluster.TaskSharding;
+import com.scheduled.config.ConfigSnapshot;
+import com.scheduled.config.ConfigValue;
 import com.scheduled.config.DataConfig;
-import org.apache.commons.lang3.BooleanUtils;
+import com.scheduled.dynamic.DynamicTaskManager;
+import com.scheduled.history.ExecutionHistory;
+import com.scheduled.task.JobFlow;
+import com.scheduled.task.JobSchedule;
+import com.scheduled.task.JobTask;
+import com.scheduled.task.JobTaskRegistry;
+import com.scheduled.task.TimeoutWatchdog;
+import com.scheduled.task.TriggerCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.aop.framework.AopProxyUtils;
-import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -16,42 +25,42 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.annotation.Schedules;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
-import org.springframework.scheduling.config.CronTask;
-import org.springframework.scheduling.config.FixedDelayTask;
-import org.springframework.scheduling.config.FixedRateTask;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
-import org.springframework.scheduling.config.Task;
-import org.springframework.scheduling.support.CronTrigger;
-import org.springframework.scheduling.support.ScheduledMethodRunnable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.StringValueResolver;
 
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -63,13 +72,31 @@ import java.util.concurrent.ScheduledExecutorService;
 @Component
 public class JobScheduledAnnotationBeanPostProcessor
         implements BeanPostProcessor, Ordered, EmbeddedValueResolverAware, BeanNameAware,
-        BeanFactoryAware, ApplicationContextAware, SmartInitializingSingleton, ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+        BeanFactoryAware, ApplicationContextAware, SmartInitializingSingleton, ApplicationListener<ApplicationContextEvent>, DisposableBean {
 
     private Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
     private DataConfig config;
 
+    @Autowired
+    private TaskSharding sharding;
+
+    @Autowired
+    private ExecutionHistory history;
+
+    /**
+     * 数据库中定义的动态任务，与注解任务共用调度器、集群分片和停止流程
+     */
+    @Autowired(required = false)
+    private DynamicTaskManager dynamicTasks;
+
+    /**
+     * 重新排期或停止时等待正在执行的任务完成的最长毫秒数，超时后中断
+     */
+    @Value("${scheduled.drain-timeout:60000}")
+    private long drainTimeout;
+
     @Nullable
     private Object scheduler;
 
@@ -82,16 +109,59 @@ public class JobScheduledAnnotationBeanPostProcessor
     @Nullable
     private String beanName;
 
-    private boolean init = true;
-
     @Nullable
     private ApplicationContext applicationContext;
 
-    public Map<String, Object> beanMap = new HashMap<>();
-
     private final ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
 
-    private final Set<Class<?>> nonAnnotatedClasses = Collections.newSetFromMap(new ConcurrentHashMap<>(64));
+    private final JobTaskRegistry taskRegistry = new JobTaskRegistry();
+
+    @Nullable
+    private volatile TaskScheduler taskScheduler;
+
+    /**
+     * bean类型 -> 被注解方法的元数据，没有注解的类型也会缓存一个空的元数据
+     */
+    private final Map<Class<?>, JobClassMetadata> metadataCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 执行任务流中下游任务的线程池并行度，任务多为IO等待，不按CPU核数设置
+     */
+    @Value("${scheduled.flow.parallelism:8}")
+    private int flowParallelism;
+
+    private volatile ForkJoinPool flowPool;
+
+    /**
+     * 是否合并相同cron任务的触发
+     */
+    @Value("${scheduled.coalesce.enabled:true}")
+    private boolean coalesceTriggers;
+
+    private final TriggerCoalescer triggerCoalescer = new TriggerCoalescer();
+
+    /**
+     * 执行超时中断后，再等待多少毫秒仍未结束就放弃该次执行
+     */
+    @Value("${scheduled.timeout.grace:5000}")
+    private long timeoutGrace;
+
+    private volatile TimeoutWatchdog timeoutWatchdog;
+
+    /**
+     * 执行分片任务各分片的线程池并行度，所有分片任务共用
+     */
+    @Value("${scheduled.partition.parallelism:8}")
+    private int partitionParallelism;
+
+    private volatile ForkJoinPool partitionPool;
+
+    private volatile List<JobFlow> flows = Collections.emptyList();
+
+    /**
+     * 注解中直接写的字面值，解析一次后复用
+     */
+    private final Map<String, ConfigValue> literalValues = new ConcurrentHashMap<>(64);
 
     @Override
     public void setEmbeddedValueResolver(StringValueResolver resolver) {
@@ -124,97 +194,96 @@ public class JobScheduledAnnotationBeanPostProcessor
     @Nullable
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        return getObject(bean);
-    }
-
-    public Object getObject(Object bean) {
-        Class<?> targetClass = AopProxyUtils.ultimateTargetClass(bean);
-        if (!this.nonAnnotatedClasses.contains(targetClass)) {
-            final Set<Method> annotatedMethods = new LinkedHashSet<>(1);
-            ReflectionUtils.doWithMethods(targetClass, method -> {
-                Set<JobScheduled> schedules = AnnotationUtils.getRepeatableAnnotations(method, JobScheduled.class, Schedules.class);
-                for (JobScheduled jobScheduled : schedules) {
-                    processScheduled(jobScheduled, method, bean);
-                    annotatedMethods.add(method);
-                }
-            });
+        return getObject(bean, beanName);
+    }
 
-            if (annotatedMethods.isEmpty()) {
-                this.nonAnnotatedClasses.add(targetClass);
-                if (logger.isTraceEnabled()) {
-                    logger.trace("No @JobScheduled annotations found on bean class: " + bean.getClass());
-                }
+    public Object getObject(Object bean, String beanName) {
+        JobClassMetadata metadata = this.metadataCache.get(bean.getClass());
+        if (metadata == null) {
+            metadata = JobClassMetadata.introspect(bean);
+            this.metadataCache.putIfAbsent(bean.getClass(), metadata);
+        }
+        if (metadata.isEmpty()) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("No @JobScheduled annotations found on bean class: " + bean.getClass());
+            }
+            return bean;
+        }
+        for (JobMethodMetadata methodMetadata : metadata.getMethods()) {
+            JobTask jobTask = new JobTask(beanName, bean, methodMetadata);
+            if (this.history.isEnabled()) {
+                jobTask.setExecutionListener(this.history);
+            }
+            if (this.coalesceTriggers) {
+                jobTask.setCoalescer(this.triggerCoalescer);
+            }
+            jobTask.setStartThrottle(this.config.getStartLimits());
+            jobTask.setPoolSelector(this.config.getTaskPools());
+            jobTask.setWatchdog(timeoutWatchdog());
+            if (jobTask.isPartitioned()) {
+                jobTask.setPartitionExecutor(partitionPool());
+            }
+            if (this.taskRegistry.register(jobTask) == jobTask) {
+                processScheduled(jobTask);
+                registerScheduledTask(jobTask);
             }
         }
         return bean;
     }
 
-    protected void processScheduled(JobScheduled scheduled, Method method, Object bean) {
+    /**
+     * 根据注解及当前配置解析出任务定义，解析失败时不会修改任务当前的定义。
+     * 所有属性都从同一个配置快照读取，配置值已预先解析，这里不再重复解析
+     * @param jobTask
+     */
+    protected void processScheduled(JobTask jobTask) {
+        JobScheduled scheduled = jobTask.getScheduled();
+        Method method = jobTask.getMethod();
         try {
-            Assert.isTrue(method.getParameterCount() == 0,
-                    "Only no-arg methods may be annotated with @JobScheduled");
-            if (init) {
-                //将bean先保存到内存，等重新注册任务时使用
-                beanMap.put(bean.getClass().getName(), bean);
-            }
-            Method invocableMethod = AopUtils.selectInvocableMethod(method, bean.getClass());
-            Runnable runnable = new ScheduledMethodRunnable(bean, invocableMethod);
+            Assert.isTrue(method.getParameterCount() == 0 || jobTask.isPartitioned(),
+                    "Only no-arg methods or methods taking a single PartitionContext may be annotated with @JobScheduled");
+            ConfigSnapshot snapshot = config.getSnapshot();
+            JobSchedule schedule = null;
             boolean processedSchedule = false;
             String errorMessage =
                     "Exactly one of the 'cron', 'fixedDelay(String)', or 'fixedRate(String)' attributes is required";
 
             // Determine initial delay
             long initialDelay = scheduled.initialDelay();
-            String initialDelayString = config.getString(scheduled.initialDelayString());
-            if (StringUtils.hasText(initialDelayString)) {
+            ConfigValue initialDelayValue = resolveValue(snapshot, scheduled.initialDelayString());
+            if (initialDelayValue != null) {
                 Assert.isTrue(initialDelay < 0, "Specify 'initialDelay' or 'initialDelayString', not both");
-                if (this.embeddedValueResolver != null) {
-                    initialDelayString = this.embeddedValueResolver.resolveStringValue(initialDelayString);
-                }
-                if (StringUtils.hasLength(initialDelayString)) {
-                    try {
-                        initialDelay = Long.valueOf(initialDelayString);
-                    }
-                    catch (RuntimeException ex) {
-                        throw new IllegalArgumentException(
-                                "Invalid initialDelayString value \"" + initialDelayString + "\" - cannot parse into long");
-                    }
-                }
-            }
-
-            // Check cron expression
-            String cron = config.getString(scheduled.cron());
-            if (StringUtils.isEmpty(cron)) {
-                cron = scheduled.cron();
+                initialDelay = initialDelayValue.asLong("initialDelayString");
             }
 
             // 检查是否开启任务
-            String enableStr = config.getString(scheduled.enable());
-            boolean enable;
-            if (StringUtils.isEmpty(enableStr)) {
-                enable = BooleanUtils.toBoolean(scheduled.enable());
-            } else {
-                enable = BooleanUtils.toBoolean(enableStr);
+            ConfigValue enableValue = resolveValue(snapshot, scheduled.enable());
+            boolean enable = enableValue != null && enableValue.asBoolean();
+
+            // 重叠执行及错过触发的处理策略
+            ConcurrencyPolicy concurrency = requireValue(snapshot, scheduled.concurrency(), "concurrency")
+                    .asEnum(ConcurrencyPolicy.class, "concurrency");
+            MisfirePolicy misfire = requireValue(snapshot, scheduled.misfire(), "misfire")
+                    .asEnum(MisfirePolicy.class, "misfire");
+            int maxCatchUp = requireValue(snapshot, scheduled.maxCatchUp(), "maxCatchUp").asInt("maxCatchUp");
+            Assert.isTrue(maxCatchUp >= 0, "'maxCatchUp' must not be negative");
+
+            // Check cron expression
+            ConfigValue cronValue = resolveValue(snapshot, scheduled.cron());
+            if (cronValue != null) {
+                Assert.isTrue(initialDelay == -1, "'initialDelay' not supported for cron triggers");
+                processedSchedule = true;
+                schedule = JobSchedule.cron(cronValue.asCron(resolveTimeZone(scheduled)), concurrency, misfire, maxCatchUp);
             }
-            if (StringUtils.hasText(cron)) {
-                String zone = scheduled.zone();
-                if (this.embeddedValueResolver != null) {
-                    cron = this.embeddedValueResolver.resolveStringValue(cron);
-                    zone = this.embeddedValueResolver.resolveStringValue(zone);
-                }
-                if (StringUtils.hasLength(cron)) {
-                    Assert.isTrue(initialDelay == -1, "'initialDelay' not supported for cron triggers");
-                    processedSchedule = true;
-                    TimeZone timeZone;
-                    if (StringUtils.hasText(zone)) {
-                        timeZone = StringUtils.parseTimeZoneString(zone);
-                    }
-                    else {
-                        timeZone = TimeZone.getDefault();
-                    }
 
-                    registerScheduledTask(method, bean, new CronTask(runnable, new CronTrigger(cron, timeZone)), enable);
-                }
+            // 依赖上游任务的不单独排期
+            List<String> dependsOn = resolveDependsOn(scheduled);
+            if (!dependsOn.isEmpty()) {
+                Assert.isTrue(!processedSchedule, errorMessage);
+                Assert.isTrue(initialDelay == -1, "'initialDelay' not supported for dependent tasks");
+                checkCycle(jobTask.getId(), dependsOn);
+                processedSchedule = true;
+                schedule = JobSchedule.dependent(concurrency, misfire, maxCatchUp);
             }
 
             // At this point we don't need to differentiate between initial delay set or not anymore
@@ -227,25 +296,14 @@ public class JobScheduledAnnotationBeanPostProcessor
             if (fixedDelay >= 0) {
                 Assert.isTrue(!processedSchedule, errorMessage);
                 processedSchedule = true;
-                registerScheduledTask(method, bean, new FixedDelayTask(runnable, fixedDelay, initialDelay), enable);
+                schedule = JobSchedule.fixedDelay(fixedDelay, initialDelay, concurrency, misfire, maxCatchUp);
             }
-            String fixedDelayString = config.getString(scheduled.fixedDelayString());
-            if (StringUtils.hasText(fixedDelayString)) {
-                if (this.embeddedValueResolver != null) {
-                    fixedDelayString = this.embeddedValueResolver.resolveStringValue(fixedDelayString);
-                }
-                if (StringUtils.hasLength(fixedDelayString)) {
-                    Assert.isTrue(!processedSchedule, errorMessage);
-                    processedSchedule = true;
-                    try {
-                        fixedDelay = Long.valueOf(fixedDelayString);
-                    }
-                    catch (RuntimeException ex) {
-                        throw new IllegalArgumentException(
-                                "Invalid fixedDelayString value \"" + fixedDelayString + "\" - cannot parse into long");
-                    }
-                    registerScheduledTask(method, bean, new FixedDelayTask(runnable, fixedDelay, initialDelay), enable);
-                }
+            ConfigValue fixedDelayValue = resolveValue(snapshot, scheduled.fixedDelayString());
+            if (fixedDelayValue != null) {
+                Assert.isTrue(!processedSchedule, errorMessage);
+                processedSchedule = true;
+                fixedDelay = fixedDelayValue.asLong("fixedDelayString");
+                schedule = JobSchedule.fixedDelay(fixedDelay, initialDelay, concurrency, misfire, maxCatchUp);
             }
 
             // Check fixed rate
@@ -253,30 +311,48 @@ public class JobScheduledAnnotationBeanPostProcessor
             if (fixedRate >= 0) {
                 Assert.isTrue(!processedSchedule, errorMessage);
                 processedSchedule = true;
-                registerScheduledTask(method, bean, new FixedRateTask(runnable, fixedRate, initialDelay), enable);
+                schedule = JobSchedule.fixedRate(fixedRate, initialDelay, concurrency, misfire, maxCatchUp);
             }
-            String fixedRateString = config.getString(scheduled.fixedRateString());
-            if (StringUtils.hasText(fixedRateString)) {
-                if (this.embeddedValueResolver != null) {
-                    fixedRateString = this.embeddedValueResolver.resolveStringValue(fixedRateString);
-                }
-                if (StringUtils.hasLength(fixedRateString)) {
-                    Assert.isTrue(!processedSchedule, errorMessage);
-                    processedSchedule = true;
-                    try {
-                        fixedRate = Long.valueOf(fixedRateString);
-                    }
-                    catch (RuntimeException ex) {
-                        throw new IllegalArgumentException(
-                                "Invalid fixedRateString value \"" + fixedRateString + "\" - cannot parse into long");
-                    }
-                    registerScheduledTask(method, bean, new FixedRateTask(runnable, fixedRate, initialDelay), enable);
-
-                }
+            ConfigValue fixedRateValue = resolveValue(snapshot, scheduled.fixedRateString());
+            if (fixedRateValue != null) {
+                Assert.isTrue(!processedSchedule, errorMessage);
+                processedSchedule = true;
+                fixedRate = fixedRateValue.asLong("fixedRateString");
+                schedule = JobSchedule.fixedRate(fixedRate, initialDelay, concurrency, misfire, maxCatchUp);
             }
 
             // Check whether we had any attribute set
             Assert.isTrue(processedSchedule, errorMessage);
+
+            // 触发时间的分散范围
+            ConfigValue spreadValue = resolveValue(snapshot, scheduled.spread());
+            if (spreadValue != null) {
+                schedule = schedule.withSpread(spreadValue.asDuration("spread"));
+            }
+
+            // 执行线程池
+            ConfigValue poolValue = resolveValue(snapshot, scheduled.pool());
+
+            // 单次执行超时
+            ConfigValue timeoutValue = resolveValue(snapshot, scheduled.timeout());
+            long timeout = timeoutValue != null ? timeoutValue.asDuration("timeout") : 0;
+
+            // 分片数
+            ConfigValue partitionsValue = resolveValue(snapshot, scheduled.partitions());
+            int partitions = 1;
+            if (partitionsValue != null) {
+                Assert.isTrue(jobTask.isPartitioned(), "'partitions' requires a method taking a PartitionContext");
+                partitions = partitionsValue.asInt("partitions");
+                Assert.isTrue(partitions > 0, "'partitions' must be positive");
+            }
+
+            jobTask.setSchedule(schedule);
+            jobTask.setDependsOn(dependsOn);
+            jobTask.setGroup(resolveGroup(scheduled));
+            jobTask.setPool(poolValue != null ? poolValue.getRaw().trim() : null);
+            jobTask.setTimeout(timeout);
+            jobTask.setPartitions(partitions);
+            jobTask.setEnabled(enable);
         }
         catch (IllegalArgumentException ex) {
             throw new IllegalStateException(
@@ -284,30 +360,164 @@ public class JobScheduledAnnotationBeanPostProcessor
         }
     }
 
-    private void registerScheduledTask(Method method, Object bean, Task task, boolean enable) {
-        if (enable) {
-            try {
-                if (task instanceof CronTask) {
-                    this.registrar.scheduleCronTask((CronTask) task);
-                } else if (task instanceof FixedDelayTask) {
-                    this.registrar.scheduleFixedDelayTask((FixedDelayTask) task);
-                } else if (task instanceof FixedRateTask) {
-                    this.registrar.scheduleFixedRateTask((FixedRateTask) task);
+    /**
+     * 按"配置key或字面值"的约定解析注解属性：优先取配置快照中该key的值，没有则把属性本身（解析占位符后）当作值，
+     * 属性为空时返回null
+     * @param snapshot
+     * @param attribute
+     * @return
+     */
+    @Nullable
+    private ConfigValue resolveValue(ConfigSnapshot snapshot, String attribute) {
+        if (!StringUtils.hasText(attribute)) {
+            return null;
+        }
+        ConfigValue value = snapshot.get(attribute);
+        if (value != null) {
+            return value;
+        }
+        String literal = attribute;
+        if (this.embeddedValueResolver != null) {
+            literal = this.embeddedValueResolver.resolveStringValue(literal);
+        }
+        if (!StringUtils.hasText(literal)) {
+            return null;
+        }
+        return this.literalValues.computeIfAbsent(literal, ConfigValue::new);
+    }
+
+    private TimeoutWatchdog timeoutWatchdog() {
+        TimeoutWatchdog watchdog = this.timeoutWatchdog;
+        if (watchdog == null) {
+            synchronized (this) {
+                if (this.timeoutWatchdog == null) {
+                    this.timeoutWatchdog = new TimeoutWatchdog(this.timeoutGrace);
+                }
+                watchdog = this.timeoutWatchdog;
+            }
+        }
+        return watchdog;
+    }
+
+    private ForkJoinPool partitionPool() {
+        ForkJoinPool pool = this.partitionPool;
+        if (pool == null) {
+            synchronized (this) {
+                if (this.partitionPool == null) {
+                    this.partitionPool = new ForkJoinPool(this.partitionParallelism, p -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        thread.setName("job-partition-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, true);
                 }
-                logger.info("------>类：" + bean.getClass().getName() + "，方法:" + method.getName() + "的调度任务已注册完成");
+                pool = this.partitionPool;
+            }
+        }
+        return pool;
+    }
+
+    @Nullable
+    private String resolveGroup(JobScheduled scheduled) {
+        String group = scheduled.group();
+        if (this.embeddedValueResolver != null) {
+            group = this.embeddedValueResolver.resolveStringValue(group);
+        }
+        return StringUtils.hasText(group) ? group.trim() : null;
+    }
+
+    private List<String> resolveDependsOn(JobScheduled scheduled) {
+        List<String> dependsOn = new ArrayList<>(scheduled.dependsOn().length);
+        for (String id : scheduled.dependsOn()) {
+            if (this.embeddedValueResolver != null) {
+                id = this.embeddedValueResolver.resolveStringValue(id);
+            }
+            if (StringUtils.hasText(id) && !dependsOn.contains(id.trim())) {
+                dependsOn.add(id.trim());
+            }
+        }
+        return dependsOn;
+    }
+
+    /**
+     * 检查加入taskId -> dependsOn 之后是否形成环，只检查已注册的任务，环上最后注册的任务会检查出环
+     * @param taskId
+     * @param dependsOn
+     */
+    private void checkCycle(String taskId, List<String> dependsOn) {
+        Deque<String> path = new ArrayDeque<>();
+        path.add(taskId);
+        Set<String> visited = new HashSet<>();
+        for (String id : dependsOn) {
+            findCycle(taskId, id, path, visited);
+        }
+    }
+
+    private void findCycle(String taskId, String id, Deque<String> path, Set<String> visited) {
+        path.addLast(id);
+        Assert.isTrue(!taskId.equals(id), "Circular dependency: " + String.join(" -> ", path));
+        if (visited.add(id)) {
+            JobTask task = this.taskRegistry.get(id);
+            if (task != null) {
+                for (String next : task.getDependsOn()) {
+                    findCycle(taskId, next, path, visited);
+                }
+            }
+        }
+        path.removeLast();
+    }
+
+    private TimeZone resolveTimeZone(JobScheduled scheduled) {
+        String zone = scheduled.zone();
+        if (this.embeddedValueResolver != null) {
+            zone = this.embeddedValueResolver.resolveStringValue(zone);
+        }
+        if (StringUtils.hasText(zone)) {
+            return StringUtils.parseTimeZoneString(zone);
+        }
+        return TimeZone.getDefault();
+    }
+
+    private ConfigValue requireValue(ConfigSnapshot snapshot, String attribute, String name) {
+        ConfigValue value = resolveValue(snapshot, attribute);
+        Assert.notNull(value, "'" + name + "' must not be empty");
+        return value;
+    }
+
+    /**
+     * 对任务进行排期，调度器尚未初始化时由finishRegistration统一排期
+     * @param jobTask
+     */
+    private void registerScheduledTask(JobTask jobTask) {
+        TaskScheduler scheduler = this.taskScheduler;
+        if (scheduler == null) {
+            return;
+        }
+        String name = "------>类：" + jobTask.getBean().getClass().getName() + "，方法:" + jobTask.getMethod().getName();
+        if (jobTask.getSchedule().getType() == JobSchedule.Type.DEPENDENT) {
+            //下游任务在根任务所在的节点上执行
+            jobTask.start(scheduler);
+            logger.info(name + "的调度任务在上游任务" + jobTask.getDependsOn() + "执行成功后执行");
+            return;
+        }
+        jobTask.setLocal(this.sharding.isLocal(jobTask.getId()));
+        if (!jobTask.isLocal()) {
+            logger.info(name + "的调度任务由其它节点执行");
+        } else if (jobTask.isPaused()) {
+            logger.warn(name + "的调度任务已暂停");
+        } else if (jobTask.isEnabled()) {
+            try {
+                jobTask.start(scheduler);
+                logger.info(name + "的调度任务已注册完成，" + jobTask.getSchedule());
             } catch (Exception e) {
-                logger.error("------>类：" + bean.getClass().getName() + "，方法:" + method.getName() + "的调度任务注册失败");
+                logger.error(name + "的调度任务注册失败", e);
             }
         } else {
-            logger.warn("------>类：" + bean.getClass().getName() + "，方法:" + method.getName() + "的调度任务未开启");
+            logger.warn(name + "的调度任务未开启");
         }
     }
 
     @Override
     public void afterSingletonsInstantiated() {
-        // Remove resolved singleton classes from cache
-        this.nonAnnotatedClasses.clear();
-
         if (this.applicationContext == null) {
             // Not running in an ApplicationContext -> register tasks early...
             finishRegistration();
@@ -315,12 +525,18 @@ public class JobScheduledAnnotationBeanPostProcessor
     }
 
     @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        if (event.getApplicationContext() == this.applicationContext) {
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event.getApplicationContext() != this.applicationContext) {
+            return;
+        }
+        if (event instanceof ContextRefreshedEvent) {
             // Running in an ApplicationContext -> register tasks this late...
             // giving other ContextRefreshedEvent listeners a chance to perform
             // their work at the same time (e.g. Spring Batch's job registration).
             finishRegistration();
+        } else if (event instanceof ContextClosedEvent) {
+            //在调度线程池销毁之前停止触发并等待正在执行的任务完成
+            drain();
         }
     }
 
@@ -339,7 +555,7 @@ public class JobScheduledAnnotationBeanPostProcessor
             }
         }
 
-        if (this.registrar.hasTasks() && this.registrar.getScheduler() == null) {
+        if ((this.registrar.hasTasks() || !this.taskRegistry.isEmpty()) && this.registrar.getScheduler() == null) {
             Assert.state(this.beanFactory != null, "BeanFactory must be set to find scheduler by type");
             try {
                 // 使用自定义的ThreadPoolTaskScheduler
@@ -390,32 +606,335 @@ public class JobScheduledAnnotationBeanPostProcessor
         }
 
         this.registrar.afterPropertiesSet();
+
+        this.taskScheduler = this.registrar.getScheduler();
+        buildFlows();
+        this.sharding.start(nodes -> rebalance());
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            registerScheduledTask(jobTask);
+        }
+        if (this.dynamicTasks != null && this.dynamicTasks.isEnabled() && this.taskScheduler != null) {
+            this.dynamicTasks.start(this.taskScheduler, this.sharding, this.config.getTaskPools());
+        }
+        if (this.coalesceTriggers && this.triggerCoalescer.getMemberCount() > 0) {
+            logger.info("------>" + this.triggerCoalescer.getMemberCount() + "个cron任务合并为" +
+                    this.triggerCoalescer.getGroupCount() + "个触发");
+        }
+    }
+
+    /**
+     * 所有任务都注册完成后，按dependsOn把任务组织成以有排期的任务为根的任务流
+     */
+    private void buildFlows() {
+        Map<JobTask, List<JobTask>> downstream = new HashMap<>();
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            for (String id : jobTask.getDependsOn()) {
+                JobTask upstream = this.taskRegistry.get(id);
+                if (upstream == null) {
+                    throw new IllegalStateException("Task '" + jobTask.getId() + "' depends on unknown task '" + id + "'");
+                }
+                downstream.computeIfAbsent(upstream, k -> new ArrayList<>()).add(jobTask);
+            }
+        }
+        if (downstream.isEmpty()) {
+            return;
+        }
+        //每个下游任务只能属于一个根任务，否则无法确定由哪一次触发执行
+        Map<JobTask, JobTask> rootOf = new HashMap<>();
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            findRoot(jobTask, rootOf);
+        }
+        this.flowPool = new ForkJoinPool(this.flowParallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("job-flow-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+        List<JobFlow> flows = new ArrayList<>();
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            if (jobTask.getDependsOn().isEmpty() && downstream.containsKey(jobTask)) {
+                JobFlow flow = JobFlow.build(jobTask, downstream, this.flowPool);
+                for (JobTask node : flow.getNodes()) {
+                    node.setFlow(flow);
+                }
+                flows.add(flow);
+                logger.info("------>任务流" + jobTask.getId() + "包含任务" + flow.getNodes());
+            }
+        }
+        this.flows = flows;
+    }
+
+    private JobTask findRoot(JobTask jobTask, Map<JobTask, JobTask> rootOf) {
+        JobTask root = rootOf.get(jobTask);
+        if (root != null) {
+            return root;
+        }
+        if (jobTask.getDependsOn().isEmpty()) {
+            root = jobTask;
+        } else {
+            for (String id : jobTask.getDependsOn()) {
+                JobTask upstreamRoot = findRoot(this.taskRegistry.get(id), rootOf);
+                if (root == null) {
+                    root = upstreamRoot;
+                } else if (root != upstreamRoot) {
+                    throw new IllegalStateException("Task '" + jobTask.getId() + "' depends on tasks of different roots '" +
+                            root.getId() + "' and '" + upstreamRoot.getId() + "', a flow must have exactly one scheduled root");
+                }
+            }
+        }
+        rootOf.put(jobTask, root);
+        return root;
     }
 
     @Override
     public void destroy() throws Exception {
+        drain();
         this.registrar.destroy();
+        if (this.flowPool != null) {
+            this.flowPool.shutdownNow();
+        }
+        if (this.partitionPool != null) {
+            this.partitionPool.shutdownNow();
+        }
+        this.config.getTaskPools().shutdown();
+        if (this.timeoutWatchdog != null) {
+            this.timeoutWatchdog.stop();
+        }
     }
 
     /**
-     * 重新注册任务
+     * 取消所有任务之后的触发，等待正在执行的任务完成，超过drainTimeout仍未完成的中断
      */
-    public void reRegister(){
-        try {
-            //注销之前注册的任务
-            this.registrar.destroy();
-            this.registrar.setCronTasksList(new ArrayList<>());
-            this.init = false;
+    private void drain() {
+        Collection<JobTask> tasks = this.taskRegistry.getTasks();
+        for (JobTask jobTask : tasks) {
+            jobTask.cancel(false);
+        }
+        if (this.dynamicTasks != null) {
+            this.dynamicTasks.stop();
+        }
+        long deadline = System.currentTimeMillis() + this.drainTimeout;
+        int inFlight = inFlight(tasks);
+        if (inFlight > 0) {
+            logger.info("------>等待" + inFlight + "个正在执行的任务完成");
+        }
+        while (inFlight > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            inFlight = inFlight(tasks);
+        }
+        if (inFlight > 0) {
+            logger.warn("------>" + inFlight + "个任务在" + this.drainTimeout + "ms内未执行完成，将被中断");
+            for (JobTask jobTask : tasks) {
+                jobTask.cancel(true);
+            }
+        }
+    }
+
+    private int inFlight(Collection<JobTask> tasks) {
+        int inFlight = 0;
+        for (JobTask jobTask : tasks) {
+            inFlight += jobTask.getInFlight();
+        }
+        //任务流中上游已完成、下游尚未开始的也需要等待
+        for (JobFlow flow : this.flows) {
+            inFlight += flow.getActiveRuns();
+        }
+        if (this.dynamicTasks != null) {
+            inFlight += this.dynamicTasks.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * 配置变化后只对引用了这些配置key的任务重新排期，其它任务不受影响
+     * @param configKeys 发生变化的配置key
+     */
+    public void refresh(Collection<String> configKeys) {
+        Set<JobTask> affected = this.taskRegistry.getTasksByConfigKeys(configKeys);
+        for (JobTask jobTask : affected) {
+            reschedule(jobTask);
+        }
+    }
 
-            for (Object o : this.beanMap.values()) {
-                this.getObject(o);
+    /**
+     * 重新注册所有任务
+     */
+    public void reRegister() {
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            reschedule(jobTask);
+        }
+    }
+
+    /**
+     * 按最新配置重新排期单个任务，新配置无效时保留原排期
+     * @param jobTask
+     */
+    private void reschedule(JobTask jobTask) {
+        synchronized (jobTask) {
+            try {
+                processScheduled(jobTask);
+            } catch (IllegalStateException e) {
+                logger.error("------>任务" + jobTask.getId() + "的新配置无效，保留原排期：" + e.getMessage());
+                return;
+            }
+            restart(jobTask);
+        }
+    }
+
+    /**
+     * 只取消之后的触发，正在执行的继续执行完，新排期立即生效
+     * @param jobTask
+     */
+    private void restart(JobTask jobTask) {
+        jobTask.cancel(false);
+        registerScheduledTask(jobTask);
+        if (jobTask.getInFlight() > 0) {
+            scheduleDrainTimeout(jobTask, jobTask.getGeneration().get());
+        }
+    }
+
+    /**
+     * 按指定的排期重新排期单个任务，之后引用的配置发生变化时仍以配置为准
+     * @param jobTask
+     * @param schedule
+     */
+    public void reschedule(JobTask jobTask, JobSchedule schedule) {
+        synchronized (jobTask) {
+            jobTask.setSchedule(schedule);
+            restart(jobTask);
+        }
+    }
+
+    /**
+     * 以任务当前的并发及错过触发策略，构造新的cron、固定延迟或固定频率排期
+     * @param jobTask
+     * @param type
+     * @param value cron表达式或间隔毫秒数
+     * @return
+     * @throws IllegalArgumentException 值无效
+     */
+    public JobSchedule buildSchedule(JobTask jobTask, JobSchedule.Type type, String value) {
+        Assert.hasText(value, "'" + type + "' must not be empty");
+        JobSchedule current = jobTask.getSchedule();
+        ConfigValue configValue = new ConfigValue(value);
+        JobSchedule schedule;
+        if (type == JobSchedule.Type.CRON) {
+            schedule = JobSchedule.cron(configValue.asCron(resolveTimeZone(jobTask.getScheduled())),
+                    current.getConcurrency(), current.getMisfire(), current.getMaxCatchUp());
+        } else {
+            long interval = configValue.asLong(type.name());
+            Assert.isTrue(interval > 0, "'" + type + "' must be positive");
+            if (type == JobSchedule.Type.FIXED_DELAY) {
+                schedule = JobSchedule.fixedDelay(interval, 0, current.getConcurrency(), current.getMisfire(),
+                        current.getMaxCatchUp());
+            } else {
+                schedule = JobSchedule.fixedRate(interval, 0, current.getConcurrency(), current.getMisfire(),
+                        current.getMaxCatchUp());
+            }
+        }
+        return schedule.withSpread(current.getSpread());
+    }
+
+    /**
+     * 暂停任务，正在执行的继续执行完
+     * @param jobTask
+     */
+    public void pause(JobTask jobTask) {
+        synchronized (jobTask) {
+            jobTask.setPaused(true);
+            jobTask.cancel(false);
+        }
+        logger.info("------>任务" + jobTask.getId() + "已暂停");
+    }
+
+    /**
+     * 恢复暂停的任务
+     * @param jobTask
+     */
+    public void resume(JobTask jobTask) {
+        synchronized (jobTask) {
+            if (!jobTask.isPaused()) {
+                return;
             }
+            jobTask.setPaused(false);
+            restart(jobTask);
+        }
+    }
 
-            //设置自定义任务线程池
-            this.registrar.setScheduler(this.beanFactory.getBean("customerThreadPoolTaskScheduler"));
-            this.registrar.afterPropertiesSet();
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * 立即额外执行一次任务，暂停、未开启或由其它节点执行的任务同样会在当前节点执行
+     * @param jobTask
+     */
+    public void trigger(JobTask jobTask) {
+        TaskScheduler scheduler = this.taskScheduler;
+        Assert.state(scheduler != null, "Scheduler has not been initialized");
+        jobTask.trigger(scheduler);
+        logger.info("------>任务" + jobTask.getId() + "已触发执行一次");
+    }
+
+    /**
+     * 旧排期发起的执行超过drainTimeout仍未完成时中断
+     * @param jobTask
+     * @param generation 新排期的代次
+     */
+    private void scheduleDrainTimeout(JobTask jobTask, long generation) {
+        TaskScheduler scheduler = this.taskScheduler;
+        if (scheduler == null) {
+            return;
         }
+        scheduler.schedule(() -> {
+            int interrupted = jobTask.interruptBefore(generation);
+            if (interrupted > 0) {
+                logger.warn("------>任务" + jobTask.getId() + "重新排期后旧的执行在" + this.drainTimeout + "ms内未完成，已中断");
+            }
+        }, new Date(System.currentTimeMillis() + this.drainTimeout));
+    }
+
+    /**
+     * 集群成员变化后只处理归属发生变化的任务：分配给当前节点的开始排期，移到其它节点的取消排期，
+     * 正在执行的不中断
+     */
+    public void rebalance() {
+        int added = 0;
+        int removed = 0;
+        for (JobTask jobTask : this.taskRegistry.getTasks()) {
+            if (jobTask.getSchedule().getType() == JobSchedule.Type.DEPENDENT) {
+                continue;
+            }
+            boolean local = this.sharding.isLocal(jobTask.getId());
+            if (local == jobTask.isLocal()) {
+                continue;
+            }
+            synchronized (jobTask) {
+                if (local) {
+                    registerScheduledTask(jobTask);
+                    added++;
+                } else {
+                    jobTask.setLocal(false);
+                    jobTask.cancel(false);
+                    removed++;
+                }
+            }
+        }
+        logger.info("------>集群节点" + this.sharding.getNodes() + "，当前节点接管" + added + "个任务，移出" + removed + "个任务");
+        if (this.dynamicTasks != null) {
+            this.dynamicTasks.rebalance();
+        }
+    }
+
+    public JobTaskRegistry getTaskRegistry() {
+        return this.taskRegistry;
+    }
+
+    /**
+     * 任务使用的调度器，注册完成前为null
+     * @return
+     */
+    public TaskScheduler getTaskScheduler() {
+        return this.taskScheduler;
     }
 }
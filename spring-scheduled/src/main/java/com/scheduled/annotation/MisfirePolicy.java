@@ -0,0 +1,26 @@
+package com.scheduled.annotation;
+
+/**
+ * @author Feinik
+ * @Discription 错过了触发时间（如GC停顿、调度线程繁忙或重新注册期间）时如何处理，
+ * 触发时如果下一次的计划时间也已经过去，即认为错过了触发
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public enum MisfirePolicy {
+
+    /**
+     * 只补执行一次，其余错过的触发丢弃
+     */
+    FIRE_ONCE,
+
+    /**
+     * 补执行所有错过的触发，连续补执行的次数不超过maxCatchUp
+     */
+    FIRE_ALL,
+
+    /**
+     * 丢弃错过的触发，等待下一个计划时间
+     */
+    IGNORE
+}
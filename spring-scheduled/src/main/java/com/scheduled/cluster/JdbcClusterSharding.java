@@ -0,0 +1,211 @@
+package com.scheduled.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 基于数据库成员表的集群分片：各节点定时向job_node表写心跳，心跳在过期时间内的节点视为存活，
+ * 任务按任务id在存活节点间做Rendezvous哈希。时间均以数据库时间为准，不受节点间时钟偏差影响。
+ * 成员变化后各节点在下一次心跳时感知，期间（最多一个心跳周期）移动中的任务可能在新旧两个节点各触发一次。
+ * 当前节点自己的心跳超过过期时间没有成功时，其它节点已经接管了它的任务，此时它不执行任何任务，直到心跳恢复
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JdbcClusterSharding implements TaskSharding {
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 心跳过期超过该倍数的节点记录会被清理
+     */
+    private static final int PURGE_FACTOR = 10;
+
+    private final JdbcTemplate template;
+
+    private final String nodeId;
+
+    /**
+     * 心跳间隔毫秒数
+     */
+    private final long heartbeatInterval;
+
+    /**
+     * 超过该毫秒数没有心跳的节点视为下线，应为心跳间隔的数倍
+     */
+    private final long expireTime;
+
+    private volatile RendezvousHash hash;
+
+    /**
+     * 当前节点最近一次心跳成功的时间（nanoTime，取发出心跳前的时间）
+     */
+    private volatile long heartbeatNanos;
+
+    /**
+     * 当前节点是否有过成功的心跳
+     */
+    private volatile boolean joined;
+
+    /**
+     * 最近一次通知监听器时当前节点是否存活，只在启动和心跳线程中访问
+     */
+    private boolean reportedAlive;
+
+    private volatile ShardingListener listener;
+
+    private ScheduledExecutorService executorService;
+
+    public JdbcClusterSharding(JdbcTemplate template, String nodeId, long heartbeatInterval, long expireTime) {
+        this.template = template;
+        this.nodeId = nodeId;
+        this.heartbeatInterval = heartbeatInterval;
+        this.expireTime = expireTime;
+        this.hash = RendezvousHash.of(Collections.singletonList(nodeId));
+    }
+
+    @Override
+    public synchronized void start(ShardingListener listener) {
+        this.listener = listener;
+        if (this.executorService != null) {
+            return;
+        }
+        try {
+            heartbeat();
+            this.hash = RendezvousHash.of(loadNodes());
+            logger.info("------>节点" + this.nodeId + "加入集群，当前节点：" + this.hash.getNodes());
+        } catch (Exception e) {
+            logger.error("------>节点" + this.nodeId + "加入集群失败，心跳成功之前不执行任何任务", e);
+        }
+        this.reportedAlive = isAlive();
+        this.executorService = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("cluster-heartbeat-"));
+        this.executorService.scheduleWithFixedDelay(this::check, this.heartbeatInterval, this.heartbeatInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        this.listener = null;
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+            this.executorService = null;
+            try {
+                //主动退出，其它节点在下一次心跳时即可接管
+                this.template.update("DELETE FROM job_node WHERE node_id = ?", this.nodeId);
+            } catch (Exception e) {
+                logger.warn("------>节点" + this.nodeId + "退出集群失败，将在心跳过期后被移除", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isLocal(String taskId) {
+        return isAlive() && this.nodeId.equals(this.hash.owner(taskId));
+    }
+
+    /**
+     * 当前节点的心跳是否在过期时间内，过期后其它节点会把它移出成员
+     * @return
+     */
+    boolean isAlive() {
+        return this.joined && nanoTime() - this.heartbeatNanos <= TimeUnit.MILLISECONDS.toNanos(this.expireTime);
+    }
+
+    @Override
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    @Override
+    public List<String> getNodes() {
+        return this.hash.getNodes();
+    }
+
+    /**
+     * 写心跳并检查成员变化，数据库异常时保留上一次的成员；当前节点心跳过期或恢复时同样通知监听器
+     */
+    void check() {
+        boolean changed = false;
+        try {
+            heartbeat();
+            List<String> nodes = loadNodes();
+            if (!nodes.equals(this.hash.getNodes())) {
+                logger.info("------>集群节点变化：" + this.hash.getNodes() + " -> " + nodes);
+                this.hash = RendezvousHash.of(nodes);
+                changed = true;
+            }
+        } catch (Exception e) {
+            logger.error("------>集群心跳失败，保留当前成员：" + this.hash.getNodes(), e);
+        }
+        boolean alive = isAlive();
+        if (alive != this.reportedAlive) {
+            this.reportedAlive = alive;
+            changed = true;
+            if (alive) {
+                logger.info("------>节点" + this.nodeId + "心跳恢复，重新参与任务分配");
+            } else {
+                logger.error("------>节点" + this.nodeId + "超过" + this.expireTime + "ms没有成功的心跳，任务已由其它节点接管，暂停执行所有任务");
+            }
+        }
+        ShardingListener target = this.listener;
+        if (changed && target != null) {
+            target.onMembershipChange(this.hash.getNodes());
+        }
+    }
+
+    /**
+     * 心跳使用的单调时钟
+     * @return
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private void heartbeat() {
+        long sent = nanoTime();
+        int updated = this.template.update(
+                "UPDATE job_node SET heartbeat_time = CURRENT_TIMESTAMP(3) WHERE node_id = ?", this.nodeId);
+        if (updated == 0) {
+            this.template.update("INSERT INTO job_node (node_id, heartbeat_time, start_time) " +
+                    "VALUES (?, CURRENT_TIMESTAMP(3), CURRENT_TIMESTAMP(3))", this.nodeId);
+        }
+        this.heartbeatNanos = sent;
+        this.joined = true;
+    }
+
+    /**
+     * 查询存活节点，当前节点总是包含在内，顺带清理长时间没有心跳的记录
+     * @return 排序后的节点id
+     */
+    private List<String> loadNodes() {
+        List<Map<String, Object>> rows = this.template.queryForList(
+                "SELECT node_id, heartbeat_time, CURRENT_TIMESTAMP(3) db_time FROM job_node");
+        List<String> nodes = new ArrayList<>(rows.size() + 1);
+        for (Map<String, Object> row : rows) {
+            String node = (String) row.get("node_id");
+            long age = ((Timestamp) row.get("db_time")).getTime() - ((Timestamp) row.get("heartbeat_time")).getTime();
+            if (age <= this.expireTime) {
+                nodes.add(node);
+            } else if (age > this.expireTime * PURGE_FACTOR) {
+                this.template.update("DELETE FROM job_node WHERE node_id = ? AND heartbeat_time = ?",
+                        node, row.get("heartbeat_time"));
+            }
+        }
+        if (!nodes.contains(this.nodeId)) {
+            nodes.add(this.nodeId);
+        }
+        Collections.sort(nodes);
+        return nodes;
+    }
+}
@@ -0,0 +1,82 @@
+package com.scheduled.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * @author Feinik
+ * @Discription 最高随机权重（Rendezvous）哈希：任务归属于与任务id组合后哈希值最大的节点。
+ * 节点增减时只有归属于变化节点的任务会移动，不可变，成员变化时整体替换
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class RendezvousHash {
+
+    private final List<String> nodes;
+
+    private final long[] nodeHashes;
+
+    private RendezvousHash(List<String> nodes) {
+        this.nodes = nodes;
+        this.nodeHashes = new long[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            this.nodeHashes[i] = hash(nodes.get(i));
+        }
+    }
+
+    public static RendezvousHash of(Collection<String> nodes) {
+        //排序后得分相同时的选择与节点的加入顺序无关
+        return new RendezvousHash(Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(nodes))));
+    }
+
+    public List<String> getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * 计算key归属的节点，没有节点时返回null
+     * @param key
+     * @return
+     */
+    public String owner(String key) {
+        long keyHash = hash(key);
+        int best = -1;
+        long bestScore = 0;
+        for (int i = 0; i < this.nodeHashes.length; i++) {
+            long score = mix(keyHash ^ this.nodeHashes[i]);
+            if (best < 0 || Long.compareUnsigned(score, bestScore) > 0) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best < 0 ? null : this.nodes.get(best);
+    }
+
+    /**
+     * 64位FNV-1a
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3的fmix64，使相近的输入得到充分打散的结果
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
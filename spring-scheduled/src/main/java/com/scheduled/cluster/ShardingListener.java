@@ -0,0 +1,19 @@
+package com.scheduled.cluster;
+
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 集群成员变化监听
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface ShardingListener {
+
+    /**
+     * 存活节点发生变化，任务的归属可能已经改变
+     * @param nodes 变化后的存活节点
+     */
+    void onMembershipChange(List<String> nodes);
+}
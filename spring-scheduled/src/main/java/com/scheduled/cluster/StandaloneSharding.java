@@ -0,0 +1,42 @@
+package com.scheduled.cluster;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 单机模式，所有任务都在当前节点执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class StandaloneSharding implements TaskSharding {
+
+    private final String nodeId;
+
+    public StandaloneSharding(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void start(ShardingListener listener) {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isLocal(String taskId) {
+        return true;
+    }
+
+    @Override
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    @Override
+    public List<String> getNodes() {
+        return Collections.singletonList(this.nodeId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.scheduled.cluster;
+
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 任务分片：决定每个任务由集群中哪个节点执行，每个节点只对分配给自己的任务排期
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface TaskSharding {
+
+    /**
+     * 加入集群，返回前完成第一次成员加载，之后成员变化时回调listener
+     * @param listener
+     */
+    void start(ShardingListener listener);
+
+    /**
+     * 退出集群
+     */
+    void stop();
+
+    /**
+     * 任务是否由当前节点执行
+     * @param taskId
+     * @return
+     */
+    boolean isLocal(String taskId);
+
+    String getNodeId();
+
+    /**
+     * 当前存活的节点
+     * @return
+     */
+    List<String> getNodes();
+}
@@ -0,0 +1,40 @@
+package com.scheduled.config;
+
+import com.scheduled.cluster.JdbcClusterSharding;
+import com.scheduled.cluster.StandaloneSharding;
+import com.scheduled.cluster.TaskSharding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * @author Feinik
+ * @Discription 集群分片配置，scheduled.cluster.enabled=true 时多个节点通过job_node表分担任务，否则每个节点执行所有任务
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "stop")
+    public TaskSharding taskSharding(
+            @Value("${scheduled.cluster.enabled:false}") boolean enabled,
+            @Value("${scheduled.cluster.node-id:}") String nodeId,
+            @Value("${scheduled.cluster.heartbeat-interval:5000}") long heartbeatInterval,
+            @Value("${scheduled.cluster.expire-time:15000}") long expireTime,
+            ObjectProvider<JdbcTemplate> template) {
+        if (!StringUtils.hasText(nodeId)) {
+            //pid@hostname，同一进程重启后id可能变化，需要固定分片时显式配置
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        if (!enabled) {
+            return new StandaloneSharding(nodeId);
+        }
+        return new JdbcClusterSharding(template.getObject(), nodeId, heartbeatInterval, expireTime);
+    }
+}
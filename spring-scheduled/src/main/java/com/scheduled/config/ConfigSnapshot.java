@@ -0,0 +1,54 @@
+package com.scheduled.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 某一版本的全部配置，不可变，配置变化时整体替换，读取方拿到的总是一致的视图
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class ConfigSnapshot {
+
+    private final long version;
+
+    private final Map<String, ConfigValue> values;
+
+    ConfigSnapshot(long version, Map<String, ConfigValue> values) {
+        this.version = version;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    static ConfigSnapshot of(long version, Map<String, String> values) {
+        Map<String, ConfigValue> parsed = new HashMap<>(values.size() * 2);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                parsed.put(entry.getKey(), new ConfigValue(entry.getValue()));
+            }
+        }
+        return new ConfigSnapshot(version, parsed);
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public ConfigValue get(String key) {
+        return this.values.get(key);
+    }
+
+    public String getString(String key) {
+        ConfigValue value = this.values.get(key);
+        return value == null ? null : value.getRaw();
+    }
+
+    Map<String, ConfigValue> getValues() {
+        return this.values;
+    }
+
+    public int size() {
+        return this.values.size();
+    }
+}
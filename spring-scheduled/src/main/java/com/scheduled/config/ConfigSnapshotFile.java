@@ -0,0 +1,146 @@
+package com.scheduled.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * @author Feinik
+ * @Discription 把最近一次有效的配置快照保存到本地文件，启动时可以不等配置来源直接按文件中的配置排期。
+ * 文件格式：魔数、格式版本、快照版本、配置项数、依次为key和value（长度+UTF-8字节），最后是CRC32校验值。
+ * 写入时先写临时文件再原子替换，读到不完整或校验失败的文件时当作没有快照
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ConfigSnapshotFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshotFile.class);
+
+    private static final int MAGIC = 0x53434647;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final Path path;
+
+    public ConfigSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * 读取快照文件
+     * @return 配置key -> 配置值，文件不存在或已损坏时返回null
+     */
+    @Nullable
+    public Map<String, String> read() {
+        try (InputStream in = Files.newInputStream(this.path)) {
+            long fileSize = Files.size(this.path);
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(in), new CRC32());
+            DataInputStream data = new DataInputStream(checked);
+            if (data.readInt() != MAGIC || data.readByte() != FORMAT_VERSION) {
+                logger.warn("------>配置快照文件" + this.path + "格式不正确，忽略");
+                return null;
+            }
+            data.readLong();
+            int size = data.readInt();
+            if (size < 0 || size > fileSize) {
+                logger.warn("------>配置快照文件" + this.path + "格式不正确，忽略");
+                return null;
+            }
+            Map<String, String> values = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                values.put(readString(data, fileSize), readString(data, fileSize));
+            }
+            long crc = checked.getChecksum().getValue();
+            if (data.readLong() != crc) {
+                logger.warn("------>配置快照文件" + this.path + "校验失败，忽略");
+                return null;
+            }
+            return values;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("------>读取配置快照文件" + this.path + "失败：" + e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存快照，失败时只记录日志，不影响调度
+     * @param snapshot
+     */
+    public void write(ConfigSnapshot snapshot) {
+        Path dir = this.path.toAbsolutePath().getParent();
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, this.path.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(out), new CRC32());
+                DataOutputStream data = new DataOutputStream(checked);
+                data.writeInt(MAGIC);
+                data.writeByte(FORMAT_VERSION);
+                data.writeLong(snapshot.getVersion());
+                Map<String, ConfigValue> values = snapshot.getValues();
+                data.writeInt(values.size());
+                for (Map.Entry<String, ConfigValue> entry : values.entrySet()) {
+                    writeString(data, entry.getKey());
+                    writeString(data, entry.getValue().getRaw());
+                }
+                data.writeLong(checked.getChecksum().getValue());
+                data.flush();
+            }
+            try {
+                Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("------>保存配置快照文件" + this.path + "失败：" + e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static String readString(DataInputStream data, long limit) throws IOException {
+        int length = data.readInt();
+        if (length < 0 || length > limit) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+}
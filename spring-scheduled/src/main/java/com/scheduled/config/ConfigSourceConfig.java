@@ -0,0 +1,45 @@
+package com.scheduled.config;
+
+import com.scheduled.config.source.FileWatchConfigSource;
+import com.scheduled.config.source.InMemoryConfigSource;
+import com.scheduled.config.source.JdbcPollingConfigSource;
+import com.scheduled.config.source.ScheduleConfigSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Paths;
+
+/**
+ * @author Feinik
+ * @Discription 调度配置来源，通过scheduled.config.source选择：jdbc(默认)、file、memory
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Configuration
+public class ConfigSourceConfig {
+
+    @Bean(destroyMethod = "stop")
+    public ScheduleConfigSource scheduleConfigSource(
+            @Value("${scheduled.config.source:jdbc}") String type,
+            @Value("${scheduled.config.poll-interval:10000}") long pollInterval,
+            @Value("${scheduled.config.delta:false}") boolean delta,
+            @Value("${scheduled.config.delta-overlap:2000}") long deltaOverlap,
+            @Value("${scheduled.config.full-scan-every:60}") int fullScanEvery,
+            @Value("${scheduled.config.file:scheduled-config.properties}") String file,
+            ObjectProvider<JdbcTemplate> template) {
+        switch (type) {
+            case "file":
+                return new FileWatchConfigSource(Paths.get(file));
+            case "memory":
+                return new InMemoryConfigSource();
+            case "jdbc":
+                return new JdbcPollingConfigSource(template.getObject(), pollInterval, delta, deltaOverlap,
+                        fullScanEvery);
+            default:
+                throw new IllegalArgumentException("Unknown scheduled.config.source: " + type);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.scheduled.config;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.annotation.MisfirePolicy;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * @author Feinik
+ * @Discription 配置值在JobScheduled中的用途，配置变化时按用途校验，不合法的值不会生效
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public enum ConfigType {
+
+    CRON {
+        @Override
+        public void validate(ConfigValue value) {
+            //能编译但永远不会触发的表达式（如2月30日）同样无效
+            value.asCron(TimeZone.getDefault()).next(System.currentTimeMillis());
+        }
+    },
+
+    BOOLEAN {
+        @Override
+        public void validate(ConfigValue value) {
+            if (!value.isBoolean()) {
+                throw new IllegalArgumentException("Invalid boolean value \"" + value + "\"");
+            }
+        }
+    },
+
+    MILLIS {
+        @Override
+        public void validate(ConfigValue value) {
+            if (value.asLong("millis") < 0) {
+                throw new IllegalArgumentException("Invalid millis value \"" + value + "\" - must not be negative");
+            }
+        }
+    },
+
+    DURATION {
+        @Override
+        public void validate(ConfigValue value) {
+            value.asDuration("duration");
+        }
+    },
+
+    MAX_CATCH_UP {
+        @Override
+        public void validate(ConfigValue value) {
+            if (value.asInt("maxCatchUp") < 0) {
+                throw new IllegalArgumentException("Invalid maxCatchUp value \"" + value + "\" - must not be negative");
+            }
+        }
+    },
+
+    PARTITIONS {
+        @Override
+        public void validate(ConfigValue value) {
+            if (value.asInt("partitions") < 1) {
+                throw new IllegalArgumentException("Invalid partitions value \"" + value + "\" - must be positive");
+            }
+        }
+    },
+
+    CONCURRENCY {
+        @Override
+        public void validate(ConfigValue value) {
+            value.asEnum(ConcurrencyPolicy.class, "concurrency");
+        }
+    },
+
+    MISFIRE {
+        @Override
+        public void validate(ConfigValue value) {
+            value.asEnum(MisfirePolicy.class, "misfire");
+        }
+    };
+
+    /**
+     * 校验配置值，不合法时抛出IllegalArgumentException
+     * @param value
+     */
+    public abstract void validate(ConfigValue value);
+
+    /**
+     * 配置key在注解中的用途，同一个key可能被多个属性引用
+     * @param scheduled
+     * @param key
+     * @return
+     */
+    public static Set<ConfigType> usages(JobScheduled scheduled, String key) {
+        Set<ConfigType> types = EnumSet.noneOf(ConfigType.class);
+        if (key.equals(scheduled.cron())) {
+            types.add(CRON);
+        }
+        if (key.equals(scheduled.enable())) {
+            types.add(BOOLEAN);
+        }
+        if (key.equals(scheduled.initialDelayString()) || key.equals(scheduled.fixedDelayString())
+                || key.equals(scheduled.fixedRateString())) {
+            types.add(MILLIS);
+        }
+        if (key.equals(scheduled.spread()) || key.equals(scheduled.timeout())) {
+            types.add(DURATION);
+        }
+        if (key.equals(scheduled.maxCatchUp())) {
+            types.add(MAX_CATCH_UP);
+        }
+        if (key.equals(scheduled.partitions())) {
+            types.add(PARTITIONS);
+        }
+        if (key.equals(scheduled.concurrency())) {
+            types.add(CONCURRENCY);
+        }
+        if (key.equals(scheduled.misfire())) {
+            types.add(MISFIRE);
+        }
+        return types;
+    }
+}
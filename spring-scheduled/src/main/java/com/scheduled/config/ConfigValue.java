@@ -0,0 +1,135 @@
+package com.scheduled.config;
+
+import com.scheduled.cron.CompiledCron;
+import com.scheduled.cron.CronCache;
+import org.apache.commons.lang3.BooleanUtils;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * @author Feinik
+ * @Discription 单个配置值，创建时解析出数值及布尔值，cron表达式通过CronCache按时区编译并复用，
+ * 使用时不再重复解析
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class ConfigValue {
+
+    private final String raw;
+
+    /**
+     * 不是整数时为null
+     */
+    private final Long longValue;
+
+    /**
+     * 不是true/false/on/off/yes/no等布尔值时为null
+     */
+    private final Boolean booleanValue;
+
+    public ConfigValue(String raw) {
+        this.raw = raw;
+        String trimmed = raw.trim();
+        Long parsed;
+        try {
+            parsed = Long.valueOf(trimmed);
+        } catch (NumberFormatException e) {
+            parsed = null;
+        }
+        this.longValue = parsed;
+        this.booleanValue = BooleanUtils.toBooleanObject(trimmed);
+    }
+
+    public String getRaw() {
+        return this.raw;
+    }
+
+    /**
+     * 按BooleanUtils.toBoolean的规则转换，无法识别的值为false
+     * @return
+     */
+    public boolean asBoolean() {
+        return this.booleanValue != null && this.booleanValue;
+    }
+
+    public boolean isBoolean() {
+        return this.booleanValue != null;
+    }
+
+    /**
+     * @param name 属性名，用于异常信息
+     * @return
+     */
+    public long asLong(String name) {
+        if (this.longValue == null) {
+            throw new IllegalArgumentException(
+                    "Invalid " + name + " value \"" + this.raw + "\" - cannot parse into long");
+        }
+        return this.longValue;
+    }
+
+    public int asInt(String name) {
+        long value = asLong(name);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid " + name + " value \"" + this.raw + "\" - out of int range");
+        }
+        return (int) value;
+    }
+
+    public <E extends Enum<E>> E asEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, this.raw.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid " + name + " value \"" + this.raw + "\"");
+        }
+    }
+
+    /**
+     * 时长，支持ms、s、m、h、d后缀，没有后缀时为毫秒
+     * @param name 属性名，用于异常信息
+     * @return 毫秒数
+     */
+    public long asDuration(String name) {
+        return parseDuration(this.raw, name);
+    }
+
+    public static long parseDuration(String text, String name) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        int end = value.length();
+        if (value.endsWith("ms")) {
+            end -= 2;
+        } else if (value.endsWith("s")) {
+            unit = 1000;
+            end -= 1;
+        } else if (value.endsWith("m")) {
+            unit = 60_000;
+            end -= 1;
+        } else if (value.endsWith("h")) {
+            unit = 3_600_000;
+            end -= 1;
+        } else if (value.endsWith("d")) {
+            unit = 86_400_000;
+            end -= 1;
+        }
+        try {
+            long amount = Long.parseLong(value.substring(0, end).trim());
+            if (amount < 0) {
+                throw new IllegalArgumentException("Invalid " + name + " value \"" + text + "\" - must not be negative");
+            }
+            return Math.multiplyExact(amount, unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid " + name + " value \"" + text + "\" - expected a duration like 500ms, 30s or 5m");
+        }
+    }
+
+    public CompiledCron asCron(TimeZone timeZone) {
+        return CronCache.compile(this.raw, timeZone);
+    }
+
+    @Override
+    public String toString() {
+        return this.raw;
+    }
+}
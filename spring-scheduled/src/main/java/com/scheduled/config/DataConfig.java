@@ -1,109 +1,267 @@
 package com.scheduled.config;
 
 import com.scheduled.annotation.JobScheduledAnnotationBeanPostProcessor;
-import lombok.Getter;
-import lombok.Setter;
-import org.apache.commons.lang3.StringUtils;
+import com.scheduled.config.source.ConfigChangeEvent;
+import com.scheduled.config.source.ScheduleConfigSource;
+import com.scheduled.task.StartLimiter;
+import com.scheduled.task.TaskPoolSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
-import org.springframework.lang.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.stereotype.Component;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 /**
  * @author Feinik
- * @Discription Cron表达式配置，可以配置为从数据库或配置中心动态获取
+ * @Discription Cron表达式配置，可以配置为从数据库或配置中心动态获取，具体来源由ScheduleConfigSource决定。
+ * 配置以不可变的版本快照保存，变化时校验后整体替换。开启本地快照文件后，启动时直接使用文件中上一次的有效配置，
+ * 配置来源在容器启动完成后于后台加载，加载失败时按重试间隔重试，期间任务按文件中的配置执行
  * @Data 2018/12/30
  * @Version 1.0.0
  */
 @Component
-public class DataConfig {
+public class DataConfig implements ApplicationListener<ApplicationContextEvent> {
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
-    private JdbcTemplate template;
+    private ScheduleConfigSource source;
     @Autowired
     private JobScheduledAnnotationBeanPostProcessor processor;
 
-    private Map<String, Object> dataMap = new ConcurrentHashMap<>();
+    @Value("${scheduled.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+    @Value("${scheduled.snapshot.file:${user.home}/.spring-scheduled/config-snapshot.bin}")
+    private String snapshotFile;
+    /**
+     * 从配置来源加载失败后的重试间隔毫秒数
+     */
+    @Value("${scheduled.snapshot.retry-interval:10000}")
+    private long retryInterval;
+
+    private volatile ConfigSnapshot snapshot;
+
+    private final StartLimits startLimits = new StartLimits(this);
+
+    private final TaskPools taskPools = new TaskPools(this);
+
+    private ConfigSnapshotFile file;
+
+    /**
+     * 当前快照来自本地文件，尚未从配置来源加载
+     */
+    private volatile boolean pendingLoad;
+
+    private volatile boolean closed;
 
     public static final String JOB1_CRON = "job1_cron";
     public static final String JOB1_ENABLE = "job1_enable";
 
     public static final String JOB2_CRON = "job2_cron";
     public static final String JOB2_ENABLE = "job2_enable";
-    private boolean init = false;
-    ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(5);
 
-    public void init() {
-        List<DataKeyValue> dataKeyValues = getDataKeyValues();
-        for (DataKeyValue dataKeyValue : dataKeyValues) {
-            dataMap.put(dataKeyValue.getConfigKey(), dataKeyValue.getConfigValue());
+    /**
+     * 解析@Value中的${...}占位符（系统属性、环境变量等）。本类及注解处理器依赖的其他bean
+     * 在容器默认的占位符解析器生效之前就会创建，所以必须由这里的static方法提前注册，不依赖其他配置类
+     * @return
+     */
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    public synchronized void init() {
+        if (snapshot != null) {
+            return;
+        }
+        if (snapshotEnabled) {
+            file = new ConfigSnapshotFile(Paths.get(snapshotFile));
+            Map<String, String> cached = file.read();
+            if (cached != null) {
+                snapshot = ConfigSnapshot.of(1, cached);
+                pendingLoad = true;
+                logger.info("------>从本地快照文件" + file.getPath() + "加载了" + snapshot.size() + "项配置，配置来源将在后台加载");
+                return;
+            }
         }
+        snapshot = ConfigSnapshot.of(1, source.load());
+        save(snapshot);
 
-        //每10秒检查一个次配置数据是否有变化
-        executorService.scheduleAtFixedRate(new DataChecker(), 0, 10, TimeUnit.SECONDS);
+        //监听配置变化
+        source.start(this::onChange);
     }
 
-    private List<DataKeyValue> getDataKeyValues() {
-        String sql = "select config_key configKey,config_value configValue from data_config";
-        return template.query(sql, new RowMapper<DataKeyValue>(){
-                @Nullable
-                @Override
-                public DataKeyValue mapRow(ResultSet rs, int i) throws SQLException {
-                    DataKeyValue data = new DataKeyValue();
-                    data.setConfigKey(rs.getString("configKey"));
-                    data.setConfigValue(rs.getString("configValue"));
-                    return data;
-                }
-            });
+    /**
+     * 当前配置快照，第一次调用时加载配置
+     * @return
+     */
+    public ConfigSnapshot getSnapshot() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            init();
+            current = snapshot;
+        }
+        return current;
     }
 
-    @Setter
-    @Getter
-    static class DataKeyValue {
-        private String configKey;
-        private String configValue;
+    /**
+     * 按配置限制任务启动频率
+     * @return
+     */
+    public StartLimits getStartLimits() {
+        return startLimits;
     }
 
+    public TaskPools getTaskPools() {
+        return taskPools;
+    }
 
     public String getString(String key) {
-        if (!init) {
-            this.init();
-            init = true;
+        return getSnapshot().getString(key);
+    }
+
+    /**
+     * 配置变化后生成新的快照并整体替换，再对受影响的调度任务重新排期，同一批变化一次性生效。
+     * 值不符合任务中用途（cron、毫秒数、布尔值等）的变化会被拒绝，保留原值
+     * @param events
+     */
+    private synchronized void onChange(List<ConfigChangeEvent> events) {
+        ConfigSnapshot current = getSnapshot();
+        Map<String, ConfigValue> values = new HashMap<>(current.getValues());
+        Set<String> changedKeys = new LinkedHashSet<>();
+        for (ConfigChangeEvent event : events) {
+            if (event.getType() == ConfigChangeEvent.Type.REMOVED) {
+                values.remove(event.getKey());
+            } else {
+                ConfigValue existing = values.get(event.getKey());
+                if (existing != null && existing.getRaw().equals(event.getNewValue())) {
+                    //已经生效的值，例如通过save写入后轮询又读到的同一个值
+                    continue;
+                }
+                ConfigValue value = new ConfigValue(event.getNewValue());
+                try {
+                    validate(event.getKey(), value);
+                } catch (IllegalArgumentException e) {
+                    logger.error("------>配置" + event.getKey() + "的新值无效，保留原值" + current.getString(event.getKey())
+                            + "：" + e.getMessage());
+                    continue;
+                }
+                values.put(event.getKey(), value);
+            }
+            changedKeys.add(event.getKey());
+        }
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        snapshot = new ConfigSnapshot(current.getVersion() + 1, values);
+        save(snapshot);
+
+        //只对引用了这些配置的任务重新排期，正在执行的任务会继续执行完
+        processor.refresh(changedKeys);
+    }
+
+    /**
+     * 校验后写回配置来源，配置来源推送的变化按正常流程生效
+     * @param key
+     * @param value
+     * @throws IllegalArgumentException 值不符合任务中的用途
+     * @throws UnsupportedOperationException 配置来源不支持写入
+     */
+    public void save(String key, String value) {
+        validate(key, new ConfigValue(value));
+        getSnapshot();
+        source.save(key, value);
+    }
+
+    private void validate(String key, ConfigValue value) {
+        for (ConfigType type : processor.getTaskRegistry().getConfigTypes(key)) {
+            type.validate(value);
+        }
+        if (key.equals(StartLimits.START_LIMIT_KEY) || key.startsWith(StartLimits.START_LIMIT_KEY + ".")) {
+            StartLimiter.parse(value.getRaw());
+        }
+        if (key.equals(TaskPools.POOL_KEY) || key.startsWith(TaskPools.POOL_KEY + ".")) {
+            TaskPoolSpec.parse(value.getRaw());
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            //容器启动完成后再加载，避免任务注册期间的配置被后台刷新覆盖而漏掉重新排期
+            if (pendingLoad) {
+                pendingLoad = false;
+                Thread loader = new Thread(this::loadFromSource, "config-snapshot-loader");
+                loader.setDaemon(true);
+                loader.start();
+            }
+        } else if (event instanceof ContextClosedEvent) {
+            closed = true;
         }
-        return (String) dataMap.get(key);
     }
 
     /**
-     * 检查数据是否变化，如果变化了则重新注册调度任务
+     * 从配置来源加载全量配置，与本地快照的差异按配置变化处理，成功后开始监听配置变化
      */
-    class DataChecker implements Runnable {
-        @Override
-        public void run() {
-            List<DataKeyValue> dataKeyValues = getDataKeyValues();
-            for (DataKeyValue config : dataKeyValues) {
-                String oldConfigValue = (String) dataMap.get(config.getConfigKey());
-                String newConfigValue = config.getConfigValue();
-                if (StringUtils.isNotEmpty(oldConfigValue) &&
-                        StringUtils.isNotEmpty(newConfigValue) &&
-                        !newConfigValue.equals(oldConfigValue)) {
-                    //更新map中的键值
-                    dataMap.put(config.getConfigKey(), config.getConfigValue());
-
-                    //重新注册调度任务，正在执行的任务线程会被中断
-                    processor.reRegister();
-                    break;
+    private void loadFromSource() {
+        while (!closed) {
+            Map<String, String> values;
+            try {
+                values = source.load();
+            } catch (Exception e) {
+                logger.error("------>从配置来源加载配置失败，" + retryInterval + "ms后重试，期间使用本地快照中的配置", e);
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException ie) {
+                    return;
                 }
+                continue;
+            }
+            List<ConfigChangeEvent> events = diff(getSnapshot(), values);
+            if (!events.isEmpty()) {
+                onChange(events);
+            }
+            logger.info("------>已从配置来源加载" + values.size() + "项配置，与本地快照相比有" + events.size() + "项变化");
+            source.start(this::onChange);
+            return;
+        }
+    }
+
+    private static List<ConfigChangeEvent> diff(ConfigSnapshot current, Map<String, String> values) {
+        List<ConfigChangeEvent> events = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String oldValue = current.getString(entry.getKey());
+            if (oldValue == null) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.ADDED, entry.getKey(), null, entry.getValue()));
+            } else if (!oldValue.equals(entry.getValue())) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.UPDATED, entry.getKey(), oldValue, entry.getValue()));
+            }
+        }
+        for (String key : current.getValues().keySet()) {
+            if (!values.containsKey(key)) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.REMOVED, key, current.getString(key), null));
             }
         }
+        return events;
+    }
+
+    private void save(ConfigSnapshot snapshot) {
+        if (file != null) {
+            file.write(snapshot);
+        }
     }
 }
@@ -0,0 +1,34 @@
+package com.scheduled.config;
+
+import com.scheduled.dynamic.DynamicTaskManager;
+import com.scheduled.dynamic.JdbcDynamicTaskSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * @author Feinik
+ * @Discription 动态任务配置，scheduled.dynamic.enabled=true 时从job_dynamic_task表读取动态任务
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Configuration
+public class DynamicTaskConfig {
+
+    @Bean(destroyMethod = "stop")
+    public DynamicTaskManager dynamicTaskManager(
+            @Value("${scheduled.dynamic.enabled:false}") boolean enabled,
+            @Value("${scheduled.dynamic.poll-interval:5000}") long pollInterval,
+            @Value("${scheduled.dynamic.page-size:5000}") int pageSize,
+            @Value("${scheduled.dynamic.delta-overlap:2000}") long deltaOverlap,
+            @Value("${scheduled.dynamic.pool:}") String pool,
+            ObjectProvider<JdbcTemplate> template,
+            BeanFactory beanFactory) {
+        return new DynamicTaskManager(enabled,
+                enabled ? new JdbcDynamicTaskSource(template.getObject(), pageSize, deltaOverlap) : null,
+                beanFactory, pollInterval, pool);
+    }
+}
@@ -0,0 +1,34 @@
+package com.scheduled.config;
+
+import com.scheduled.cluster.TaskSharding;
+import com.scheduled.history.ExecutionHistory;
+import com.scheduled.history.OverflowPolicy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * @author Feinik
+ * @Discription 任务执行历史配置，记录写入job_execution_log表，scheduled.history.enabled=false 时关闭
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Configuration
+public class HistoryConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ExecutionHistory executionHistory(
+            @Value("${scheduled.history.enabled:true}") boolean enabled,
+            @Value("${scheduled.history.capacity:8192}") int capacity,
+            @Value("${scheduled.history.overflow:DROP}") OverflowPolicy overflow,
+            @Value("${scheduled.history.sample-rate:10}") int sampleRate,
+            @Value("${scheduled.history.batch-size:500}") int batchSize,
+            @Value("${scheduled.history.flush-interval:1000}") long flushInterval,
+            ObjectProvider<JdbcTemplate> template,
+            TaskSharding sharding) {
+        return new ExecutionHistory(enabled, enabled ? template.getObject() : null, sharding.getNodeId(), capacity,
+                overflow, sampleRate, batchSize, flushInterval);
+    }
+}
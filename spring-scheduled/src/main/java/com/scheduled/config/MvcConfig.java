@@ -1,9 +1,13 @@
 package com.scheduled.config;
 
+import com.scheduled.scheduler.HashedWheelTaskScheduler;
+import com.scheduled.scheduler.WorkerPoolController;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -47,10 +51,44 @@ public class MvcConfig implements WebMvcConfigurer {
         configurer.setTaskExecutor(executor);
     }
 
+    /**
+     * 调度任务线程池，scheduled.scheduler.type=wheel 时使用时间轮调度器，适合任务数量很大的场景；
+     * adaptive 时同样由时间轮负责调度，worker线程数在min-size和max-size之间按调度延迟、排队数和利用率自动调整
+     * @return
+     */
     @Bean
-    public ThreadPoolTaskScheduler customerThreadPoolTaskScheduler() {
+    public TaskScheduler customerThreadPoolTaskScheduler(
+            @Value("${scheduled.scheduler.type:pool}") String type,
+            @Value("${scheduled.scheduler.pool-size:200}") int poolSize,
+            @Value("${scheduled.scheduler.tick-millis:10}") long tickMillis,
+            @Value("${scheduled.scheduler.min-size:8}") int minSize,
+            @Value("${scheduled.scheduler.max-size:200}") int maxSize,
+            @Value("${scheduled.scheduler.adjust-interval:1000}") long adjustInterval,
+            @Value("${scheduled.scheduler.lag-threshold:100}") long lagThreshold,
+            @Value("${scheduled.scheduler.high-utilization:0.9}") double highUtilization,
+            @Value("${scheduled.scheduler.low-utilization:0.3}") double lowUtilization,
+            @Value("${scheduled.scheduler.grow-after:2}") int growAfter,
+            @Value("${scheduled.scheduler.shrink-after:30}") int shrinkAfter) {
+        if ("wheel".equals(type) || "adaptive".equals(type)) {
+            HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler();
+            scheduler.setTickMillis(tickMillis);
+            scheduler.setWorkerPoolSize(poolSize);
+            if ("adaptive".equals(type)) {
+                WorkerPoolController controller = new WorkerPoolController();
+                controller.setMinSize(minSize);
+                controller.setMaxSize(maxSize);
+                controller.setIntervalMillis(adjustInterval);
+                controller.setLagThresholdMillis(lagThreshold);
+                controller.setHighUtilization(highUtilization);
+                controller.setLowUtilization(lowUtilization);
+                controller.setGrowAfter(growAfter);
+                controller.setShrinkAfter(shrinkAfter);
+                scheduler.setPoolController(controller);
+            }
+            return scheduler;
+        }
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(200);
+        scheduler.setPoolSize(poolSize);
         return scheduler;
     }
 
@@ -0,0 +1,81 @@
+package com.scheduled.config;
+
+import com.scheduled.task.JobTask;
+import com.scheduled.task.StartLimiter;
+import com.scheduled.task.StartThrottle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Feinik
+ * @Discription 从DataConfig读取启动限流配置：job_start_limit.分组名 限制该分组，job_start_limit 限制其余任务，
+ * 值为 次数/时长，如 20/1s，删除配置即取消限流。配置值变化后重新创建限流器，无效的配置按不限流处理
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class StartLimits implements StartThrottle {
+
+    public static final String START_LIMIT_KEY = "job_start_limit";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartLimits.class);
+
+    private final DataConfig config;
+
+    /**
+     * 配置key -> 限流器，配置值是不可变对象，值变化时实例也会变化
+     */
+    private final Map<String, Entry> limiters = new ConcurrentHashMap<>(16);
+
+    public StartLimits(DataConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public long reserve(JobTask task, long now) {
+        ConfigSnapshot snapshot = this.config.getSnapshot();
+        StartLimiter limiter = null;
+        if (StringUtils.hasText(task.getGroup())) {
+            limiter = limiter(snapshot, START_LIMIT_KEY + "." + task.getGroup());
+        }
+        if (limiter == null) {
+            limiter = limiter(snapshot, START_LIMIT_KEY);
+        }
+        return limiter == null ? now : limiter.reserve(now);
+    }
+
+    private StartLimiter limiter(ConfigSnapshot snapshot, String key) {
+        ConfigValue value = snapshot.get(key);
+        if (value == null) {
+            return null;
+        }
+        Entry entry = this.limiters.get(key);
+        if (entry == null || entry.value != value) {
+            StartLimiter limiter = null;
+            try {
+                limiter = StartLimiter.parse(value.getRaw());
+                logger.info("------>启动限流" + key + "=" + limiter);
+            } catch (IllegalArgumentException e) {
+                logger.error("------>启动限流配置" + key + "无效，不限流：" + e.getMessage());
+            }
+            entry = new Entry(value, limiter);
+            this.limiters.put(key, entry);
+        }
+        return entry.limiter;
+    }
+
+    private static final class Entry {
+
+        private final ConfigValue value;
+
+        private final StartLimiter limiter;
+
+        Entry(ConfigValue value, StartLimiter limiter) {
+            this.value = value;
+            this.limiter = limiter;
+        }
+    }
+}
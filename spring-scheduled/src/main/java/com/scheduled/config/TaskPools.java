@@ -0,0 +1,107 @@
+package com.scheduled.config;
+
+import com.scheduled.task.JobTask;
+import com.scheduled.task.PoolSelector;
+import com.scheduled.task.TaskPool;
+import com.scheduled.task.TaskPoolSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * @author Feinik
+ * @Discription 按任务的pool属性选择执行线程池，每个名称一个独立的线程池，首次使用时创建。
+ * 线程池配置从DataConfig读取：job_pool.名称 配置该线程池，没有时使用 job_pool，都没有时使用默认配置，
+ * 格式见{@link TaskPoolSpec}。配置值变化后下次选择时生效，无效的配置保留原配置，配置删除后恢复默认配置
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TaskPools implements PoolSelector {
+
+    public static final String POOL_KEY = "job_pool";
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPools.class);
+
+    private final DataConfig config;
+
+    private final Map<String, Entry> pools = new ConcurrentHashMap<>(16);
+
+    public TaskPools(DataConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public Executor select(JobTask task) {
+        String name = task.getPool();
+        return StringUtils.hasText(name) ? get(name) : null;
+    }
+
+    public TaskPool get(String name) {
+        ConfigSnapshot snapshot = this.config.getSnapshot();
+        ConfigValue value = snapshot.get(POOL_KEY + "." + name);
+        if (value == null) {
+            value = snapshot.get(POOL_KEY);
+        }
+        Entry entry = this.pools.get(name);
+        if (entry != null && entry.value == value) {
+            return entry.pool;
+        }
+        synchronized (this) {
+            entry = this.pools.get(name);
+            if (entry != null && entry.value == value) {
+                return entry.pool;
+            }
+            TaskPoolSpec spec = entry != null && value != null ? entry.pool.getSpec() : TaskPoolSpec.DEFAULT;
+            if (value != null) {
+                try {
+                    spec = TaskPoolSpec.parse(value.getRaw());
+                } catch (IllegalArgumentException e) {
+                    logger.error("------>任务线程池" + name + "的配置无效，使用" + spec + "：" + e.getMessage());
+                }
+            }
+            TaskPool pool;
+            if (entry == null) {
+                pool = new TaskPool(name, spec);
+                logger.info("------>创建任务线程池" + name + "：" + spec);
+            } else {
+                pool = entry.pool;
+                pool.reconfigure(spec);
+            }
+            this.pools.put(name, new Entry(value, pool));
+            return pool;
+        }
+    }
+
+    public Collection<TaskPool> getPools() {
+        List<TaskPool> pools = new ArrayList<>(this.pools.size());
+        for (Entry entry : this.pools.values()) {
+            pools.add(entry.pool);
+        }
+        return pools;
+    }
+
+    public void shutdown() {
+        for (Entry entry : this.pools.values()) {
+            entry.pool.shutdown();
+        }
+    }
+
+    private static final class Entry {
+
+        private final ConfigValue value;
+
+        private final TaskPool pool;
+
+        Entry(ConfigValue value, TaskPool pool) {
+            this.value = value;
+            this.pool = pool;
+        }
+    }
+}
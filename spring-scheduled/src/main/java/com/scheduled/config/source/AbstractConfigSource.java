@@ -0,0 +1,117 @@
+package com.scheduled.config.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 配置来源基类，保存最近一次推送的配置并负责把新旧配置的差异转换为变化事件
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public abstract class AbstractConfigSource implements ScheduleConfigSource {
+
+    protected Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<String, String> current = new HashMap<>();
+
+    private volatile ConfigChangeListener listener;
+
+    @Override
+    public void start(ConfigChangeListener listener) {
+        this.listener = listener;
+        doStart();
+    }
+
+    @Override
+    public void stop() {
+        this.listener = null;
+        doStop();
+    }
+
+    protected abstract void doStart();
+
+    protected abstract void doStop();
+
+    /**
+     * 记录加载到的全量配置，作为之后比较的基准
+     * @param values
+     * @return
+     */
+    protected synchronized Map<String, String> reset(Map<String, String> values) {
+        this.current.clear();
+        this.current.putAll(values);
+        return Collections.unmodifiableMap(new HashMap<>(values));
+    }
+
+    /**
+     * 用新的全量配置与当前配置比较，并推送差异
+     * @param values
+     */
+    protected synchronized void publishSnapshot(Map<String, String> values) {
+        List<ConfigChangeEvent> events = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String oldValue = this.current.get(entry.getKey());
+            if (oldValue == null) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.ADDED, entry.getKey(), null, entry.getValue()));
+            } else if (!oldValue.equals(entry.getValue())) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.UPDATED, entry.getKey(), oldValue, entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> entry : this.current.entrySet()) {
+            if (!values.containsKey(entry.getKey())) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.REMOVED, entry.getKey(), entry.getValue(), null));
+            }
+        }
+        applyAndPublish(events);
+    }
+
+    /**
+     * 推送部分配置的变化，value为null表示删除
+     * @param values
+     */
+    protected synchronized void publishChanges(Map<String, String> values) {
+        List<ConfigChangeEvent> events = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String oldValue = this.current.get(entry.getKey());
+            String newValue = entry.getValue();
+            if (newValue == null) {
+                if (oldValue != null) {
+                    events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.REMOVED, entry.getKey(), oldValue, null));
+                }
+            } else if (oldValue == null) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.ADDED, entry.getKey(), null, newValue));
+            } else if (!oldValue.equals(newValue)) {
+                events.add(new ConfigChangeEvent(ConfigChangeEvent.Type.UPDATED, entry.getKey(), oldValue, newValue));
+            }
+        }
+        applyAndPublish(events);
+    }
+
+    private void applyAndPublish(List<ConfigChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (ConfigChangeEvent event : events) {
+            if (event.getType() == ConfigChangeEvent.Type.REMOVED) {
+                this.current.remove(event.getKey());
+            } else {
+                this.current.put(event.getKey(), event.getNewValue());
+            }
+        }
+        ConfigChangeListener target = this.listener;
+        if (target != null) {
+            try {
+                target.onChange(Collections.unmodifiableList(events));
+            } catch (Exception e) {
+                logger.error("------>配置变化处理失败：" + events, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.scheduled.config.source;
+
+import lombok.Getter;
+
+/**
+ * @author Feinik
+ * @Discription 单个配置项的变化事件
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class ConfigChangeEvent {
+
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final Type type;
+
+    private final String key;
+
+    private final String oldValue;
+
+    private final String newValue;
+
+    public ConfigChangeEvent(Type type, String key, String oldValue, String newValue) {
+        this.type = type;
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + key + ": " + oldValue + " -> " + newValue;
+    }
+}
@@ -0,0 +1,14 @@
+package com.scheduled.config.source;
+
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 配置变化监听，同一批次的变化一次性推送
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface ConfigChangeListener {
+
+    void onChange(List<ConfigChangeEvent> events);
+}
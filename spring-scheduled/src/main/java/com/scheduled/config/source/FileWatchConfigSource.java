@@ -0,0 +1,116 @@
+package com.scheduled.config.source;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * @author Feinik
+ * @Discription 基于NIO WatchService监听properties文件的配置来源，文件修改后立即推送变化
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class FileWatchConfigSource extends AbstractConfigSource {
+
+    private final Path file;
+
+    private WatchService watchService;
+
+    private Thread watchThread;
+
+    public FileWatchConfigSource(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    @Override
+    public Map<String, String> load() {
+        return reset(readFile());
+    }
+
+    @Override
+    protected synchronized void doStart() {
+        if (watchThread != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot watch config file " + file, e);
+        }
+        watchThread = new Thread(this::watch, "config-file-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    @Override
+    protected synchronized void doStop() {
+        if (watchThread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("------>关闭配置文件监听失败", e);
+        }
+        watchThread.interrupt();
+        watchThread = null;
+    }
+
+    private void watch() {
+        WatchService service = this.watchService;
+        Path fileName = file.getFileName();
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                //OVERFLOW时无法确定是哪个文件，直接重新加载
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    changed = true;
+                }
+            }
+            key.reset();
+            if (changed) {
+                try {
+                    publishSnapshot(readFile());
+                } catch (Exception e) {
+                    logger.error("------>重新加载配置文件" + file + "失败", e);
+                }
+            }
+        }
+    }
+
+    private Map<String, String> readFile() {
+        Map<String, String> values = new HashMap<>();
+        if (!Files.exists(file)) {
+            return values;
+        }
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read config file " + file, e);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name).trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,65 @@
+package com.scheduled.config.source;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 内存配置来源，修改后立即在调用线程中推送变化，主要用于测试
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class InMemoryConfigSource extends AbstractConfigSource {
+
+    private final Map<String, String> values;
+
+    public InMemoryConfigSource() {
+        this(Collections.emptyMap());
+    }
+
+    public InMemoryConfigSource(Map<String, String> values) {
+        this.values = new HashMap<>(values);
+    }
+
+    @Override
+    public synchronized Map<String, String> load() {
+        return reset(this.values);
+    }
+
+    public void put(String key, String value) {
+        putAll(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void save(String key, String value) {
+        put(key, value);
+    }
+
+    public void remove(String key) {
+        putAll(Collections.singletonMap(key, null));
+    }
+
+    /**
+     * 批量修改，value为null表示删除
+     * @param changes
+     */
+    public synchronized void putAll(Map<String, String> changes) {
+        for (Map.Entry<String, String> entry : changes.entrySet()) {
+            if (entry.getValue() == null) {
+                this.values.remove(entry.getKey());
+            } else {
+                this.values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        publishChanges(changes);
+    }
+
+    @Override
+    protected void doStart() {
+    }
+
+    @Override
+    protected void doStop() {
+    }
+}
@@ -0,0 +1,207 @@
+package com.scheduled.config.source;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Feinik
+ * @Discription 通过JdbcTemplate定时轮询data_config表的配置来源，支持全量比较和按update_time增量查询两种模式
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JdbcPollingConfigSource extends AbstractConfigSource {
+
+    private final JdbcTemplate template;
+
+    /**
+     * 检查配置变化的间隔毫秒数，开启增量模式后可调小到1秒左右
+     */
+    private final long pollInterval;
+
+    /**
+     * 是否开启增量模式，开启后每次只查询update_time在水位线之后的配置，需要data_config表有update_time列
+     */
+    private final boolean delta;
+
+    /**
+     * 增量查询时水位线向前回溯的毫秒数，避免提交较晚但update_time较早的记录被漏掉
+     */
+    private final long deltaOverlap;
+
+    /**
+     * 增量模式下每隔多少次轮询全量比较一次，增量查询读不到被删除的行，删除在全量比较时才能感知；小于等于0时不做全量比较
+     */
+    private final int fullScanEvery;
+
+    /**
+     * 上次全量比较之后的增量轮询次数
+     */
+    private final AtomicInteger deltaPolls = new AtomicInteger();
+
+    /**
+     * 已读取到的最大update_time
+     */
+    private volatile Timestamp watermark;
+
+    private ScheduledExecutorService executorService;
+
+    public JdbcPollingConfigSource(JdbcTemplate template, long pollInterval, boolean delta, long deltaOverlap,
+                                   int fullScanEvery) {
+        this.template = template;
+        this.pollInterval = pollInterval;
+        this.delta = delta;
+        this.deltaOverlap = deltaOverlap;
+        this.fullScanEvery = fullScanEvery;
+    }
+
+    @Override
+    public Map<String, String> load() {
+        List<DataKeyValue> dataKeyValues = delta ? getChangedDataKeyValues(null) : getDataKeyValues();
+        return reset(toMap(dataKeyValues));
+    }
+
+    @Override
+    protected synchronized void doStart() {
+        if (executorService == null) {
+            executorService = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("config-poller-"));
+            //定时检查配置数据是否有变化
+            executorService.scheduleWithFixedDelay(new DataChecker(), pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected synchronized void doStop() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
+    /**
+     * 写入data_config表，不等下一次轮询直接推送变化
+     * @param key
+     * @param value
+     */
+    @Override
+    public void save(String key, String value) {
+        int updated = template.update("update data_config set config_value = ? where config_key = ?", value, key);
+        if (updated == 0) {
+            template.update("insert into data_config (config_key, config_value) values (?, ?)", key, value);
+        }
+        publishChanges(Collections.singletonMap(key, value));
+    }
+
+    private List<DataKeyValue> getDataKeyValues() {
+        String sql = "select config_key configKey,config_value configValue from data_config";
+        return template.query(sql, new RowMapper<DataKeyValue>(){
+                @Nullable
+                @Override
+                public DataKeyValue mapRow(ResultSet rs, int i) throws SQLException {
+                    DataKeyValue data = new DataKeyValue();
+                    data.setConfigKey(rs.getString("configKey"));
+                    data.setConfigValue(rs.getString("configValue"));
+                    return data;
+                }
+            });
+    }
+
+    /**
+     * 查询水位线之后变化的配置，并推进水位线
+     * @param since 水位线，为null时查询全部
+     * @return
+     */
+    private List<DataKeyValue> getChangedDataKeyValues(@Nullable Timestamp since) {
+        List<DataKeyValue> dataKeyValues;
+        if (since == null) {
+            String sql = "select config_key configKey,config_value configValue,update_time updateTime from data_config";
+            dataKeyValues = template.query(sql, new DeltaRowMapper());
+        } else {
+            String sql = "select config_key configKey,config_value configValue,update_time updateTime " +
+                    "from data_config where update_time >= ? order by update_time";
+            dataKeyValues = template.query(sql, new DeltaRowMapper(),
+                    new Timestamp(since.getTime() - deltaOverlap));
+        }
+        for (DataKeyValue dataKeyValue : dataKeyValues) {
+            Timestamp updateTime = dataKeyValue.getUpdateTime();
+            if (updateTime != null && (watermark == null || updateTime.after(watermark))) {
+                watermark = updateTime;
+            }
+        }
+        return dataKeyValues;
+    }
+
+    private static Map<String, String> toMap(List<DataKeyValue> dataKeyValues) {
+        Map<String, String> values = new LinkedHashMap<>(dataKeyValues.size() * 2);
+        for (DataKeyValue dataKeyValue : dataKeyValues) {
+            if (dataKeyValue.getConfigValue() != null) {
+                values.put(dataKeyValue.getConfigKey(), dataKeyValue.getConfigValue());
+            }
+        }
+        return values;
+    }
+
+    private static class DeltaRowMapper implements RowMapper<DataKeyValue> {
+        @Override
+        public DataKeyValue mapRow(ResultSet rs, int i) throws SQLException {
+            DataKeyValue data = new DataKeyValue();
+            data.setConfigKey(rs.getString("configKey"));
+            data.setConfigValue(rs.getString("configValue"));
+            data.setUpdateTime(rs.getTimestamp("updateTime"));
+            return data;
+        }
+    }
+
+    @Setter
+    @Getter
+    static class DataKeyValue {
+        private String configKey;
+        private String configValue;
+        private Timestamp updateTime;
+    }
+
+    /**
+     * 立即检查一次配置变化，有变化时在调用线程中推送
+     */
+    public void poll() {
+        if (!delta) {
+            publishSnapshot(toMap(getDataKeyValues()));
+        } else if (fullScanEvery > 0 && deltaPolls.incrementAndGet() >= fullScanEvery) {
+            //定期全量比较一次，移除已被删除的配置，同时推进水位线
+            deltaPolls.set(0);
+            publishSnapshot(toMap(getChangedDataKeyValues(null)));
+        } else {
+            //查询到的只是变化的行，删除要等下一次全量比较
+            publishChanges(toMap(getChangedDataKeyValues(watermark)));
+        }
+    }
+
+    /**
+     * 检查数据是否变化，同一周期内的多处变化作为一批事件推送
+     */
+    class DataChecker implements Runnable {
+        @Override
+        public void run() {
+            try {
+                poll();
+            } catch (Exception e) {
+                logger.error("------>检查配置变化失败", e);
+            }
+        }
+    }
+}
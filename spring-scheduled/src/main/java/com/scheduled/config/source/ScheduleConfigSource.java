@@ -0,0 +1,38 @@
+package com.scheduled.config.source;
+
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 调度配置来源SPI，配置变化以事件的形式推送给监听者，而不是由使用方定时全量比较
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface ScheduleConfigSource {
+
+    /**
+     * 同步加载当前全部配置
+     * @return 配置key -> 配置值
+     */
+    Map<String, String> load();
+
+    /**
+     * 开始监听配置变化，之后的变化通过listener推送
+     * @param listener
+     */
+    void start(ConfigChangeListener listener);
+
+    /**
+     * 停止监听并释放资源
+     */
+    void stop();
+
+    /**
+     * 修改配置并立即推送变化，不支持写入的配置来源抛出UnsupportedOperationException
+     * @param key
+     * @param value
+     */
+    default void save(String key, String value) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support writing config");
+    }
+}
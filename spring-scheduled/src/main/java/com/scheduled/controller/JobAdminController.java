@@ -0,0 +1,158 @@
+package com.scheduled.controller;
+
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.annotation.JobScheduledAnnotationBeanPostProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.task.JobSchedule;
+import com.scheduled.task.JobTask;
+import com.scheduled.task.JobTaskInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 调度任务管理接口，只作用于指定的单个任务：
+ * GET /jobs/tasks 列出任务，GET /jobs/tasks/{id} 查看任务，
+ * POST /jobs/tasks/{id}/pause、/resume、/trigger 暂停、恢复、立即执行一次，
+ * POST /jobs/tasks/{id}/schedule?cron=|fixedDelay=|fixedRate= 修改排期。
+ * 加上参数 persist=true 时把修改写回任务引用的配置key（暂停/恢复写enable，修改排期写对应的排期key），
+ * 否则只修改当前节点内存中的状态，修改的排期在任务引用的配置下次变化时被配置覆盖
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@RestController
+@RequestMapping("/jobs/tasks")
+public class JobAdminController {
+
+    @Autowired
+    private JobScheduledAnnotationBeanPostProcessor processor;
+
+    @Autowired
+    private DataConfig config;
+
+    @GetMapping
+    public List<JobTaskInfo> list() {
+        List<JobTaskInfo> tasks = new ArrayList<>();
+        for (JobTask task : this.processor.getTaskRegistry().getTasks()) {
+            tasks.add(new JobTaskInfo(task));
+        }
+        return tasks;
+    }
+
+    @GetMapping("/{id:.+}")
+    public JobTaskInfo get(@PathVariable String id) {
+        return new JobTaskInfo(getTask(id));
+    }
+
+    @PostMapping("/{id}/pause")
+    public JobTaskInfo pause(@PathVariable String id, @RequestParam(defaultValue = "false") boolean persist) {
+        JobTask task = getTask(id);
+        if (persist) {
+            this.config.save(configKey(task, task.getScheduled().enable(), "enable"), "false");
+        } else {
+            this.processor.pause(task);
+        }
+        return new JobTaskInfo(task);
+    }
+
+    @PostMapping("/{id}/resume")
+    public JobTaskInfo resume(@PathVariable String id, @RequestParam(defaultValue = "false") boolean persist) {
+        JobTask task = getTask(id);
+        if (persist) {
+            this.config.save(configKey(task, task.getScheduled().enable(), "enable"), "true");
+        }
+        this.processor.resume(task);
+        return new JobTaskInfo(task);
+    }
+
+    @PostMapping("/{id}/trigger")
+    public JobTaskInfo trigger(@PathVariable String id) {
+        JobTask task = getTask(id);
+        this.processor.trigger(task);
+        return new JobTaskInfo(task);
+    }
+
+    @PostMapping("/{id}/schedule")
+    public JobTaskInfo schedule(@PathVariable String id,
+                                @RequestParam(required = false) String cron,
+                                @RequestParam(required = false) String fixedDelay,
+                                @RequestParam(required = false) String fixedRate,
+                                @RequestParam(defaultValue = "false") boolean persist) {
+        JobTask task = getTask(id);
+        Assert.isTrue(task.getSchedule().getType() != JobSchedule.Type.DEPENDENT,
+                "Task " + id + " is run by its upstream tasks " + task.getDependsOn() + " and has no schedule of its own");
+        int count = (StringUtils.hasText(cron) ? 1 : 0) + (StringUtils.hasText(fixedDelay) ? 1 : 0) +
+                (StringUtils.hasText(fixedRate) ? 1 : 0);
+        Assert.isTrue(count == 1, "Exactly one of 'cron', 'fixedDelay' or 'fixedRate' is required");
+        JobSchedule.Type type;
+        String value;
+        if (StringUtils.hasText(cron)) {
+            type = JobSchedule.Type.CRON;
+            value = cron;
+        } else if (StringUtils.hasText(fixedDelay)) {
+            type = JobSchedule.Type.FIXED_DELAY;
+            value = fixedDelay;
+        } else {
+            type = JobSchedule.Type.FIXED_RATE;
+            value = fixedRate;
+        }
+        JobSchedule schedule = this.processor.buildSchedule(task, type, value);
+        if (persist) {
+            Assert.isTrue(type == task.getSchedule().getType(),
+                    "Cannot persist a change of schedule type, the task uses " + task.getSchedule().getType());
+            this.config.save(configKey(task, scheduleAttribute(task.getScheduled(), type), type.name()), value);
+        } else {
+            this.processor.reschedule(task, schedule);
+        }
+        return new JobTaskInfo(task);
+    }
+
+    private JobTask getTask(String id) {
+        JobTask task = this.processor.getTaskRegistry().get(id);
+        if (task == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No task with id " + id);
+        }
+        return task;
+    }
+
+    /**
+     * 注解属性引用的配置key，属性是字面值时无法写回
+     */
+    private String configKey(JobTask task, String attribute, String name) {
+        Assert.isTrue(StringUtils.hasText(attribute) && this.config.getSnapshot().get(attribute) != null,
+                "'" + name + "' of task " + task.getId() + " is not backed by a config key");
+        return attribute;
+    }
+
+    private static String scheduleAttribute(JobScheduled scheduled, JobSchedule.Type type) {
+        switch (type) {
+            case CRON:
+                return scheduled.cron();
+            case FIXED_DELAY:
+                return scheduled.fixedDelayString();
+            default:
+                return scheduled.fixedRateString();
+        }
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, UnsupportedOperationException.class})
+    public ResponseEntity<Map<String, String>> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+    }
+}
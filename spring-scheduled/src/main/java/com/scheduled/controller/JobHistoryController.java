@@ -0,0 +1,33 @@
+package com.scheduled.controller;
+
+import com.scheduled.history.ExecutionHistory;
+import com.scheduled.history.ExecutionPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * @author Feinik
+ * @Discription 任务执行记录查询，GET /jobs/history?taskId=&page=1&size=20
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@RestController
+public class JobHistoryController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private ExecutionHistory history;
+
+    @GetMapping("/jobs/history")
+    public ExecutionPage history(@RequestParam(required = false) String taskId,
+                                 @RequestParam(defaultValue = "1") int page,
+                                 @RequestParam(defaultValue = "20") int size) {
+        Assert.isTrue(page >= 1, "page must be >= 1");
+        Assert.isTrue(size >= 1 && size <= MAX_PAGE_SIZE, "size must be between 1 and " + MAX_PAGE_SIZE);
+        return this.history.query(taskId, page, size);
+    }
+}
@@ -0,0 +1,216 @@
+package com.scheduled.controller;
+
+import com.scheduled.annotation.JobScheduledAnnotationBeanPostProcessor;
+import com.scheduled.config.DataConfig;
+import com.scheduled.dynamic.DynamicTaskManager;
+import com.scheduled.metrics.JobMetricsSnapshot;
+import com.scheduled.metrics.LatencyHistogram;
+import com.scheduled.scheduler.HashedWheelTaskScheduler;
+import com.scheduled.scheduler.WorkerPoolController;
+import com.scheduled.task.JobTask;
+import com.scheduled.task.TaskPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 调度任务执行指标，GET /jobs/metrics 返回JSON，加上参数 format=prometheus 返回Prometheus文本格式；
+ * GET /jobs/scheduler/pool 返回自适应worker线程池的当前大小和最近的调整记录，GET /jobs/pools 返回各任务线程池的占用情况，
+ * GET /jobs/dynamic 返回动态任务的数量和最近一次读取的结果，动态任务的执行指标按处理器汇总在 /jobs/metrics 中
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@RestController
+public class JobMetricsController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+
+    @Autowired
+    private JobScheduledAnnotationBeanPostProcessor processor;
+
+    @Autowired
+    private DataConfig config;
+
+    @Autowired(required = false)
+    private DynamicTaskManager dynamicTasks;
+
+    @GetMapping("/jobs/metrics")
+    public List<JobMetricsSnapshot> metrics() {
+        List<JobMetricsSnapshot> snapshots = new ArrayList<>();
+        for (JobTask task : this.processor.getTaskRegistry().getTasks()) {
+            snapshots.add(task.getMetrics().snapshot(task.getId()));
+        }
+        if (this.dynamicTasks != null) {
+            snapshots.addAll(this.dynamicTasks.getMetrics());
+        }
+        return snapshots;
+    }
+
+    @GetMapping("/jobs/dynamic")
+    public DynamicTaskManager.Status dynamic() {
+        if (this.dynamicTasks == null || !this.dynamicTasks.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dynamic tasks are not enabled");
+        }
+        return this.dynamicTasks.getStatus();
+    }
+
+    @GetMapping("/jobs/pools")
+    public List<TaskPool.Status> pools() {
+        List<TaskPool.Status> statuses = new ArrayList<>();
+        for (TaskPool pool : this.config.getTaskPools().getPools()) {
+            statuses.add(pool.getStatus());
+        }
+        return statuses;
+    }
+
+    @GetMapping("/jobs/scheduler/pool")
+    public WorkerPoolController.Status pool() {
+        WorkerPoolController controller = poolController();
+        if (controller == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Adaptive worker pool is not enabled");
+        }
+        return controller.getStatus();
+    }
+
+    private WorkerPoolController poolController() {
+        TaskScheduler scheduler = this.processor.getTaskScheduler();
+        if (scheduler instanceof HashedWheelTaskScheduler) {
+            return ((HashedWheelTaskScheduler) scheduler).getPoolController();
+        }
+        return null;
+    }
+
+    @GetMapping(value = "/jobs/metrics", params = "format=prometheus", produces = PROMETHEUS_CONTENT_TYPE)
+    public String prometheus() {
+        List<JobMetricsSnapshot> snapshots = metrics();
+        StringBuilder sb = new StringBuilder(256 + snapshots.size() * 1024);
+
+        header(sb, "job_executions_total", "counter", "Completed task executions by result");
+        for (JobMetricsSnapshot s : snapshots) {
+            sample(sb, "job_executions_total", s.getId(), "result=\"success\"", s.getSuccess());
+            sample(sb, "job_executions_total", s.getId(), "result=\"failure\"", s.getFailure());
+        }
+        header(sb, "job_skipped_total", "counter", "Fires skipped because the previous execution was still running");
+        for (JobMetricsSnapshot s : snapshots) {
+            sample(sb, "job_skipped_total", s.getId(), null, s.getSkipped());
+        }
+        header(sb, "job_misfired_total", "counter", "Fires missed because the task started too late");
+        for (JobMetricsSnapshot s : snapshots) {
+            sample(sb, "job_misfired_total", s.getId(), null, s.getMisfired());
+        }
+        header(sb, "job_timeouts_total", "counter", "Executions that exceeded their timeout");
+        for (JobMetricsSnapshot s : snapshots) {
+            sample(sb, "job_timeouts_total", s.getId(), null, s.getTimedOut());
+        }
+        header(sb, "job_in_flight", "gauge", "Executions currently running");
+        for (JobMetricsSnapshot s : snapshots) {
+            sample(sb, "job_in_flight", s.getId(), null, s.getInFlight());
+        }
+        header(sb, "job_schedule_lag_seconds", "summary", "Actual fire time minus planned fire time");
+        for (JobMetricsSnapshot s : snapshots) {
+            summary(sb, "job_schedule_lag_seconds", s.getId(), s.getLagHistogram());
+        }
+        header(sb, "job_run_seconds", "summary", "Task execution time");
+        for (JobMetricsSnapshot s : snapshots) {
+            summary(sb, "job_run_seconds", s.getId(), s.getRunTimeHistogram());
+        }
+        if (snapshots.stream().anyMatch(s -> !s.getPartitions().isEmpty())) {
+            header(sb, "job_partition_run_seconds", "summary", "Execution time of each partition of a partitioned task");
+            for (JobMetricsSnapshot s : snapshots) {
+                for (JobMetricsSnapshot.PartitionSnapshot p : s.getPartitions()) {
+                    summary(sb, "job_partition_run_seconds", s.getId(), "partition=\"" + p.getIndex() + "\"",
+                            p.getRunTimeHistogram());
+                }
+            }
+            header(sb, "job_partition_failures_total", "counter", "Failed executions of each partition of a partitioned task");
+            for (JobMetricsSnapshot s : snapshots) {
+                for (JobMetricsSnapshot.PartitionSnapshot p : s.getPartitions()) {
+                    sample(sb, "job_partition_failures_total", s.getId(), "partition=\"" + p.getIndex() + "\"",
+                            p.getFailure());
+                }
+            }
+        }
+        List<TaskPool.Status> pools = pools();
+        if (!pools.isEmpty()) {
+            header(sb, "job_pool_size", "gauge", "Configured threads of the task pool");
+            for (TaskPool.Status p : pools) {
+                poolSample(sb, "job_pool_size", p.getName(), p.getSize());
+            }
+            header(sb, "job_pool_active", "gauge", "Threads of the task pool currently running a task");
+            for (TaskPool.Status p : pools) {
+                poolSample(sb, "job_pool_active", p.getName(), p.getActive());
+            }
+            header(sb, "job_pool_queued", "gauge", "Tasks waiting in the task pool queue");
+            for (TaskPool.Status p : pools) {
+                poolSample(sb, "job_pool_queued", p.getName(), p.getQueued());
+            }
+            header(sb, "job_pool_saturation", "gauge", "Share of threads and queue slots in use, 1 means new fires are rejected");
+            for (TaskPool.Status p : pools) {
+                poolSample(sb, "job_pool_saturation", p.getName(), p.getSaturation());
+            }
+            header(sb, "job_pool_rejected_total", "counter", "Fires skipped because the task pool was full");
+            for (TaskPool.Status p : pools) {
+                poolSample(sb, "job_pool_rejected_total", p.getName(), p.getRejected());
+            }
+        }
+        WorkerPoolController controller = poolController();
+        if (controller != null) {
+            WorkerPoolController.Status status = controller.getStatus();
+            gauge(sb, "job_worker_pool_size", "Current worker pool size", status.getSize());
+            gauge(sb, "job_worker_pool_active", "Worker threads currently running a task", status.getActive());
+            gauge(sb, "job_worker_pool_queued", "Tasks waiting for a worker thread", status.getQueued());
+            gauge(sb, "job_worker_pool_lag_seconds", "Max dispatch lag in the last sampling interval",
+                    status.getLagMillis() / 1e3);
+        }
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, double value) {
+        header(sb, name, "gauge", help);
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void poolSample(StringBuilder sb, String name, String pool, double value) {
+        sb.append(name).append("{pool=\"").append(escape(pool)).append("\"} ").append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String task, String labels, double value) {
+        sb.append(name).append("{task=\"").append(escape(task)).append('"');
+        if (labels != null) {
+            sb.append(',').append(labels);
+        }
+        sb.append("} ").append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder sb, String name, String task, LatencyHistogram.Snapshot histogram) {
+        summary(sb, name, task, null, histogram);
+    }
+
+    private static void summary(StringBuilder sb, String name, String task, String labels,
+                                LatencyHistogram.Snapshot histogram) {
+        String prefix = labels != null ? labels + "," : "";
+        double[] quantiles = histogram.getQuantiles();
+        long[] values = histogram.getValues();
+        for (int i = 0; i < quantiles.length; i++) {
+            sample(sb, name, task, prefix + "quantile=\"" + quantiles[i] + "\"", values[i] / 1e6);
+        }
+        sample(sb, name + "_sum", task, labels, histogram.getSum() / 1e6);
+        sample(sb, name + "_count", task, labels, histogram.getCount());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
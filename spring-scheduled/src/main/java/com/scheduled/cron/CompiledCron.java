@@ -0,0 +1,439 @@
+package com.scheduled.cron;
+
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * @author Feinik
+ * @Discription 预编译的cron表达式，语法与Spring的CronSequenceGenerator一致（秒 分 时 日 月 周）。
+ * 各字段在解析时编译为位图，下次触发时间直接在epoch毫秒上计算，常规路径不创建任何对象；
+ * 实例不可变，可在线程间共享，通过{@link CronCache}按(表达式, 时区)复用
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class CompiledCron {
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    /**
+     * 在找不到匹配日期时最多向后搜索的天数，日和周的组合在28年内必然循环一次
+     */
+    private static final int MAX_SEARCH_DAYS = 366 * 28;
+
+    private final String expression;
+
+    private final TimeZone timeZone;
+
+    private final ZoneId zoneId;
+
+    private final ZoneRules rules;
+
+    private final boolean fixedOffset;
+
+    /**
+     * bit i 表示第i秒/分匹配
+     */
+    private final long seconds;
+
+    private final long minutes;
+
+    /**
+     * bit i 表示i点匹配
+     */
+    private final int hours;
+
+    /**
+     * bit i 表示每月第i天匹配（1-31）
+     */
+    private final long daysOfMonth;
+
+    /**
+     * bit i 表示第i+1月匹配（0-11）
+     */
+    private final int months;
+
+    /**
+     * bit i 表示周i匹配，0为周日
+     */
+    private final int daysOfWeek;
+
+    /**
+     * 当前偏移量的有效区间，跨越夏令时切换时才会替换
+     */
+    private volatile OffsetWindow offsetWindow;
+
+    CompiledCron(String expression, TimeZone timeZone) {
+        this.expression = expression;
+        this.timeZone = timeZone;
+        this.zoneId = timeZone.toZoneId();
+        this.rules = this.zoneId.getRules();
+        this.fixedOffset = this.rules.isFixedOffset();
+
+        String[] fields = StringUtils.tokenizeToStringArray(expression, " ");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException(String.format(
+                    "Cron expression must consist of 6 fields (found %d in \"%s\")", fields.length, expression));
+        }
+        this.seconds = parse(fields[0], 0, 60);
+        this.minutes = parse(fields[1], 0, 60);
+        this.hours = (int) parse(fields[2], 0, 24);
+        this.daysOfMonth = parseDaysOfMonth(fields[3]);
+        this.months = parseMonths(fields[4]);
+        this.daysOfWeek = parseDaysOfWeek(fields[5]);
+        this.offsetWindow = OffsetWindow.of(this.rules, 0);
+    }
+
+    public static CompiledCron compile(String expression, TimeZone timeZone) {
+        return CronCache.compile(expression, timeZone);
+    }
+
+    /**
+     * 编译但不放入CronCache，用于数量不受控的表达式，如数据库中的动态任务，删除后可以被回收
+     * @param expression
+     * @param timeZone
+     * @return
+     */
+    public static CompiledCron compileUncached(String expression, TimeZone timeZone) {
+        return new CompiledCron(expression.trim(), timeZone);
+    }
+
+    public String getExpression() {
+        return this.expression;
+    }
+
+    public TimeZone getTimeZone() {
+        return this.timeZone;
+    }
+
+    /**
+     * 计算严格晚于指定时间（精确到秒）的下次触发时间
+     * @param afterMillis epoch毫秒
+     * @return 下次触发时间，epoch毫秒
+     */
+    public long next(long afterMillis) {
+        long startSecond = Math.floorDiv(afterMillis, 1000L) + 1;
+        int hintOffset = offsetSeconds(startSecond);
+        long local = startSecond + hintOffset;
+
+        long day = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        long firstDay = day;
+
+        while (true) {
+            if (day - firstDay > MAX_SEARCH_DAYS) {
+                throw new IllegalArgumentException(
+                        "Invalid cron expression \"" + this.expression + "\" led to runaway search for next trigger");
+            }
+
+            // 由epoch天数计算年月日（Howard Hinnant civil_from_days）
+            long z = day + 719468;
+            long era = (z >= 0 ? z : z - 146096) / 146097;
+            int doe = (int) (z - era * 146097);
+            int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+            int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            int mp = (5 * doy + 2) / 153;
+            int dayOfMonth = doy - (153 * mp + 2) / 5 + 1;
+            int month = mp < 10 ? mp + 3 : mp - 9;
+            long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+            if ((this.months & (1 << (month - 1))) == 0) {
+                day = nextMatchingMonth(year, month);
+                hour = minute = second = 0;
+                continue;
+            }
+            if ((this.daysOfMonth & (1L << dayOfMonth)) == 0) {
+                int nextDayOfMonth = nextBit(this.daysOfMonth, dayOfMonth + 1);
+                if (nextDayOfMonth < 0 || nextDayOfMonth > lengthOfMonth(year, month)) {
+                    day += lengthOfMonth(year, month) - dayOfMonth + 1;
+                } else {
+                    day += nextDayOfMonth - dayOfMonth;
+                }
+                hour = minute = second = 0;
+                continue;
+            }
+            if ((this.daysOfWeek & (1 << (int) Math.floorMod(day + 4, 7))) == 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+
+            int nextHour = nextBit(this.hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour > hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            int nextMinute = nextBit(this.minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                if (hour == 24) {
+                    day++;
+                    hour = 0;
+                }
+                continue;
+            }
+            if (nextMinute > minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = nextBit(this.seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                if (minute == 60) {
+                    hour++;
+                    minute = 0;
+                    if (hour == 24) {
+                        day++;
+                        hour = 0;
+                    }
+                }
+                continue;
+            }
+            second = nextSecond;
+
+            long candidate = day * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+            long epochSecond = toEpochSecond(candidate, hintOffset);
+            if (epochSecond >= startSecond) {
+                return epochSecond * 1000L;
+            }
+            // 夏令时回拨导致本地时间重复，继续向后查找
+            second++;
+            if (second == 60) {
+                second = 0;
+                minute++;
+                if (minute == 60) {
+                    minute = 0;
+                    hour++;
+                    if (hour == 24) {
+                        hour = 0;
+                        day++;
+                    }
+                }
+            }
+        }
+    }
+
+    private long nextMatchingMonth(long year, int month) {
+        int next = nextBit(this.months, month);
+        if (next < 0) {
+            year++;
+            next = Integer.numberOfTrailingZeros(this.months);
+        }
+        return daysFromCivil(year, next + 1, 1);
+    }
+
+    /**
+     * 本地时间转换为epoch秒，夏令时跳过的本地时间按跳过的时长顺延触发（CronSequenceGenerator会直接跳过这一次），
+     * 重复的本地时间取较早的时刻
+     */
+    private long toEpochSecond(long local, int hintOffset) {
+        if (this.fixedOffset) {
+            return local - hintOffset;
+        }
+        int offset = offsetSeconds(local - hintOffset);
+        long epochSecond = local - offset;
+        if (offsetSeconds(epochSecond) == offset) {
+            return epochSecond;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+        return ZonedDateTime.ofLocal(dateTime, this.zoneId, null).toEpochSecond();
+    }
+
+    private int offsetSeconds(long epochSecond) {
+        OffsetWindow window = this.offsetWindow;
+        if (this.fixedOffset || (epochSecond >= window.start && epochSecond < window.end)) {
+            return window.offset;
+        }
+        window = OffsetWindow.of(this.rules, epochSecond);
+        this.offsetWindow = window;
+        return window.offset;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from >= 64) {
+            return -1;
+        }
+        long masked = bits & (-1L << from);
+        return masked == 0 ? -1 : Long.numberOfTrailingZeros(masked);
+    }
+
+    private static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        int yoe = (int) (year - era * 400);
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private long parseDaysOfMonth(String field) {
+        // 与CronSequenceGenerator一致：日从1开始，先按0-31解析再去掉0
+        long bits = parseDays(field, 32);
+        return bits & ~1L;
+    }
+
+    private int parseMonths(String field) {
+        field = replaceOrdinals(field, "FOO,JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC");
+        long bits = parse(field, 1, 13);
+        return (int) (bits >>> 1);
+    }
+
+    private int parseDaysOfWeek(String field) {
+        field = replaceOrdinals(field, "SUN,MON,TUE,WED,THU,FRI,SAT");
+        long bits = parseDays(field, 8);
+        if ((bits & (1L << 7)) != 0) {
+            // 周日可以写成0或7
+            bits = (bits | 1L) & ~(1L << 7);
+        }
+        return (int) bits;
+    }
+
+    private long parseDays(String field, int max) {
+        if (field.contains("?")) {
+            field = "*";
+        }
+        return parse(field, 0, max);
+    }
+
+    private static String replaceOrdinals(String value, String commaSeparatedList) {
+        String[] list = StringUtils.commaDelimitedListToStringArray(commaSeparatedList);
+        for (int i = 0; i < list.length; i++) {
+            String item = list[i].toUpperCase(Locale.ROOT);
+            value = StringUtils.replace(value.toUpperCase(Locale.ROOT), item, "" + i);
+        }
+        return value;
+    }
+
+    private long parse(String value, int min, int max) {
+        long bits = 0;
+        String[] fields = StringUtils.delimitedListToStringArray(value, ",");
+        for (String field : fields) {
+            if (!field.contains("/")) {
+                int[] range = getRange(field, min, max);
+                for (int i = range[0]; i <= range[1]; i++) {
+                    bits |= 1L << i;
+                }
+            } else {
+                String[] split = StringUtils.delimitedListToStringArray(field, "/");
+                if (split.length > 2) {
+                    throw new IllegalArgumentException("Incrementer has more than two fields: '" +
+                            field + "' in expression \"" + this.expression + "\"");
+                }
+                int[] range = getRange(split[0], min, max);
+                if (!split[0].contains("-")) {
+                    range[1] = max - 1;
+                }
+                int delta = Integer.parseInt(split[1]);
+                if (delta <= 0) {
+                    throw new IllegalArgumentException("Incrementer delta must be 1 or higher: '" +
+                            field + "' in expression \"" + this.expression + "\"");
+                }
+                for (int i = range[0]; i <= range[1]; i += delta) {
+                    bits |= 1L << i;
+                }
+            }
+        }
+        return bits;
+    }
+
+    private int[] getRange(String field, int min, int max) {
+        int[] result = new int[2];
+        if (field.contains("*")) {
+            result[0] = min;
+            result[1] = max - 1;
+            return result;
+        }
+        if (!field.contains("-")) {
+            result[0] = result[1] = Integer.parseInt(field);
+        } else {
+            String[] split = StringUtils.delimitedListToStringArray(field, "-");
+            if (split.length > 2) {
+                throw new IllegalArgumentException("Range has more than two fields: '" +
+                        field + "' in expression \"" + this.expression + "\"");
+            }
+            result[0] = Integer.parseInt(split[0]);
+            result[1] = Integer.parseInt(split[1]);
+        }
+        if (result[0] >= max || result[1] >= max) {
+            throw new IllegalArgumentException("Range exceeds maximum (" + max + "): '" +
+                    field + "' in expression \"" + this.expression + "\"");
+        }
+        if (result[0] < min || result[1] < min) {
+            throw new IllegalArgumentException("Range less than minimum (" + min + "): '" +
+                    field + "' in expression \"" + this.expression + "\"");
+        }
+        if (result[0] > result[1]) {
+            throw new IllegalArgumentException("Invalid inverted range: '" + field +
+                    "' in expression \"" + this.expression + "\"");
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return this.expression + " [" + this.zoneId + "]";
+    }
+
+    /**
+     * 某个时区偏移量的有效区间[start, end)，epoch秒
+     */
+    private static final class OffsetWindow {
+
+        final long start;
+
+        final long end;
+
+        final int offset;
+
+        OffsetWindow(long start, long end, int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+
+        static OffsetWindow of(ZoneRules rules, long epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            int offset = rules.getOffset(instant).getTotalSeconds();
+            if (rules.isFixedOffset()) {
+                return new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+            }
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long start = previous != null ? previous.toEpochSecond() : Long.MIN_VALUE;
+            long end = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+            return new OffsetWindow(start, end, offset);
+        }
+    }
+}
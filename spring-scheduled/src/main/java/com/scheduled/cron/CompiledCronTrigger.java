@@ -0,0 +1,70 @@
+package com.scheduled.cron;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * @author Feinik
+ * @Discription 基于CompiledCron的Trigger，触发语义与Spring的CronTrigger一致
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class CompiledCronTrigger implements Trigger {
+
+    private final CompiledCron cron;
+
+    public CompiledCronTrigger(String expression, TimeZone timeZone) {
+        this(CronCache.compile(expression, timeZone));
+    }
+
+    public CompiledCronTrigger(CompiledCron cron) {
+        this.cron = cron;
+    }
+
+    public CompiledCron getCron() {
+        return this.cron;
+    }
+
+    public String getExpression() {
+        return this.cron.getExpression();
+    }
+
+    @Override
+    public Date nextExecutionTime(TriggerContext triggerContext) {
+        Date lastCompletion = triggerContext.lastCompletionTime();
+        long after;
+        if (lastCompletion != null) {
+            Date scheduled = triggerContext.lastScheduledExecutionTime();
+            if (scheduled != null && lastCompletion.before(scheduled)) {
+                // Previous task apparently executed too early...
+                // Let's simply use the last calculated execution time then,
+                // in order to prevent accidental re-fires in the same second.
+                after = scheduled.getTime();
+            } else {
+                after = lastCompletion.getTime();
+            }
+        } else {
+            after = System.currentTimeMillis();
+        }
+        return new Date(this.cron.next(after));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return (this == other || (other instanceof CompiledCronTrigger &&
+                this.cron == ((CompiledCronTrigger) other).cron));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.cron.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.cron.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.scheduled.cron;
+
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Feinik
+ * @Discription 编译后cron表达式的缓存，相同(表达式, 时区)的任务共享同一个CompiledCron实例，
+ * 重新注册任务时也不需要再次解析
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class CronCache {
+
+    private static final Map<String, CompiledCron> CACHE = new ConcurrentHashMap<>(64);
+
+    private CronCache() {
+    }
+
+    public static CompiledCron compile(String expression, TimeZone timeZone) {
+        String key = expression.trim() + '|' + timeZone.getID();
+        CompiledCron cron = CACHE.get(key);
+        if (cron == null) {
+            // 解析失败时抛出IllegalArgumentException，不会放入缓存
+            cron = CACHE.computeIfAbsent(key, k -> new CompiledCron(expression.trim(), timeZone));
+        }
+        return cron;
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+}
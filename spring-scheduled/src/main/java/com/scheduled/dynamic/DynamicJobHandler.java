@@ -0,0 +1,20 @@
+package com.scheduled.dynamic;
+
+/**
+ * @author Feinik
+ * @Discription 动态任务的处理器，由Spring bean实现。job_dynamic_task表中每一行通过handler列引用处理器的beanName，
+ * 同一个处理器可以被任意多行引用，每行以自己的参数和排期调用，如按客户导出数据
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface DynamicJobHandler {
+
+    /**
+     * 执行一次动态任务，同一行上次执行尚未完成时本次跳过
+     * @param taskId 动态任务id，即表中的id
+     * @param params 表中的参数，可以为null
+     * @throws Exception 执行失败，记为失败并记录日志
+     */
+    void execute(long taskId, String params) throws Exception;
+}
@@ -0,0 +1,111 @@
+package com.scheduled.dynamic;
+
+import com.scheduled.metrics.JobMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * @author Feinik
+ * @Discription job_dynamic_task表中一行对应的动态任务。为了能在内存中保存大量任务，只保存id、参数和对处理器、排期的引用，
+ * 处理器、排期及执行指标由引用相同处理器或排期的任务共用
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class DynamicTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicTask.class);
+
+    private static final AtomicIntegerFieldUpdater<DynamicTask> RUNNING =
+            AtomicIntegerFieldUpdater.newUpdater(DynamicTask.class, "running");
+
+    private final long id;
+
+    volatile DynamicTaskManager.Handler handler;
+
+    volatile String params;
+
+    volatile DynamicTaskManager.Trigger trigger;
+
+    volatile boolean enabled;
+
+    /**
+     * 集群模式下任务是否分配给当前节点
+     */
+    volatile boolean local = true;
+
+    private volatile int running;
+
+    DynamicTask(long id) {
+        this.id = id;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public String getHandlerName() {
+        return this.handler.name;
+    }
+
+    public String getParams() {
+        return this.params;
+    }
+
+    public String getTrigger() {
+        return this.trigger.expression;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public boolean isLocal() {
+        return this.local;
+    }
+
+    public boolean isRunning() {
+        return this.running != 0;
+    }
+
+    /**
+     * 集群分片及日志中使用的任务id
+     * @param id
+     * @return
+     */
+    public static String taskId(long id) {
+        return "dynamic." + id;
+    }
+
+    /**
+     * 执行一次，上次执行尚未完成时跳过
+     * @param planned 计划执行时间
+     */
+    void execute(long planned) {
+        DynamicTaskManager.Handler current = this.handler;
+        JobMetrics metrics = current.metrics;
+        if (!RUNNING.compareAndSet(this, 0, 1)) {
+            metrics.recordSkipped(1);
+            logger.warn("------>动态任务" + taskId(this.id) + "上次执行尚未完成，跳过本次触发");
+            return;
+        }
+        metrics.recordLag(planned, System.currentTimeMillis());
+        long start = metrics.start();
+        boolean succeeded = false;
+        try {
+            current.bean.execute(this.id, this.params);
+            succeeded = true;
+        } catch (Throwable ex) {
+            logger.error("------>动态任务" + taskId(this.id) + "执行异常", ex);
+        } finally {
+            metrics.finish(start, succeeded);
+            this.running = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return taskId(this.id);
+    }
+}
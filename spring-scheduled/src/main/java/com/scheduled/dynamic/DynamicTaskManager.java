@@ -0,0 +1,550 @@
+package com.scheduled.dynamic;
+
+import com.scheduled.cluster.TaskSharding;
+import com.scheduled.config.ConfigValue;
+import com.scheduled.config.TaskPools;
+import com.scheduled.cron.CompiledCron;
+import com.scheduled.metrics.JobMetrics;
+import com.scheduled.metrics.JobMetricsSnapshot;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Feinik
+ * @Discription 数据库中定义的动态任务：job_dynamic_task表每行绑定一个处理器bean、参数和排期，不需要为每个任务写注解方法。
+ * 启动时分页全量读取一次，之后定时只读取变化的行，逐行与内存中的定义比较，只处理真正变化的任务。
+ * 排期（cron表达式或固定频率）相同的任务共用一个触发，到期时一次唤醒把所有任务交给执行线程池，
+ * 调度器中的触发数只与不同排期的数量有关；处理器通过接口调用，执行指标按处理器汇总，每个任务只占用很少的内存
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class DynamicTaskManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicTaskManager.class);
+
+    private final boolean enabled;
+
+    private final DynamicTaskSource source;
+
+    private final BeanFactory beanFactory;
+
+    /**
+     * 检查变化的间隔毫秒数
+     */
+    private final long pollInterval;
+
+    /**
+     * 执行动态任务的线程池名称，为空时在调度线程中执行
+     */
+    private final String pool;
+
+    private final Map<Long, DynamicTask> tasks = new ConcurrentHashMap<>(1024);
+
+    /**
+     * 排期表达式 -> 排期，相同表达式的任务共用；只包含有任务的排期，最后一个任务离开时移除
+     */
+    private final Map<String, Trigger> triggers = new ConcurrentHashMap<>(64);
+
+    /**
+     * beanName -> 处理器
+     */
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>(16);
+
+    private volatile TaskScheduler scheduler;
+
+    private volatile TaskSharding sharding;
+
+    private volatile TaskPools taskPools;
+
+    private volatile LoadResult lastLoad;
+
+    private ScheduledExecutorService executorService;
+
+    public DynamicTaskManager(boolean enabled, DynamicTaskSource source, BeanFactory beanFactory, long pollInterval,
+                              String pool) {
+        this.enabled = enabled;
+        this.source = source;
+        this.beanFactory = beanFactory;
+        this.pollInterval = pollInterval;
+        this.pool = StringUtils.hasText(pool) ? pool.trim() : null;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * 全量读取动态任务并开始调度，之后定时读取变化
+     * @param scheduler
+     * @param sharding
+     * @param taskPools
+     */
+    public synchronized void start(TaskScheduler scheduler, TaskSharding sharding, TaskPools taskPools) {
+        if (!this.enabled || this.scheduler != null) {
+            return;
+        }
+        this.sharding = sharding;
+        this.taskPools = taskPools;
+        LoadResult result = new LoadResult();
+        this.source.loadAll(row -> apply(row, result));
+        result.finish();
+        this.lastLoad = result;
+        this.scheduler = scheduler;
+        for (Trigger trigger : this.triggers.values()) {
+            trigger.start();
+        }
+        logger.info("------>加载了" + this.tasks.size() + "个动态任务，共" + getStatus().getTriggers() + "个不同的排期，耗时" +
+                result.getMillis() + "ms" + (result.getInvalid() > 0 ? "，" + result.getInvalid() + "行无效：" + result.getLastError() : ""));
+        this.executorService = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("dynamic-task-poller-"));
+        this.executorService.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                logger.error("------>检查动态任务变化失败", e);
+            }
+        }, this.pollInterval, this.pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止检查变化并取消所有触发，正在执行的继续执行完
+     */
+    public synchronized void stop() {
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+            this.executorService = null;
+        }
+        this.scheduler = null;
+        for (Trigger trigger : this.triggers.values()) {
+            trigger.cancel();
+        }
+    }
+
+    /**
+     * 立即读取一次变化
+     * @return 本次读取的结果
+     */
+    public LoadResult poll() {
+        LoadResult result = new LoadResult();
+        synchronized (this) {
+            if (this.scheduler == null) {
+                return result;
+            }
+            this.source.loadChanged(row -> apply(row, result));
+        }
+        result.finish();
+        this.lastLoad = result;
+        if (result.getAdded() + result.getUpdated() + result.getRemoved() > 0) {
+            logger.info("------>动态任务变化：新增" + result.getAdded() + "，修改" + result.getUpdated() + "，删除" +
+                    result.getRemoved() + "，耗时" + result.getMillis() + "ms");
+        }
+        if (result.getInvalid() > 0) {
+            logger.error("------>" + result.getInvalid() + "行动态任务定义无效，保留原定义：" + result.getLastError());
+        }
+        return result;
+    }
+
+    /**
+     * 与内存中的定义比较并应用一行，定义无效时保留原定义
+     */
+    private void apply(DynamicTaskRow row, LoadResult result) {
+        DynamicTask task = this.tasks.get(row.getId());
+        if (row.isDeleted()) {
+            if (task != null) {
+                leave(task);
+                this.tasks.remove(row.getId());
+                result.removed++;
+            }
+            return;
+        }
+        Handler handler;
+        Trigger trigger;
+        try {
+            handler = handler(row.getHandler());
+            trigger = trigger(row.getTrigger(), task);
+        } catch (IllegalArgumentException | BeansException e) {
+            result.invalid++;
+            result.lastError = DynamicTask.taskId(row.getId()) + ": " + e.getMessage();
+            return;
+        }
+        boolean enable = row.isEnabled();
+        if (task == null) {
+            task = new DynamicTask(row.getId());
+            task.handler = handler;
+            task.params = row.getParams();
+            task.trigger = trigger;
+            task.enabled = enable;
+            task.local = isLocal(task);
+            this.tasks.put(row.getId(), task);
+            join(task);
+            result.added++;
+            return;
+        }
+        if (task.handler == handler && task.trigger == trigger && task.enabled == enable &&
+                Objects.equals(task.params, row.getParams())) {
+            //增量读取回溯时会重复读到未变化的行
+            result.unchanged++;
+            return;
+        }
+        task.handler = handler;
+        task.params = row.getParams();
+        if (task.trigger != trigger || task.enabled != enable) {
+            leave(task);
+            task.trigger = trigger;
+            task.enabled = enable;
+            join(task);
+        }
+        result.updated++;
+    }
+
+    private void join(DynamicTask task) {
+        if (task.enabled && task.local) {
+            Trigger trigger = this.triggers.putIfAbsent(task.trigger.expression, task.trigger);
+            if (trigger != null) {
+                //同一表达式只保留一个触发
+                task.trigger = trigger;
+            }
+            task.trigger.add(task);
+        }
+    }
+
+    private void leave(DynamicTask task) {
+        Trigger trigger = task.trigger;
+        if (trigger.remove(task)) {
+            this.triggers.remove(trigger.expression, trigger);
+        }
+    }
+
+    private boolean isLocal(DynamicTask task) {
+        TaskSharding current = this.sharding;
+        return current == null || current.isLocal(DynamicTask.taskId(task.getId()));
+    }
+
+    private Handler handler(String name) {
+        if (!StringUtils.hasText(name)) {
+            throw new IllegalArgumentException("'handler' must not be empty");
+        }
+        Handler handler = this.handlers.get(name);
+        if (handler == null) {
+            handler = new Handler(name, this.beanFactory.getBean(name, DynamicJobHandler.class));
+            this.handlers.put(name, handler);
+        }
+        return handler;
+    }
+
+    /**
+     * 解析排期表达式：能解析为时长的按固定频率，否则按cron。新的排期在第一个任务加入时才登记，
+     * cron不放入CronCache，表中的表达式不再使用后可以被回收。能编译但永远不会触发的cron（如2月30日）同样视为无效
+     * @param current 该行当前的任务，表达式未变化时沿用它的排期
+     */
+    private Trigger trigger(String expression, DynamicTask current) {
+        if (!StringUtils.hasText(expression)) {
+            throw new IllegalArgumentException("'trigger' must not be empty");
+        }
+        String key = expression.trim();
+        if (current != null && current.trigger.expression.equals(key)) {
+            return current.trigger;
+        }
+        Trigger trigger = this.triggers.get(key);
+        if (trigger != null) {
+            return trigger;
+        }
+        long interval = -1;
+        try {
+            interval = ConfigValue.parseDuration(key, "trigger");
+        } catch (IllegalArgumentException e) {
+            //不是时长，按cron解析
+        }
+        if (interval == 0) {
+            throw new IllegalArgumentException("Invalid trigger value \"" + key + "\" - interval must be positive");
+        }
+        Trigger created = interval > 0 ? new Trigger(key, null, interval) :
+                new Trigger(key, CompiledCron.compileUncached(key, TimeZone.getDefault()), 0);
+        created.next(System.currentTimeMillis());
+        return created;
+    }
+
+    /**
+     * 集群成员变化后只处理归属发生变化的任务，正在执行的不中断
+     */
+    public synchronized void rebalance() {
+        if (!this.enabled) {
+            return;
+        }
+        int added = 0;
+        int removed = 0;
+        for (DynamicTask task : this.tasks.values()) {
+            boolean local = isLocal(task);
+            if (local == task.local) {
+                continue;
+            }
+            if (local) {
+                task.local = true;
+                join(task);
+                added++;
+            } else {
+                leave(task);
+                task.local = false;
+                removed++;
+            }
+        }
+        logger.info("------>当前节点接管" + added + "个动态任务，移出" + removed + "个动态任务");
+    }
+
+    public DynamicTask getTask(long id) {
+        return this.tasks.get(id);
+    }
+
+    /**
+     * 正在执行的动态任务数
+     * @return
+     */
+    public int getInFlight() {
+        int inFlight = 0;
+        for (Handler handler : this.handlers.values()) {
+            inFlight += handler.metrics.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * 按处理器汇总的执行指标，id为 dynamic:处理器beanName
+     * @return
+     */
+    public List<JobMetricsSnapshot> getMetrics() {
+        List<JobMetricsSnapshot> snapshots = new ArrayList<>(this.handlers.size());
+        for (Handler handler : this.handlers.values()) {
+            snapshots.add(handler.metrics.snapshot("dynamic:" + handler.name));
+        }
+        return snapshots;
+    }
+
+    public Status getStatus() {
+        Status status = new Status();
+        status.enabled = this.enabled;
+        status.tasks = this.tasks.size();
+        for (Trigger trigger : this.triggers.values()) {
+            int members = trigger.members.size();
+            if (members > 0) {
+                status.triggers++;
+                status.scheduled += members;
+            }
+        }
+        status.handlers = this.handlers.size();
+        status.inFlight = getInFlight();
+        status.lastLoad = this.lastLoad;
+        return status;
+    }
+
+    private Executor executor(TaskScheduler target) {
+        TaskPools pools = this.taskPools;
+        if (this.pool != null && pools != null) {
+            return pools.get(this.pool);
+        }
+        if (target instanceof Executor) {
+            return (Executor) target;
+        }
+        return task -> target.schedule(task, new Date());
+    }
+
+    /**
+     * 引用同一个beanName的任务共用的处理器及执行指标
+     */
+    static final class Handler {
+
+        final String name;
+
+        final DynamicJobHandler bean;
+
+        final JobMetrics metrics = new JobMetrics();
+
+        Handler(String name, DynamicJobHandler bean) {
+            this.name = name;
+            this.bean = bean;
+        }
+    }
+
+    /**
+     * 排期表达式相同的任务共用的触发，只在有任务时向调度器提交。固定频率的触发时间对齐到间隔的整数倍
+     */
+    final class Trigger {
+
+        final String expression;
+
+        private final CompiledCron cron;
+
+        private final long interval;
+
+        private final Set<DynamicTask> members = ConcurrentHashMap.newKeySet();
+
+        private ScheduledFuture<?> future;
+
+        private long armedTime;
+
+        Trigger(String expression, CompiledCron cron, long interval) {
+            this.expression = expression;
+            this.cron = cron;
+            this.interval = interval;
+        }
+
+        long next(long after) {
+            return this.cron != null ? this.cron.next(after) : (after / this.interval + 1) * this.interval;
+        }
+
+        synchronized void add(DynamicTask task) {
+            this.members.add(task);
+            if (this.future == null) {
+                start();
+            }
+        }
+
+        /**
+         * @return 移除后没有任务时返回true，此时已取消
+         */
+        synchronized boolean remove(DynamicTask task) {
+            if (this.members.remove(task) && this.members.isEmpty()) {
+                cancel();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 提交失败只记录日志，不影响其他排期的加载，下一次有任务加入时再尝试
+         */
+        synchronized void start() {
+            TaskScheduler target = scheduler;
+            if (this.future == null && !this.members.isEmpty() && target != null) {
+                try {
+                    arm(target, next(System.currentTimeMillis()));
+                } catch (RuntimeException e) {
+                    logger.error("------>动态任务排期[" + this.expression + "]提交失败，" + this.members.size() + "个任务暂不执行", e);
+                }
+            }
+        }
+
+        synchronized void cancel() {
+            if (this.future != null) {
+                this.future.cancel(false);
+                this.future = null;
+            }
+        }
+
+        private void arm(TaskScheduler target, long time) {
+            this.armedTime = time;
+            this.future = target.schedule(() -> wakeup(time), new Date(time));
+        }
+
+        private void wakeup(long time) {
+            TaskScheduler target;
+            synchronized (this) {
+                target = scheduler;
+                if (this.future == null || time != this.armedTime || target == null) {
+                    return;
+                }
+                this.future = null;
+                long now = System.currentTimeMillis();
+                long next = next(time);
+                if (next <= now) {
+                    logger.warn("------>动态任务排期[" + this.expression + "]唤醒过晚，跳过已错过的触发");
+                    next = next(now);
+                }
+                if (!this.members.isEmpty()) {
+                    arm(target, next);
+                }
+            }
+            Executor executor = executor(target);
+            int dispatched = 0;
+            int rejected = 0;
+            for (DynamicTask task : this.members) {
+                try {
+                    executor.execute(() -> task.execute(time));
+                    dispatched++;
+                } catch (RejectedExecutionException e) {
+                    task.handler.metrics.recordSkipped(1);
+                    rejected++;
+                }
+            }
+            if (rejected > 0) {
+                logger.warn("------>动态任务排期[" + this.expression + "]有" + rejected + "个任务提交执行失败，跳过本次触发");
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("------>动态任务排期[" + this.expression + "]一次唤醒触发了" + dispatched + "个任务");
+            }
+        }
+    }
+
+    /**
+     * 一次读取的结果
+     */
+    @Getter
+    public static class LoadResult {
+
+        private final long time = System.currentTimeMillis();
+
+        private int added;
+
+        private int updated;
+
+        private int removed;
+
+        /**
+         * 读到但没有变化的行
+         */
+        private int unchanged;
+
+        private int invalid;
+
+        private String lastError;
+
+        private long millis;
+
+        void finish() {
+            this.millis = System.currentTimeMillis() - this.time;
+        }
+    }
+
+    @Getter
+    public static class Status {
+
+        private boolean enabled;
+
+        private int tasks;
+
+        /**
+         * 已开启且分配给当前节点、正在排期的任务数
+         */
+        private int scheduled;
+
+        /**
+         * 有任务的不同排期数，即提交到调度器中的触发数
+         */
+        private int triggers;
+
+        private int handlers;
+
+        private int inFlight;
+
+        private LoadResult lastLoad;
+    }
+}
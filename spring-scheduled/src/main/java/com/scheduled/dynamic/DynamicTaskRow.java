@@ -0,0 +1,40 @@
+package com.scheduled.dynamic;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+/**
+ * @author Feinik
+ * @Discription job_dynamic_task表中的一行。读取时同一个对象逐行复用，只在回调期间有效
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Setter
+@Getter
+public class DynamicTaskRow {
+
+    private long id;
+
+    /**
+     * 处理器的beanName
+     */
+    private String handler;
+
+    private String params;
+
+    /**
+     * cron表达式，或固定频率的间隔如30s、5m
+     */
+    private String trigger;
+
+    private boolean enabled;
+
+    /**
+     * 逻辑删除，增量读取通过该列感知删除
+     */
+    private boolean deleted;
+
+    private Timestamp updateTime;
+}
@@ -0,0 +1,24 @@
+package com.scheduled.dynamic;
+
+import java.util.function.Consumer;
+
+/**
+ * @author Feinik
+ * @Discription 动态任务定义的来源，首次全量读取之后只读取变化的行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface DynamicTaskSource {
+
+    /**
+     * 逐行读取所有未删除的动态任务，不把所有行同时放在内存中
+     * @param consumer
+     */
+    void loadAll(Consumer<DynamicTaskRow> consumer);
+
+    /**
+     * 逐行读取上次读取之后新增、修改或逻辑删除的行，可能包含已经读取过的行
+     * @param consumer
+     */
+    void loadChanged(Consumer<DynamicTaskRow> consumer);
+}
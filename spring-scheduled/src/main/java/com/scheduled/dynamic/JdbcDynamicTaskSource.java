@@ -0,0 +1,115 @@
+package com.scheduled.dynamic;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * @author Feinik
+ * @Discription 通过JdbcTemplate读取job_dynamic_task表。全量读取按id分页，每页pageSize行；
+ * 增量读取只查询update_time在水位线之后的行，删除通过deleted列感知。为了不漏掉提交较晚的行，
+ * 同时重新读取update_time在上次读取开始前deltaOverlap毫秒之内的行；与水位线相同的行只在这段时间内重复读取，
+ * 批量写入大量update_time相同的行后不会每次都重新读取这些行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JdbcDynamicTaskSource implements DynamicTaskSource {
+
+    private static final String COLUMNS =
+            "select id,handler,params,trigger_expr,enabled,deleted,update_time from job_dynamic_task ";
+
+    private final JdbcTemplate template;
+
+    private final int pageSize;
+
+    /**
+     * 增量查询时从上次读取开始的时间向前回溯的毫秒数，避免提交较晚但update_time较早的记录被漏掉
+     */
+    private final long deltaOverlap;
+
+    /**
+     * 上次读取开始的时间
+     */
+    private volatile long lastReadTime;
+
+    /**
+     * 已读取到的最大update_time
+     */
+    private volatile Timestamp watermark;
+
+    public JdbcDynamicTaskSource(JdbcTemplate template, int pageSize, long deltaOverlap) {
+        this.template = template;
+        this.pageSize = pageSize;
+        this.deltaOverlap = deltaOverlap;
+    }
+
+    @Override
+    public void loadAll(Consumer<DynamicTaskRow> consumer) {
+        lastReadTime = System.currentTimeMillis();
+        RowReader reader = new RowReader(consumer);
+        long lastId = Long.MIN_VALUE;
+        do {
+            reader.rows = 0;
+            template.query(COLUMNS + "where deleted = 0 and id > ? order by id limit ?", reader, lastId, pageSize);
+            lastId = reader.row.getId();
+        } while (reader.rows == pageSize);
+        if (watermark == null) {
+            //表为空时之后的增量查询从头开始
+            watermark = new Timestamp(0);
+        }
+    }
+
+    @Override
+    public void loadChanged(Consumer<DynamicTaskRow> consumer) {
+        Timestamp since = watermark;
+        if (since == null) {
+            loadAll(consumer);
+            return;
+        }
+        long floor = lastReadTime - deltaOverlap;
+        lastReadTime = System.currentTimeMillis();
+        if (floor <= since.getTime()) {
+            template.query(COLUMNS + "where update_time >= ? order by update_time, id", new RowReader(consumer),
+                    new Timestamp(floor));
+        } else {
+            template.query(COLUMNS + "where update_time > ? order by update_time, id", new RowReader(consumer), since);
+        }
+    }
+
+    /**
+     * 逐行转换并推进水位线
+     */
+    private class RowReader implements RowCallbackHandler {
+
+        private final Consumer<DynamicTaskRow> consumer;
+
+        private final DynamicTaskRow row = new DynamicTaskRow();
+
+        private int rows;
+
+        RowReader(Consumer<DynamicTaskRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            row.setId(rs.getLong("id"));
+            row.setHandler(rs.getString("handler"));
+            row.setParams(rs.getString("params"));
+            row.setTrigger(rs.getString("trigger_expr"));
+            row.setEnabled(rs.getBoolean("enabled"));
+            row.setDeleted(rs.getBoolean("deleted"));
+            row.setUpdateTime(rs.getTimestamp("update_time"));
+            Timestamp updateTime = row.getUpdateTime();
+            if (updateTime != null && (watermark == null || updateTime.after(watermark))) {
+                watermark = updateTime;
+            }
+            rows++;
+            consumer.accept(row);
+        }
+    }
+}
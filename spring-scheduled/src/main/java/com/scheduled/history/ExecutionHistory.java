@@ -0,0 +1,241 @@
+package com.scheduled.history;
+
+import com.scheduled.task.JobExecutionListener;
+import com.scheduled.task.JobTask;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Feinik
+ * @Discription 任务执行历史：任务线程只把记录放进无锁环形缓冲区，由单独的写线程批量插入job_execution_log表，
+ * 任务线程不会等待数据库。缓冲区满时按OverflowPolicy处理，写库失败的批次直接丢弃。未开启时不记录也不能查询
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ExecutionHistory implements JobExecutionListener {
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO job_execution_log " +
+            "(task_id, node_id, planned_time, start_time, end_time, success, error) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.TINYINT, Types.VARCHAR};
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, task_id, node_id, planned_time, start_time, end_time, success, error FROM job_execution_log";
+
+    @Getter
+    private final boolean enabled;
+
+    private final JdbcTemplate template;
+
+    private final String nodeId;
+
+    private final ExecutionRingBuffer<ExecutionRecord> buffer;
+
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * SAMPLE策略下成功记录的采样率，每sampleRate条保留一条
+     */
+    private final int sampleRate;
+
+    private final int batchSize;
+
+    /**
+     * 缓冲区不足一批时写线程的等待毫秒数
+     */
+    private final long flushInterval;
+
+    @Getter
+    private final LongAdder dropped = new LongAdder();
+
+    @Getter
+    private final LongAdder written = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public ExecutionHistory(boolean enabled, JdbcTemplate template, String nodeId, int capacity,
+                            OverflowPolicy overflowPolicy, int sampleRate, int batchSize, long flushInterval) {
+        this.enabled = enabled;
+        this.template = template;
+        this.nodeId = nodeId;
+        this.buffer = new ExecutionRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    public synchronized void start() {
+        if (!this.enabled || this.writer != null) {
+            return;
+        }
+        this.running = true;
+        this.writer = new Thread(this::writeLoop, "job-history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 停止写线程，停止前写完缓冲区中剩余的记录
+     */
+    public synchronized void stop() {
+        if (this.writer == null) {
+            return;
+        }
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.writer = null;
+    }
+
+    @Override
+    public void onExecuted(JobTask task, long plannedTime, long startTime, long endTime, Throwable error) {
+        if (!this.enabled) {
+            return;
+        }
+        boolean success = error == null;
+        if (this.overflowPolicy == OverflowPolicy.SAMPLE && success
+                && this.buffer.size() > this.buffer.getCapacity() / 2
+                && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) {
+            this.dropped.increment();
+            return;
+        }
+        ExecutionRecord record = new ExecutionRecord(0, task.getId(), this.nodeId, plannedTime, startTime, endTime,
+                success, success ? null : summarize(error));
+        if (this.buffer.offer(record)) {
+            return;
+        }
+        if (this.overflowPolicy == OverflowPolicy.BLOCK) {
+            while (this.running && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                if (this.buffer.offer(record)) {
+                    return;
+                }
+            }
+        }
+        this.dropped.increment();
+    }
+
+    private static String summarize(Throwable error) {
+        Throwable cause = error;
+        if (cause instanceof UndeclaredThrowableException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        String summary = cause.getClass().getName();
+        if (StringUtils.hasText(cause.getMessage())) {
+            summary += ": " + cause.getMessage();
+        }
+        return summary.length() > MAX_ERROR_LENGTH ? summary.substring(0, MAX_ERROR_LENGTH) : summary;
+    }
+
+    private void writeLoop() {
+        List<ExecutionRecord> batch = new ArrayList<>(this.batchSize);
+        boolean failing = false;
+        while (true) {
+            boolean active = this.running;
+            batch.clear();
+            this.buffer.drainTo(batch, this.batchSize);
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                    this.written.add(batch.size());
+                    if (failing) {
+                        logger.info("------>执行记录恢复写入");
+                        failing = false;
+                    }
+                } catch (Exception e) {
+                    this.dropped.add(batch.size());
+                    //连续失败时只记录第一次，避免数据库不可用时刷屏
+                    if (!failing) {
+                        logger.error("------>执行记录写入失败，丢弃" + batch.size() + "条", e);
+                        failing = true;
+                    }
+                }
+            }
+            if (batch.size() < this.batchSize) {
+                if (!active) {
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(this.flushInterval));
+            }
+        }
+    }
+
+    private void write(List<ExecutionRecord> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (ExecutionRecord record : batch) {
+            args.add(new Object[]{record.getTaskId(), record.getNodeId(),
+                    record.getPlannedTime() > 0 ? new Timestamp(record.getPlannedTime()) : null,
+                    new Timestamp(record.getStartTime()), new Timestamp(record.getEndTime()),
+                    record.isSuccess() ? 1 : 0, record.getError()});
+        }
+        this.template.batchUpdate(INSERT_SQL, args, INSERT_TYPES);
+    }
+
+    /**
+     * 分页查询执行记录，按id倒序
+     * @param taskId 为空时查询所有任务
+     * @param page 从1开始
+     * @param size
+     * @return
+     */
+    public ExecutionPage query(String taskId, int page, int size) {
+        if (!this.enabled) {
+            throw new IllegalStateException("Execution history is disabled, set scheduled.history.enabled=true");
+        }
+        int offset = (page - 1) * size;
+        List<ExecutionRecord> records;
+        long total;
+        if (StringUtils.hasText(taskId)) {
+            total = this.template.queryForObject(
+                    "SELECT COUNT(*) FROM job_execution_log WHERE task_id = ?", Long.class, taskId);
+            records = this.template.query(SELECT_COLUMNS + " WHERE task_id = ? ORDER BY id DESC LIMIT ? OFFSET ?",
+                    RECORD_MAPPER, taskId, size, offset);
+        } else {
+            total = this.template.queryForObject("SELECT COUNT(*) FROM job_execution_log", Long.class);
+            records = this.template.query(SELECT_COLUMNS + " ORDER BY id DESC LIMIT ? OFFSET ?",
+                    RECORD_MAPPER, size, offset);
+        }
+        return new ExecutionPage(page, size, total, records);
+    }
+
+    private static final RowMapper<ExecutionRecord> RECORD_MAPPER = (rs, i) -> {
+        Timestamp planned = rs.getTimestamp("planned_time");
+        return new ExecutionRecord(rs.getLong("id"), rs.getString("task_id"), rs.getString("node_id"),
+                planned == null ? 0 : planned.getTime(), rs.getTimestamp("start_time").getTime(),
+                rs.getTimestamp("end_time").getTime(), rs.getBoolean("success"), rs.getString("error"));
+    };
+
+    /**
+     * 缓冲区中尚未写入的记录数
+     * @return
+     */
+    public int getPending() {
+        return this.buffer.size();
+    }
+}
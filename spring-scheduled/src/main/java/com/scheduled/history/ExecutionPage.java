@@ -0,0 +1,30 @@
+package com.scheduled.history;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * @author Feinik
+ * @Discription 执行记录分页结果
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class ExecutionPage {
+
+    private final int page;
+
+    private final int size;
+
+    private final long total;
+
+    private final List<ExecutionRecord> records;
+
+    public ExecutionPage(int page, int size, long total, List<ExecutionRecord> records) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.records = records;
+    }
+}
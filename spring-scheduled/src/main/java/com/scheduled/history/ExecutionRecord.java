@@ -0,0 +1,47 @@
+package com.scheduled.history;
+
+import lombok.Getter;
+
+/**
+ * @author Feinik
+ * @Discription 一次任务执行的记录
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class ExecutionRecord {
+
+    private final long id;
+
+    private final String taskId;
+
+    private final String nodeId;
+
+    /**
+     * 计划执行时间，手动触发等没有计划时间时为0
+     */
+    private final long plannedTime;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private final boolean success;
+
+    /**
+     * 失败时的异常摘要
+     */
+    private final String error;
+
+    public ExecutionRecord(long id, String taskId, String nodeId, long plannedTime, long startTime, long endTime,
+                           boolean success, String error) {
+        this.id = id;
+        this.taskId = taskId;
+        this.nodeId = nodeId;
+        this.plannedTime = plannedTime;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.success = success;
+        this.error = error;
+    }
+}
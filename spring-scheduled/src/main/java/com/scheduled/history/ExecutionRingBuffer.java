@@ -0,0 +1,111 @@
+package com.scheduled.history;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author Feinik
+ * @Discription 有界无锁环形缓冲区，多个生产者、单个消费者：每个槽位带一个序号，
+ * 生产者通过CAS抢占写入位置，写完后发布序号，消费者按序号判断槽位是否可读，全程不加锁
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ExecutionRingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 只由消费者线程修改
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public ExecutionRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一个元素，缓冲区已满时立即返回false
+     * @param element
+     * @return
+     */
+    public boolean offer(E element) {
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) position & this.mask;
+            long diff = this.sequences.get(index) - position;
+            if (diff == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.buffer.lazySet(index, element);
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多max个元素，只能由消费者线程调用
+     * @param target
+     * @param max
+     * @return 取出的个数
+     */
+    public int drainTo(List<E> target, int max) {
+        long position = this.head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & this.mask;
+            if (this.sequences.get(index) != position + 1) {
+                //为空，或者下一个位置已被抢占但还没有写完
+                break;
+            }
+            target.add(this.buffer.get(index));
+            this.buffer.lazySet(index, null);
+            this.sequences.lazySet(index, position + this.capacity);
+            position++;
+            drained++;
+        }
+        this.head = position;
+        return drained;
+    }
+
+    /**
+     * 当前元素个数，并发时为近似值
+     * @return
+     */
+    public int size() {
+        long size = this.tail.get() - this.head;
+        return (int) Math.max(0, Math.min(size, this.capacity));
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+}
@@ -0,0 +1,25 @@
+package com.scheduled.history;
+
+/**
+ * @author Feinik
+ * @Discription 执行记录缓冲区满时的处理方式
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 丢弃新的记录
+     */
+    DROP,
+
+    /**
+     * 缓冲区超过一半后成功的记录按采样率保留，失败的记录总是保留，满了之后丢弃
+     */
+    SAMPLE,
+
+    /**
+     * 任务线程等待缓冲区有空位，写库变慢时会拖慢任务执行
+     */
+    BLOCK
+}
@@ -0,0 +1,18 @@
+package com.scheduled.invoker;
+
+/**
+ * @author Feinik
+ * @Discription 绑定了目标bean的任务方法调用器
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface JobInvoker {
+
+    /**
+     * 调用任务方法，方法抛出的异常原样抛出
+     * @return 方法返回值，void方法返回null
+     * @throws Throwable
+     */
+    Object invoke() throws Throwable;
+}
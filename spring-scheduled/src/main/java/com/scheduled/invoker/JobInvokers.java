@@ -0,0 +1,226 @@
+package com.scheduled.invoker;
+
+import com.scheduled.task.PartitionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author Feinik
+ * @Discription 为任务方法生成调用器：优先通过LambdaMetafactory生成直接调用的Runnable/Supplier（分片方法为Consumer/Function），
+ * 方法或类不可访问等无法生成时退回到MethodHandle，每次触发都不再经过Method.invoke
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class JobInvokers {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobInvokers.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 方法 -> 生成lambda的工厂，同一个方法的多个bean共用一个生成的类，每个bean只需绑定一次
+     */
+    private static final Map<Method, MethodHandle> LAMBDA_FACTORY_CACHE = new ConcurrentReferenceHashMap<>(64);
+
+    private JobInvokers() {
+    }
+
+    public static JobInvoker create(Object bean, Method method) {
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                return lambda(bean, method);
+            } catch (Throwable ex) {
+                logger.debug("Cannot create lambda invoker for " + method + ", falling back to MethodHandle", ex);
+            }
+        }
+        return methodHandle(bean, method);
+    }
+
+    /**
+     * 通过LambdaMetafactory生成绑定了bean的Runnable（void方法）或Supplier（有返回值的方法）
+     * @param bean
+     * @param method
+     * @return
+     * @throws Throwable
+     */
+    public static JobInvoker lambda(Object bean, Method method) throws Throwable {
+        MethodHandle factory = LAMBDA_FACTORY_CACHE.get(method);
+        if (factory == null) {
+            factory = lambdaFactory(method);
+            LAMBDA_FACTORY_CACHE.put(method, factory);
+        }
+        if (method.getReturnType() == void.class) {
+            return new RunnableInvoker((Runnable) factory.invoke(bean));
+        }
+        return new SupplierInvoker((Supplier<?>) factory.invoke(bean));
+    }
+
+    private static MethodHandle lambdaFactory(Method method) throws Throwable {
+        MethodHandle implMethod = LOOKUP.unreflect(method);
+        Class<?> receiverType = method.getDeclaringClass();
+        CallSite site;
+        if (method.getReturnType() == void.class) {
+            site = LambdaMetafactory.metafactory(LOOKUP, "run",
+                    MethodType.methodType(Runnable.class, receiverType),
+                    MethodType.methodType(void.class), implMethod, MethodType.methodType(void.class));
+        } else {
+            site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class, receiverType),
+                    MethodType.methodType(Object.class), implMethod, MethodType.methodType(method.getReturnType()).wrap());
+        }
+        return site.getTarget();
+    }
+
+    /**
+     * 通过MethodHandle调用，适用于非public的方法或类
+     * @param bean
+     * @param method
+     * @return
+     */
+    public static JobInvoker methodHandle(Object bean, Method method) {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method).bindTo(bean)
+                    .asType(MethodType.methodType(method.getReturnType() == void.class ? void.class : Object.class));
+            return method.getReturnType() == void.class ? new VoidHandleInvoker(handle) : new HandleInvoker(handle);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot access method " + method, ex);
+        }
+    }
+
+    /**
+     * 为以PartitionContext为唯一参数的分片方法生成调用器
+     * @param bean
+     * @param method
+     * @return
+     */
+    public static PartitionInvoker createPartitioned(Object bean, Method method) {
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                return partitionLambda(bean, method);
+            } catch (Throwable ex) {
+                logger.debug("Cannot create lambda invoker for " + method + ", falling back to MethodHandle", ex);
+            }
+        }
+        return partitionMethodHandle(bean, method);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PartitionInvoker partitionLambda(Object bean, Method method) throws Throwable {
+        MethodHandle factory = LAMBDA_FACTORY_CACHE.get(method);
+        if (factory == null) {
+            factory = partitionLambdaFactory(method);
+            LAMBDA_FACTORY_CACHE.put(method, factory);
+        }
+        if (method.getReturnType() == void.class) {
+            Consumer<PartitionContext> consumer = (Consumer<PartitionContext>) factory.invoke(bean);
+            return context -> {
+                consumer.accept(context);
+                return null;
+            };
+        }
+        Function<PartitionContext, ?> function = (Function<PartitionContext, ?>) factory.invoke(bean);
+        return function::apply;
+    }
+
+    private static MethodHandle partitionLambdaFactory(Method method) throws Throwable {
+        MethodHandle implMethod = LOOKUP.unreflect(method);
+        Class<?> receiverType = method.getDeclaringClass();
+        CallSite site;
+        if (method.getReturnType() == void.class) {
+            site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(Consumer.class, receiverType),
+                    MethodType.methodType(void.class, Object.class), implMethod,
+                    MethodType.methodType(void.class, PartitionContext.class));
+        } else {
+            site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(Function.class, receiverType),
+                    MethodType.methodType(Object.class, Object.class), implMethod,
+                    MethodType.methodType(method.getReturnType(), PartitionContext.class).wrap());
+        }
+        return site.getTarget();
+    }
+
+    private static PartitionInvoker partitionMethodHandle(Object bean, Method method) {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method).bindTo(bean)
+                    .asType(MethodType.methodType(Object.class, PartitionContext.class));
+            return context -> (Object) handle.invokeExact(context);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot access method " + method, ex);
+        }
+    }
+
+    private static final class RunnableInvoker implements JobInvoker {
+
+        private final Runnable runnable;
+
+        RunnableInvoker(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public Object invoke() {
+            this.runnable.run();
+            return null;
+        }
+    }
+
+    private static final class SupplierInvoker implements JobInvoker {
+
+        private final Supplier<?> supplier;
+
+        SupplierInvoker(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Object invoke() {
+            return this.supplier.get();
+        }
+    }
+
+    private static final class VoidHandleInvoker implements JobInvoker {
+
+        private final MethodHandle handle;
+
+        VoidHandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke() throws Throwable {
+            this.handle.invokeExact();
+            return null;
+        }
+    }
+
+    private static final class HandleInvoker implements JobInvoker {
+
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke() throws Throwable {
+            return (Object) this.handle.invokeExact();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.scheduled.invoker;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * @author Feinik
+ * @Discription 替代Spring的ScheduledMethodRunnable，通过预先生成的JobInvoker调用任务方法，
+ * 异常处理与ScheduledMethodRunnable一致：运行时异常和Error原样抛出，受检异常包装为UndeclaredThrowableException
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobMethodRunnable implements Runnable {
+
+    private final Object target;
+
+    private final Method method;
+
+    private final JobInvoker invoker;
+
+    public JobMethodRunnable(Object target, Method method) {
+        this(target, method, JobInvokers.create(target, method));
+    }
+
+    public JobMethodRunnable(Object target, Method method, JobInvoker invoker) {
+        this.target = target;
+        this.method = method;
+        this.invoker = invoker;
+    }
+
+    public Object getTarget() {
+        return this.target;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    public JobInvoker getInvoker() {
+        return this.invoker;
+    }
+
+    @Override
+    public void run() {
+        call();
+    }
+
+    /**
+     * 调用任务方法并返回方法的返回值，异常处理与{@link #run()}相同
+     * @return void方法返回null
+     */
+    public Object call() {
+        try {
+            return this.invoker.invoke();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.method.getDeclaringClass().getName() + "." + this.method.getName();
+    }
+}
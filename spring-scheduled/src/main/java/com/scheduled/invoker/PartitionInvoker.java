@@ -0,0 +1,21 @@
+package com.scheduled.invoker;
+
+import com.scheduled.task.PartitionContext;
+
+/**
+ * @author Feinik
+ * @Discription 绑定了目标bean、以PartitionContext为参数的分片任务方法调用器
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface PartitionInvoker {
+
+    /**
+     * 调用任务方法处理一个分片，方法抛出的异常原样抛出
+     * @param context
+     * @return 方法返回值，void方法返回null
+     * @throws Throwable
+     */
+    Object invoke(PartitionContext context) throws Throwable;
+}
@@ -0,0 +1,172 @@
+package com.scheduled.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Feinik
+ * @Discription 单个调度任务的执行指标：调度延迟、执行耗时、成功/失败次数及正在执行的数量，
+ * 时间统一以微秒记录
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobMetrics {
+
+    /**
+     * 快照中计算的分位点
+     */
+    public static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    public static final String[] QUANTILE_LABELS = {"p50", "p90", "p99", "p999"};
+
+    /**
+     * 实际触发时间与计划触发时间之差
+     */
+    private final LatencyHistogram lag = new LatencyHistogram();
+
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private final LongAdder success = new LongAdder();
+
+    private final LongAdder failure = new LongAdder();
+
+    /**
+     * 因上次执行未完成而跳过（或排队已满被丢弃）的触发次数
+     */
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * 错过的触发次数
+     */
+    private final LongAdder misfired = new LongAdder();
+
+    /**
+     * 执行超时的次数
+     */
+    private final LongAdder timedOut = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * 分片任务每个分片的耗时和失败次数，按分片序号存放，非分片任务为空数组
+     */
+    private volatile Partition[] partitions = new Partition[0];
+
+    private volatile long lastStartTime;
+
+    private volatile long lastFinishTime;
+
+    /**
+     * 记录一次触发的调度延迟
+     * @param plannedMillis 计划触发时间
+     * @param actualMillis 实际触发时间
+     */
+    public void recordLag(long plannedMillis, long actualMillis) {
+        this.lag.record((actualMillis - plannedMillis) * 1000);
+    }
+
+    /**
+     * 开始执行，返回开始时间，执行结束时传给{@link #finish(long, boolean)}
+     * @return
+     */
+    public long start() {
+        this.inFlight.incrementAndGet();
+        this.lastStartTime = System.currentTimeMillis();
+        return System.nanoTime();
+    }
+
+    public void finish(long startNanos, boolean succeeded) {
+        this.runTime.record((System.nanoTime() - startNanos) / 1000);
+        if (succeeded) {
+            this.success.increment();
+        } else {
+            this.failure.increment();
+        }
+        this.lastFinishTime = System.currentTimeMillis();
+        this.inFlight.decrementAndGet();
+    }
+
+    /**
+     * 正在执行的数量
+     * @return
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public void recordSkipped(long count) {
+        this.skipped.add(count);
+    }
+
+    public void recordMisfired(long missed) {
+        this.misfired.add(missed);
+    }
+
+    public void recordTimedOut() {
+        this.timedOut.increment();
+    }
+
+    /**
+     * 分片数变化时调用，保留序号仍有效的分片的指标
+     * @param count
+     */
+    public synchronized void retainPartitions(int count) {
+        Partition[] current = this.partitions;
+        if (count <= 1) {
+            this.partitions = new Partition[0];
+            return;
+        }
+        if (count == current.length) {
+            return;
+        }
+        Partition[] resized = Arrays.copyOf(current, count);
+        for (int i = current.length; i < count; i++) {
+            resized[i] = new Partition();
+        }
+        this.partitions = resized;
+    }
+
+    /**
+     * 记录一个分片的一次执行
+     * @param index 分片序号
+     * @param nanos 执行耗时
+     * @param succeeded
+     */
+    public void recordPartition(int index, long nanos, boolean succeeded) {
+        Partition[] current = this.partitions;
+        if (index >= current.length) {
+            //分片数已经调小，或只有一个分片
+            return;
+        }
+        current[index].runTime.record(nanos / 1000);
+        if (!succeeded) {
+            current[index].failure.increment();
+        }
+    }
+
+    public JobMetricsSnapshot snapshot(String id) {
+        Partition[] current = this.partitions;
+        List<JobMetricsSnapshot.PartitionSnapshot> partitionSnapshots = Collections.emptyList();
+        if (current.length > 0) {
+            partitionSnapshots = new ArrayList<>(current.length);
+            for (int i = 0; i < current.length; i++) {
+                partitionSnapshots.add(new JobMetricsSnapshot.PartitionSnapshot(i, current[i].failure.sum(),
+                        current[i].runTime.snapshot(QUANTILES)));
+            }
+        }
+        return new JobMetricsSnapshot(id, this.success.sum(), this.failure.sum(), this.skipped.sum(),
+                this.misfired.sum(), this.timedOut.sum(), this.inFlight.get(), this.lastStartTime, this.lastFinishTime,
+                this.lag.snapshot(QUANTILES), this.runTime.snapshot(QUANTILES), partitionSnapshots);
+    }
+
+    private static final class Partition {
+
+        private final LatencyHistogram runTime = new LatencyHistogram();
+
+        private final LongAdder failure = new LongAdder();
+    }
+}
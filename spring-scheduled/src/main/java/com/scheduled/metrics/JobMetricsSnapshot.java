@@ -0,0 +1,111 @@
+package com.scheduled.metrics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Feinik
+ * @Discription 任务执行指标快照，时间单位为毫秒
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class JobMetricsSnapshot {
+
+    private final String id;
+
+    private final long success;
+
+    private final long failure;
+
+    private final long skipped;
+
+    private final long misfired;
+
+    private final long timedOut;
+
+    private final int inFlight;
+
+    private final long lastStartTime;
+
+    private final long lastFinishTime;
+
+    @JsonIgnore
+    private final LatencyHistogram.Snapshot lagHistogram;
+
+    @JsonIgnore
+    private final LatencyHistogram.Snapshot runTimeHistogram;
+
+    /**
+     * 分片任务每个分片的指标，非分片任务为空
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<PartitionSnapshot> partitions;
+
+    public JobMetricsSnapshot(String id, long success, long failure, long skipped, long misfired, long timedOut,
+                              int inFlight, long lastStartTime, long lastFinishTime,
+                              LatencyHistogram.Snapshot lagHistogram, LatencyHistogram.Snapshot runTimeHistogram,
+                              List<PartitionSnapshot> partitions) {
+        this.id = id;
+        this.success = success;
+        this.failure = failure;
+        this.skipped = skipped;
+        this.misfired = misfired;
+        this.timedOut = timedOut;
+        this.inFlight = inFlight;
+        this.lastStartTime = lastStartTime;
+        this.lastFinishTime = lastFinishTime;
+        this.lagHistogram = lagHistogram;
+        this.runTimeHistogram = runTimeHistogram;
+        this.partitions = partitions;
+    }
+
+    public Map<String, Object> getLag() {
+        return summary(this.lagHistogram);
+    }
+
+    public Map<String, Object> getRunTime() {
+        return summary(this.runTimeHistogram);
+    }
+
+    static Map<String, Object> summary(LatencyHistogram.Snapshot histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>(8);
+        summary.put("count", histogram.getCount());
+        summary.put("mean", histogram.getMean() / 1000.0);
+        long[] values = histogram.getValues();
+        for (int i = 0; i < values.length; i++) {
+            summary.put(JobMetrics.QUANTILE_LABELS[i], values[i] / 1000.0);
+        }
+        summary.put("max", histogram.getMax() / 1000.0);
+        return summary;
+    }
+
+    /**
+     * 单个分片的指标
+     */
+    @Getter
+    public static class PartitionSnapshot {
+
+        private final int index;
+
+        private final long failure;
+
+        @JsonIgnore
+        private final LatencyHistogram.Snapshot runTimeHistogram;
+
+        public PartitionSnapshot(int index, long failure, LatencyHistogram.Snapshot runTimeHistogram) {
+            this.index = index;
+            this.failure = failure;
+            this.runTimeHistogram = runTimeHistogram;
+        }
+
+        public Map<String, Object> getRunTime() {
+            return summary(this.runTimeHistogram);
+        }
+    }
+}
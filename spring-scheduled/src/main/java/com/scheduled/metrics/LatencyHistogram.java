@@ -0,0 +1,140 @@
+package com.scheduled.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Feinik
+ * @Discription 无锁的对数-线性直方图，每个2的幂区间再均分为8个桶，相对误差不超过12.5%。
+ * 记录只有几次原子操作，不加锁、不分配对象，统计从启动开始累计
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一个值，负数按0记录
+     * @param value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.counts.incrementAndGet(indexOf(value));
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的上界（包含），作为落在该桶内的值的估计
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index & (SUB_BUCKETS - 1);
+        long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * 生成快照，记录与快照并发时各项之间可能有轻微出入
+     * @param quantiles 要计算的分位点，取值0~1，需升序
+     * @return
+     */
+    public Snapshot snapshot(double... quantiles) {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = this.counts.get(i);
+            total += copy[i];
+        }
+        long maxValue = this.max.get();
+        long[] values = new long[quantiles.length];
+        int bucket = 0;
+        long seen = 0;
+        for (int q = 0; q < quantiles.length && total > 0; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            while (bucket < BUCKETS - 1 && seen + copy[bucket] < rank) {
+                seen += copy[bucket];
+                bucket++;
+            }
+            values[q] = Math.min(upperBoundOf(bucket), maxValue);
+        }
+        return new Snapshot(total, this.sum.sum(), maxValue, quantiles.clone(), values);
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static class Snapshot {
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        private final double[] quantiles;
+
+        private final long[] values;
+
+        Snapshot(long count, long sum, long max, double[] quantiles, long[] values) {
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.quantiles = quantiles;
+            this.values = values;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getSum() {
+            return this.sum;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+
+        public double getMean() {
+            return this.count == 0 ? 0 : (double) this.sum / this.count;
+        }
+
+        public double[] getQuantiles() {
+            return this.quantiles;
+        }
+
+        public long[] getValues() {
+            return this.values;
+        }
+    }
+}
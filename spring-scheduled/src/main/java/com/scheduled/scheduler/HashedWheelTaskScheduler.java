@@ -0,0 +1,417 @@
+package com.scheduled.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Feinik
+ * @Discription 基于分层哈希时间轮的TaskScheduler，用于任务数量很大的场景。
+ * 只有一个tick线程负责推进时间轮，到期的任务交给独立的worker线程池执行，
+ * 插入和取消都是O(1)，不会像ScheduledThreadPoolExecutor的二叉堆那样在大量任务同时到期时产生锁竞争。
+ * 触发精度为一个tick。设置了WorkerPoolController时，worker线程数由它按调度延迟和排队情况在上下限之间自动调整
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class HashedWheelTaskScheduler implements TaskScheduler, Executor, InitializingBean, DisposableBean {
+
+    private static final int LEVELS = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 每个tick的毫秒数
+     */
+    private long tickMillis = 10;
+
+    /**
+     * 每层时间轮的槽数为 2^wheelBits
+     */
+    private int wheelBits = 9;
+
+    private int workerPoolSize = 200;
+
+    private String threadNamePrefix = "wheel-";
+
+    private ErrorHandler errorHandler;
+
+    private long tickNanos;
+
+    private int wheelSize;
+
+    private int mask;
+
+    /**
+     * [层][槽] 的双向链表头，只在tick线程中访问
+     */
+    private WheelTask[][] slots;
+
+    private long startNanos;
+
+    /**
+     * 已经处理到的tick，只在tick线程中修改
+     */
+    private volatile long currentTick;
+
+    private final Queue<WheelTask> pending = new ConcurrentLinkedQueue<>();
+
+    private final Queue<WheelTask> cancelled = new ConcurrentLinkedQueue<>();
+
+    private ThreadPoolExecutor workerExecutor;
+
+    private WorkerPoolController poolController;
+
+    private Thread ticker;
+
+    private volatile boolean running;
+
+    public void setTickMillis(long tickMillis) {
+        Assert.isTrue(tickMillis > 0, "'tickMillis' must be positive");
+        this.tickMillis = tickMillis;
+    }
+
+    public void setWheelBits(int wheelBits) {
+        Assert.isTrue(wheelBits > 0 && wheelBits <= 15, "'wheelBits' must be between 1 and 15");
+        this.wheelBits = wheelBits;
+    }
+
+    public void setWorkerPoolSize(int workerPoolSize) {
+        Assert.isTrue(workerPoolSize > 0, "'workerPoolSize' must be positive");
+        this.workerPoolSize = workerPoolSize;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    public void setPoolController(WorkerPoolController poolController) {
+        this.poolController = poolController;
+    }
+
+    public WorkerPoolController getPoolController() {
+        return this.poolController;
+    }
+
+    public ThreadPoolExecutor getWorkerExecutor() {
+        return this.workerExecutor;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(this.tickMillis);
+        this.wheelSize = 1 << this.wheelBits;
+        this.mask = this.wheelSize - 1;
+        this.slots = new WheelTask[LEVELS][this.wheelSize];
+        int poolSize = this.poolController != null ? this.poolController.getMinSize() : this.workerPoolSize;
+        this.workerExecutor = createWorkerExecutor(poolSize);
+        if (this.poolController != null) {
+            this.poolController.start(this.workerExecutor, this.threadNamePrefix + "pool-controller");
+        }
+        this.startNanos = nanoTime();
+        this.running = true;
+        startTicker();
+    }
+
+    ThreadPoolExecutor createWorkerExecutor(int poolSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(this.threadNamePrefix + "worker-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    void startTicker() {
+        this.ticker = new Thread(this::tickLoop, this.threadNamePrefix + "ticker");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * 时间轮使用的单调时钟
+     * @return
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void destroy() {
+        this.running = false;
+        if (this.poolController != null) {
+            this.poolController.stop();
+        }
+        if (this.ticker != null) {
+            LockSupport.unpark(this.ticker);
+        }
+        if (this.workerExecutor != null) {
+            this.workerExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 不经过时间轮，直接交给worker线程池执行
+     * @param task
+     */
+    @Override
+    public void execute(Runnable task) {
+        WorkerPoolController controller = this.poolController;
+        if (controller == null) {
+            this.workerExecutor.execute(task);
+            return;
+        }
+        //记录在队列中等待的时间
+        long submitted = nanoTime();
+        this.workerExecutor.execute(() -> {
+            controller.recordLag(nanoTime() - submitted);
+            task.run();
+        });
+    }
+
+    /**
+     * worker开始执行时间轮任务前调用
+     * @param task
+     */
+    void beforeRun(WheelTask task) {
+        WorkerPoolController controller = this.poolController;
+        if (controller != null) {
+            controller.recordLag(nanoTime() - task.getDeadlineNanos());
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        WheelTask wheelTask = WheelTask.withTrigger(this, task, trigger, handlerFor(true));
+        return wheelTask.scheduleFirst() ? wheelTask : null;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        WheelTask wheelTask = WheelTask.oneShot(this, task, toNanos(startTime), handlerFor(false));
+        enqueue(wheelTask);
+        return wheelTask;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return scheduleAtFixedRateNanos(task, toNanos(startTime), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return scheduleAtFixedRateNanos(task, nanoTime(), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return scheduleWithFixedDelayNanos(task, toNanos(startTime), delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return scheduleWithFixedDelayNanos(task, nanoTime(), delay);
+    }
+
+    private ScheduledFuture<?> scheduleAtFixedRateNanos(Runnable task, long startNanos, long period) {
+        Assert.isTrue(period > 0, "'period' must be positive");
+        WheelTask wheelTask = WheelTask.periodic(this, task, startNanos,
+                TimeUnit.MILLISECONDS.toNanos(period), true, handlerFor(true));
+        enqueue(wheelTask);
+        return wheelTask;
+    }
+
+    private ScheduledFuture<?> scheduleWithFixedDelayNanos(Runnable task, long startNanos, long delay) {
+        Assert.isTrue(delay > 0, "'delay' must be positive");
+        WheelTask wheelTask = WheelTask.periodic(this, task, startNanos,
+                TimeUnit.MILLISECONDS.toNanos(delay), false, handlerFor(true));
+        enqueue(wheelTask);
+        return wheelTask;
+    }
+
+    private ErrorHandler handlerFor(boolean repeating) {
+        if (this.errorHandler != null) {
+            return this.errorHandler;
+        }
+        return repeating ? t -> logger.error("Unexpected error occurred in scheduled task.", t) : null;
+    }
+
+    long toNanos(Date time) {
+        return nanoTime() + TimeUnit.MILLISECONDS.toNanos(time.getTime() - System.currentTimeMillis());
+    }
+
+    /**
+     * 放入时间轮，已到期的直接交给worker执行；可在任意线程调用
+     * @param task
+     */
+    void enqueue(WheelTask task) {
+        Assert.state(this.running, "HashedWheelTaskScheduler is not running");
+        if (task.getDeadlineNanos() - nanoTime() <= 0) {
+            dispatch(task);
+        } else {
+            this.pending.add(task);
+        }
+    }
+
+    void cancelled(WheelTask task) {
+        this.cancelled.add(task);
+    }
+
+    private void dispatch(WheelTask task) {
+        if (task.isCancelled()) {
+            return;
+        }
+        try {
+            this.workerExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            if (this.running) {
+                logger.error("------>时间轮任务" + task + "提交到worker线程池失败", ex);
+            }
+        }
+    }
+
+    private void tickLoop() {
+        while (this.running) {
+            long target = this.startNanos + (this.currentTick + 1) * this.tickNanos;
+            long sleep = target - nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            try {
+                tick();
+            } catch (Throwable ex) {
+                logger.error("------>时间轮推进异常", ex);
+            }
+        }
+    }
+
+    /**
+     * 处理取消和新加入的任务后推进一个tick，只在tick线程中调用
+     */
+    void tick() {
+        processCancelled();
+        processPending();
+        advance();
+    }
+
+    private void processCancelled() {
+        WheelTask task;
+        while ((task = this.cancelled.poll()) != null) {
+            unlink(task);
+        }
+    }
+
+    private void processPending() {
+        WheelTask task;
+        while ((task = this.pending.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            long elapsed = task.getDeadlineNanos() - this.startNanos;
+            // 向上取整，保证不会提前触发
+            task.deadlineTick = elapsed <= 0 ? 0 : (elapsed + this.tickNanos - 1) / this.tickNanos;
+            place(task);
+        }
+    }
+
+    private void place(WheelTask task) {
+        long deadline = task.deadlineTick;
+        long now = this.currentTick;
+        if (deadline <= now) {
+            dispatch(task);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * this.wheelBits;
+            if ((deadline >>> shift) - (now >>> shift) < this.wheelSize) {
+                link(task, level, (int) ((deadline >>> shift) & this.mask));
+                return;
+            }
+        }
+        // 超出时间轮范围，放到最高层最远的槽，到时会再次下沉
+        int shift = (LEVELS - 1) * this.wheelBits;
+        link(task, LEVELS - 1, (int) (((now >>> shift) + this.wheelSize - 1) & this.mask));
+    }
+
+    private void advance() {
+        long tick = ++this.currentTick;
+        // 低层转完一圈时，把高层对应槽的任务下沉到低层
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = level * this.wheelBits;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                cascade(level, (int) ((tick >>> shift) & this.mask));
+            }
+        }
+        int slot = (int) (tick & this.mask);
+        WheelTask task = this.slots[0][slot];
+        this.slots[0][slot] = null;
+        while (task != null) {
+            WheelTask next = task.next;
+            task.prev = task.next = null;
+            task.level = -1;
+            dispatch(task);
+            task = next;
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        WheelTask task = this.slots[level][slot];
+        this.slots[level][slot] = null;
+        while (task != null) {
+            WheelTask next = task.next;
+            task.prev = task.next = null;
+            task.level = -1;
+            if (!task.isCancelled()) {
+                place(task);
+            }
+            task = next;
+        }
+    }
+
+    private void link(WheelTask task, int level, int slot) {
+        WheelTask head = this.slots[level][slot];
+        task.level = level;
+        task.slot = slot;
+        task.prev = null;
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        this.slots[level][slot] = task;
+    }
+
+    private void unlink(WheelTask task) {
+        if (task.level < 0) {
+            return;
+        }
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            this.slots[task.level][task.slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = task.next = null;
+        task.level = -1;
+    }
+}
@@ -0,0 +1,248 @@
+package com.scheduled.scheduler;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.util.ErrorHandler;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Feinik
+ * @Discription 时间轮中的任务，同时作为返回给调用方的ScheduledFuture。
+ * 周期任务每次执行完成后重新放入时间轮，因此同一个任务不会并发执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+final class WheelTask implements ScheduledFuture<Object>, Runnable {
+
+    private static final int WAITING = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int DONE = 2;
+
+    private static final int CANCELLED = 3;
+
+    private final HashedWheelTaskScheduler scheduler;
+
+    private final Runnable task;
+
+    private final ErrorHandler errorHandler;
+
+    private final Trigger trigger;
+
+    private final SimpleTriggerContext triggerContext;
+
+    /**
+     * 固定频率/固定延迟的间隔纳秒数，0表示非固定间隔任务
+     */
+    private final long periodNanos;
+
+    private final boolean fixedRate;
+
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile long deadlineNanos;
+
+    private volatile Date scheduledExecutionTime;
+
+    private volatile Thread runner;
+
+    private volatile Throwable failure;
+
+    /**
+     * 以下字段只在tick线程中访问
+     */
+    long deadlineTick;
+
+    int level = -1;
+
+    int slot;
+
+    WheelTask prev;
+
+    WheelTask next;
+
+    private WheelTask(HashedWheelTaskScheduler scheduler, Runnable task, ErrorHandler errorHandler, Trigger trigger,
+                      long deadlineNanos, long periodNanos, boolean fixedRate) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.errorHandler = errorHandler;
+        this.trigger = trigger;
+        this.triggerContext = trigger != null ? new SimpleTriggerContext() : null;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = periodNanos;
+        this.fixedRate = fixedRate;
+    }
+
+    static WheelTask oneShot(HashedWheelTaskScheduler scheduler, Runnable task, long deadlineNanos,
+                             ErrorHandler errorHandler) {
+        return new WheelTask(scheduler, task, errorHandler, null, deadlineNanos, 0, false);
+    }
+
+    static WheelTask periodic(HashedWheelTaskScheduler scheduler, Runnable task, long startNanos, long periodNanos,
+                              boolean fixedRate, ErrorHandler errorHandler) {
+        return new WheelTask(scheduler, task, errorHandler, null, startNanos, periodNanos, fixedRate);
+    }
+
+    static WheelTask withTrigger(HashedWheelTaskScheduler scheduler, Runnable task, Trigger trigger,
+                                 ErrorHandler errorHandler) {
+        return new WheelTask(scheduler, task, errorHandler, trigger, 0, 0, false);
+    }
+
+    /**
+     * 计算Trigger的首次执行时间并放入时间轮
+     * @return Trigger没有下次执行时间时返回false
+     */
+    boolean scheduleFirst() {
+        Date next = this.trigger.nextExecutionTime(this.triggerContext);
+        if (next == null) {
+            return false;
+        }
+        this.scheduledExecutionTime = next;
+        this.deadlineNanos = this.scheduler.toNanos(next);
+        this.scheduler.enqueue(this);
+        return true;
+    }
+
+    long getDeadlineNanos() {
+        return this.deadlineNanos;
+    }
+
+    private boolean isRepeating() {
+        return this.trigger != null || this.periodNanos > 0;
+    }
+
+    @Override
+    public void run() {
+        if (!this.state.compareAndSet(WAITING, RUNNING)) {
+            return;
+        }
+        this.scheduler.beforeRun(this);
+        this.runner = Thread.currentThread();
+        Date actualExecutionTime = this.trigger != null ? new Date() : null;
+        try {
+            this.task.run();
+        } catch (Throwable ex) {
+            if (this.errorHandler != null) {
+                this.errorHandler.handleError(ex);
+            } else {
+                this.failure = ex;
+            }
+        } finally {
+            this.runner = null;
+        }
+
+        if (isRepeating() && this.failure == null && computeNext(actualExecutionTime)) {
+            if (this.state.compareAndSet(RUNNING, WAITING)) {
+                this.scheduler.enqueue(this);
+            }
+            return;
+        }
+        if (this.state.compareAndSet(RUNNING, DONE)) {
+            this.done.countDown();
+        }
+    }
+
+    private boolean computeNext(Date actualExecutionTime) {
+        if (this.trigger != null) {
+            this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, new Date());
+            Date next = this.trigger.nextExecutionTime(this.triggerContext);
+            if (next == null) {
+                return false;
+            }
+            this.scheduledExecutionTime = next;
+            this.deadlineNanos = this.scheduler.toNanos(next);
+        } else if (this.fixedRate) {
+            this.deadlineNanos += this.periodNanos;
+        } else {
+            this.deadlineNanos = this.scheduler.nanoTime() + this.periodNanos;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        while (true) {
+            int current = this.state.get();
+            if (current == DONE || current == CANCELLED) {
+                return false;
+            }
+            if (this.state.compareAndSet(current, CANCELLED)) {
+                break;
+            }
+        }
+        if (mayInterruptIfRunning) {
+            Thread thread = this.runner;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+        this.scheduler.cancelled(this);
+        this.done.countDown();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.state.get() == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        int current = this.state.get();
+        return current == DONE || current == CANCELLED;
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+        this.done.await();
+        return report();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!this.done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+
+    private Object report() throws ExecutionException {
+        if (isCancelled()) {
+            throw new CancellationException();
+        }
+        if (this.failure != null) {
+            throw new ExecutionException(this.failure);
+        }
+        return null;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(this.deadlineNanos - this.scheduler.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (this == other) {
+            return 0;
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public String toString() {
+        return this.task.toString();
+    }
+}
@@ -0,0 +1,296 @@
+package com.scheduled.scheduler;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Feinik
+ * @Discription 按调度延迟、排队数和线程利用率自动调整worker线程池大小。
+ * 每个采样周期取一次：任务从到期到开始执行的最大延迟、队列中等待的任务数、执行中的线程占比。
+ * 有积压（排队、延迟超过阈值或利用率高于上限）连续达到growAfter个周期时扩容；
+ * 空闲（无排队、无延迟且利用率低于下限）连续达到shrinkAfter个周期时缩容。
+ * 扩容快、缩容慢，两个利用率阈值之间为不调整的区间，避免线程数来回抖动
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class WorkerPoolController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerPoolController.class);
+
+    private static final int MAX_DECISIONS = 32;
+
+    private int minSize = 8;
+
+    private int maxSize = 200;
+
+    private long intervalMillis = 1000;
+
+    /**
+     * 调度延迟超过该值视为积压
+     */
+    private long lagThresholdMillis = 100;
+
+    private double highUtilization = 0.9;
+
+    private double lowUtilization = 0.3;
+
+    private int growAfter = 2;
+
+    private int shrinkAfter = 30;
+
+    /**
+     * 本周期内观察到的最大调度延迟（纳秒）
+     */
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    private final Deque<Decision> decisions = new ArrayDeque<>(MAX_DECISIONS);
+
+    private ThreadPoolExecutor executor;
+
+    private Thread thread;
+
+    private volatile boolean running;
+
+    private int busyCount;
+
+    private int idleCount;
+
+    private volatile long lastLagMillis;
+
+    public void setMinSize(int minSize) {
+        Assert.isTrue(minSize > 0, "'minSize' must be positive");
+        this.minSize = minSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        Assert.isTrue(maxSize > 0, "'maxSize' must be positive");
+        this.maxSize = maxSize;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        Assert.isTrue(intervalMillis > 0, "'intervalMillis' must be positive");
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void setLagThresholdMillis(long lagThresholdMillis) {
+        this.lagThresholdMillis = lagThresholdMillis;
+    }
+
+    public void setHighUtilization(double highUtilization) {
+        this.highUtilization = highUtilization;
+    }
+
+    public void setLowUtilization(double lowUtilization) {
+        this.lowUtilization = lowUtilization;
+    }
+
+    public void setGrowAfter(int growAfter) {
+        Assert.isTrue(growAfter > 0, "'growAfter' must be positive");
+        this.growAfter = growAfter;
+    }
+
+    public void setShrinkAfter(int shrinkAfter) {
+        Assert.isTrue(shrinkAfter > 0, "'shrinkAfter' must be positive");
+        this.shrinkAfter = shrinkAfter;
+    }
+
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * 记录一次任务从到期到开始执行的延迟，在worker线程中调用
+     * @param lagNanos
+     */
+    public void recordLag(long lagNanos) {
+        this.maxLagNanos.accumulate(lagNanos);
+    }
+
+    /**
+     * 开始控制executor的线程数，初始为minSize
+     * @param executor
+     */
+    synchronized void start(ThreadPoolExecutor executor, String threadName) {
+        Assert.isTrue(this.minSize <= this.maxSize, "'minSize' must not be greater than 'maxSize'");
+        Assert.isTrue(this.lowUtilization < this.highUtilization, "'lowUtilization' must be less than 'highUtilization'");
+        this.executor = executor;
+        this.running = true;
+        this.thread = new Thread(this::loop, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void stop() {
+        this.running = false;
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void loop() {
+        long next = System.nanoTime();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(this.intervalMillis);
+        while (this.running) {
+            next += intervalNanos;
+            long sleep;
+            while (this.running && (sleep = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!this.running) {
+                return;
+            }
+            try {
+                adjust();
+            } catch (Throwable ex) {
+                logger.error("------>调整worker线程池大小异常", ex);
+            }
+        }
+    }
+
+    synchronized void adjust() {
+        ThreadPoolExecutor executor = this.executor;
+        if (executor.isShutdown()) {
+            return;
+        }
+        int size = executor.getMaximumPoolSize();
+        int active = executor.getActiveCount();
+        int queued = executor.getQueue().size();
+        long lagMillis = TimeUnit.NANOSECONDS.toMillis(this.maxLagNanos.getThenReset());
+        double utilization = (double) active / size;
+        this.lastLagMillis = lagMillis;
+
+        boolean busy = queued > 0 || lagMillis > this.lagThresholdMillis || utilization >= this.highUtilization;
+        boolean idle = queued == 0 && lagMillis <= this.lagThresholdMillis && utilization <= this.lowUtilization;
+        this.busyCount = busy ? this.busyCount + 1 : 0;
+        this.idleCount = idle ? this.idleCount + 1 : 0;
+
+        int target = size;
+        if (this.busyCount >= this.growAfter && size < this.maxSize) {
+            //按当前大小的一半扩容，排队很多时直接扩到能容纳排队任务
+            target = Math.min(this.maxSize, Math.max(size + Math.max(1, size / 2), active + queued));
+        } else if (this.idleCount >= this.shrinkAfter && size > this.minSize) {
+            //每次缩小四分之一，并保留当前执行中线程的两倍
+            target = Math.max(this.minSize, Math.max(size - Math.max(1, size / 4), active * 2));
+        }
+        if (target == size) {
+            return;
+        }
+        resize(executor, size, target);
+        this.busyCount = 0;
+        this.idleCount = 0;
+        Decision decision = new Decision(System.currentTimeMillis(), size, target, active, queued, lagMillis);
+        if (this.decisions.size() == MAX_DECISIONS) {
+            this.decisions.removeFirst();
+        }
+        this.decisions.addLast(decision);
+        logger.info("------>worker线程池" + (target > size ? "扩容" : "缩容") + "：" + size + " -> " + target +
+                "，执行中" + active + "，排队" + queued + "，调度延迟" + lagMillis + "ms");
+    }
+
+    private static void resize(ThreadPoolExecutor executor, int from, int to) {
+        //始终保持core == max，先调大上限再调大core，缩容时反过来
+        if (to > from) {
+            executor.setMaximumPoolSize(to);
+            executor.setCorePoolSize(to);
+        } else {
+            executor.setCorePoolSize(to);
+            executor.setMaximumPoolSize(to);
+        }
+    }
+
+    /**
+     * 当前线程池状态和最近的调整记录
+     * @return
+     */
+    public synchronized Status getStatus() {
+        ThreadPoolExecutor executor = this.executor;
+        Status status = new Status();
+        status.minSize = this.minSize;
+        status.maxSize = this.maxSize;
+        if (executor != null) {
+            status.size = executor.getMaximumPoolSize();
+            status.threads = executor.getPoolSize();
+            status.active = executor.getActiveCount();
+            status.queued = executor.getQueue().size();
+            status.completed = executor.getCompletedTaskCount();
+        }
+        status.lagMillis = this.lastLagMillis;
+        status.decisions = new ArrayList<>(this.decisions);
+        return status;
+    }
+
+    @Getter
+    public static class Status {
+
+        private int minSize;
+
+        private int maxSize;
+
+        /**
+         * 当前允许的线程数
+         */
+        private int size;
+
+        /**
+         * 实际存活的线程数
+         */
+        private int threads;
+
+        private int active;
+
+        private int queued;
+
+        private long completed;
+
+        /**
+         * 最近一个采样周期的最大调度延迟
+         */
+        private long lagMillis;
+
+        private List<Decision> decisions;
+    }
+
+    /**
+     * 一次调整记录
+     */
+    @Getter
+    public static class Decision {
+
+        private final long time;
+
+        private final int from;
+
+        private final int to;
+
+        private final int active;
+
+        private final int queued;
+
+        private final long lagMillis;
+
+        Decision(long time, int from, int to, int active, int queued, long lagMillis) {
+            this.time = time;
+            this.from = from;
+            this.to = to;
+            this.active = active;
+            this.queued = queued;
+            this.lagMillis = lagMillis;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.scheduled.task;
+
+/**
+ * @author Feinik
+ * @Discription 任务每次执行结束后在执行线程中回调，实现不能阻塞
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface JobExecutionListener {
+
+    /**
+     * @param task
+     * @param plannedTime 计划执行时间
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @param error 执行成功时为null
+     */
+    void onExecuted(JobTask task, long plannedTime, long startTime, long endTime, Throwable error);
+}
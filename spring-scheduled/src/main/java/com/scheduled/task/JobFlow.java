@@ -0,0 +1,197 @@
+package com.scheduled.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * @author Feinik
+ * @Discription 由dependsOn组成的任务流，以唯一一个有排期的任务为根。根任务每次执行成功后开始一次运行，
+ * 每个下游任务在其所有上游任务都执行成功后立即提交到线程池执行，互不依赖的分支并行执行；
+ * 上游失败或被跳过时，依赖它的任务不执行，并继续向下游传递
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobFlow.class);
+
+    /**
+     * 按拓扑顺序排列的任务，第0个为根任务
+     */
+    private final List<JobTask> nodes;
+
+    /**
+     * 每个任务的直接下游在nodes中的下标
+     */
+    private final int[][] dependents;
+
+    /**
+     * 每个任务在流中的直接上游数
+     */
+    private final int[] dependencyCounts;
+
+    private final Executor executor;
+
+    /**
+     * 尚未结束的运行次数
+     */
+    private final AtomicInteger activeRuns = new AtomicInteger();
+
+    private JobFlow(List<JobTask> nodes, int[][] dependents, int[] dependencyCounts, Executor executor) {
+        this.nodes = nodes;
+        this.dependents = dependents;
+        this.dependencyCounts = dependencyCounts;
+        this.executor = executor;
+    }
+
+    /**
+     * 以root为根构建任务流，包含从root可达的所有下游任务
+     * @param root
+     * @param downstream 任务 -> 直接下游任务
+     * @param executor 执行下游任务的线程池
+     * @return
+     */
+    public static JobFlow build(JobTask root, Map<JobTask, List<JobTask>> downstream, Executor executor) {
+        //从根开始按层次收集可达的任务，再按Kahn算法排成拓扑顺序
+        Map<JobTask, Integer> inDegree = new HashMap<>();
+        Deque<JobTask> queue = new ArrayDeque<>();
+        queue.add(root);
+        inDegree.put(root, 0);
+        while (!queue.isEmpty()) {
+            JobTask task = queue.poll();
+            for (JobTask next : downstream.getOrDefault(task, Collections.emptyList())) {
+                if (inDegree.merge(next, 1, Integer::sum) == 1) {
+                    queue.add(next);
+                }
+            }
+        }
+        int[] dependencyCounts = new int[inDegree.size()];
+        List<JobTask> nodes = new ArrayList<>(inDegree.size());
+        Map<JobTask, Integer> index = new HashMap<>();
+        Map<JobTask, Integer> remaining = new HashMap<>(inDegree);
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            JobTask task = queue.poll();
+            index.put(task, nodes.size());
+            dependencyCounts[nodes.size()] = inDegree.get(task);
+            nodes.add(task);
+            for (JobTask next : downstream.getOrDefault(task, Collections.emptyList())) {
+                if (remaining.merge(next, -1, Integer::sum) == 0) {
+                    queue.add(next);
+                }
+            }
+        }
+        int[][] dependents = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            List<JobTask> next = downstream.getOrDefault(nodes.get(i), Collections.emptyList());
+            dependents[i] = new int[next.size()];
+            for (int j = 0; j < next.size(); j++) {
+                dependents[i][j] = index.get(next.get(j));
+            }
+        }
+        return new JobFlow(Collections.unmodifiableList(nodes), dependents, dependencyCounts, executor);
+    }
+
+    public JobTask getRoot() {
+        return this.nodes.get(0);
+    }
+
+    public List<JobTask> getNodes() {
+        return this.nodes;
+    }
+
+    public int getActiveRuns() {
+        return this.activeRuns.get();
+    }
+
+    /**
+     * 根任务执行成功后开始一次运行
+     * @param planned 根任务本次的计划执行时间，下游任务沿用
+     */
+    void start(long planned) {
+        this.activeRuns.incrementAndGet();
+        new Run(planned).complete(0, true);
+    }
+
+    /**
+     * 一次运行，每个任务的剩余上游数归零时执行该任务
+     */
+    private class Run {
+
+        private final long planned;
+
+        private final AtomicIntegerArray pending;
+
+        /**
+         * 有上游失败或被跳过的任务
+         */
+        private final AtomicIntegerArray blocked;
+
+        /**
+         * 尚未结束的任务数，包括根任务
+         */
+        private final AtomicInteger remaining;
+
+        Run(long planned) {
+            this.planned = planned;
+            this.pending = new AtomicIntegerArray(dependencyCounts);
+            this.blocked = new AtomicIntegerArray(dependencyCounts.length);
+            this.remaining = new AtomicInteger(dependencyCounts.length);
+        }
+
+        void complete(int index, boolean success) {
+            for (int next : dependents[index]) {
+                if (!success) {
+                    this.blocked.set(next, 1);
+                }
+                if (this.pending.decrementAndGet(next) == 0) {
+                    if (this.blocked.get(next) == 1) {
+                        JobTask task = nodes.get(next);
+                        task.getMetrics().recordSkipped(1);
+                        logger.warn("------>任务" + task.getId() + "的上游任务未执行成功，本次跳过");
+                        complete(next, false);
+                    } else {
+                        submit(next);
+                    }
+                }
+            }
+            if (this.remaining.decrementAndGet() == 0) {
+                activeRuns.decrementAndGet();
+            }
+        }
+
+        private void submit(int index) {
+            try {
+                executor.execute(() -> {
+                    CompletableFuture<Boolean> result = null;
+                    try {
+                        result = nodes.get(index).runInFlow(this.planned);
+                    } finally {
+                        if (result == null) {
+                            complete(index, false);
+                        } else {
+                            //异步方法在返回的结果完成后才继续下游
+                            result.whenComplete((success, ex) -> complete(index, Boolean.TRUE.equals(success)));
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.warn("------>任务" + nodes.get(index).getId() + "提交执行失败，本次跳过");
+                complete(index, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.MisfirePolicy;
+import com.scheduled.cron.CompiledCron;
+import lombok.Getter;
+
+/**
+ * @author Feinik
+ * @Discription 根据注解和配置解析出的任务排期，不可变，配置变化时整体替换
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class JobSchedule {
+
+    public enum Type {
+        CRON, FIXED_DELAY, FIXED_RATE,
+        /**
+         * 没有自己的排期，由上游任务执行完成后触发
+         */
+        DEPENDENT
+    }
+
+    private final Type type;
+
+    private final CompiledCron cron;
+
+    /**
+     * 固定延迟/固定频率的间隔毫秒数
+     */
+    private final long interval;
+
+    private final long initialDelay;
+
+    private final ConcurrencyPolicy concurrency;
+
+    private final MisfirePolicy misfire;
+
+    private final int maxCatchUp;
+
+    /**
+     * 触发时间的分散范围毫秒数，0表示不分散
+     */
+    private final long spread;
+
+    private JobSchedule(Type type, CompiledCron cron, long interval, long initialDelay,
+                        ConcurrencyPolicy concurrency, MisfirePolicy misfire, int maxCatchUp, long spread) {
+        this.type = type;
+        this.cron = cron;
+        this.interval = interval;
+        this.initialDelay = initialDelay;
+        this.concurrency = concurrency;
+        this.misfire = misfire;
+        this.maxCatchUp = maxCatchUp;
+        this.spread = spread;
+    }
+
+    public static JobSchedule cron(CompiledCron cron, ConcurrencyPolicy concurrency, MisfirePolicy misfire, int maxCatchUp) {
+        return new JobSchedule(Type.CRON, cron, 0, 0, concurrency, misfire, maxCatchUp, 0);
+    }
+
+    public static JobSchedule fixedDelay(long interval, long initialDelay,
+                                         ConcurrencyPolicy concurrency, MisfirePolicy misfire, int maxCatchUp) {
+        return new JobSchedule(Type.FIXED_DELAY, null, interval, initialDelay, concurrency, misfire, maxCatchUp, 0);
+    }
+
+    public static JobSchedule fixedRate(long interval, long initialDelay,
+                                        ConcurrencyPolicy concurrency, MisfirePolicy misfire, int maxCatchUp) {
+        return new JobSchedule(Type.FIXED_RATE, null, interval, initialDelay, concurrency, misfire, maxCatchUp, 0);
+    }
+
+    public static JobSchedule dependent(ConcurrencyPolicy concurrency, MisfirePolicy misfire, int maxCatchUp) {
+        return new JobSchedule(Type.DEPENDENT, null, 0, 0, concurrency, misfire, maxCatchUp, 0);
+    }
+
+    /**
+     * 复制一份分散范围为spread的排期，固定延迟及依赖上游的任务不分散
+     * @param spread
+     * @return
+     */
+    public JobSchedule withSpread(long spread) {
+        long effective = this.type == Type.CRON || this.type == Type.FIXED_RATE ? spread : 0;
+        return new JobSchedule(this.type, this.cron, this.interval, this.initialDelay, this.concurrency, this.misfire,
+                this.maxCatchUp, effective);
+    }
+
+    /**
+     * 按key的哈希在分散范围内取固定的偏移
+     * @param key
+     * @return
+     */
+    public long jitter(String key) {
+        if (this.spread <= 0) {
+            return 0;
+        }
+        //String.hashCode的算法是固定的，重启后偏移不变，再做一次混合让相似的key分布均匀
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, this.spread);
+    }
+
+    /**
+     * 首次计划执行时间
+     * @param now
+     * @return
+     */
+    public long first(long now) {
+        return this.type == Type.CRON ? this.cron.next(now) : now + this.initialDelay;
+    }
+
+    /**
+     * 按计划时间推算的下次计划执行时间，固定延迟任务由执行完成时间决定，不适用
+     * @param planned
+     * @return
+     */
+    public long nextAfter(long planned) {
+        return this.type == Type.CRON ? this.cron.next(planned) : planned + this.interval;
+    }
+
+    /**
+     * 计算截止到now错过的计划执行次数，最多计算到limit次
+     * @param planned 本次计划执行时间
+     * @param now
+     * @param limit
+     * @return
+     */
+    public long missedSince(long planned, long now, long limit) {
+        if (now < planned) {
+            return 0;
+        }
+        if (this.type != Type.CRON) {
+            return Math.min((now - planned) / this.interval, limit);
+        }
+        long missed = 0;
+        long next = this.cron.next(planned);
+        while (next <= now && missed < limit) {
+            missed++;
+            next = this.cron.next(next);
+        }
+        return missed;
+    }
+
+    @Override
+    public String toString() {
+        String trigger = this.type == Type.CRON ? "cron=" + this.cron :
+                this.type == Type.DEPENDENT ? "DEPENDENT" : this.type + "=" + this.interval + "ms";
+        return trigger + (this.spread > 0 ? ", spread=" + this.spread + "ms" : "") +
+                ", concurrency=" + this.concurrency + ", misfire=" + this.misfire;
+    }
+}
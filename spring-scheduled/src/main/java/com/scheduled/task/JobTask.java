@@ -0,0 +1,982 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.JobClassMetadata.JobMethodMetadata;
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.invoker.JobInvokers;
+import com.scheduled.invoker.JobMethodRunnable;
+import com.scheduled.invoker.PartitionInvoker;
+import com.scheduled.metrics.JobMetrics;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Feinik
+ * @Discription 被JobScheduled注解的单个调度任务，任务id由 beanName + 方法名 + 注解序号 组成，重新注册时保持不变。
+ * 每次只向调度器提交下一次触发，触发时再提交之后的一次，由任务自己处理重叠执行和错过触发
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class JobTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobTask.class);
+
+    private static final CompletableFuture<Boolean> SUCCEEDED = CompletableFuture.completedFuture(Boolean.TRUE);
+
+    private static final CompletableFuture<Boolean> FAILED = CompletableFuture.completedFuture(Boolean.FALSE);
+
+    private final String id;
+
+    private final String beanName;
+
+    private final Object bean;
+
+    private final Method method;
+
+    private final Method invocableMethod;
+
+    private final JobScheduled scheduled;
+
+    /**
+     * 调用被注解方法的Runnable，只创建一次，重新排期时复用。分片方法或参数不合法的方法为null
+     */
+    private final JobMethodRunnable runnable;
+
+    /**
+     * 调用以PartitionContext为唯一参数的分片方法，其他方法为null
+     */
+    private final PartitionInvoker partitionInvoker;
+
+    /**
+     * 方法返回CompletionStage或ListenableFuture，以返回的结果完成作为执行结束
+     */
+    private final boolean async;
+
+    /**
+     * 该任务引用的配置key（cron/enable/fixedDelayString等），配置变化时据此找到受影响的任务
+     */
+    private final Set<String> configKeys;
+
+    /**
+     * 当前生效的排期
+     */
+    @Setter
+    private volatile JobSchedule schedule;
+
+    @Setter
+    private volatile boolean enabled;
+
+    /**
+     * 上游任务id，为空时任务按自己的排期执行
+     */
+    @Setter
+    private volatile List<String> dependsOn = Collections.emptyList();
+
+    /**
+     * 任务分组，用于启动限流
+     */
+    @Setter
+    private volatile String group;
+
+    /**
+     * 执行线程池名称，为null时在调度线程中执行
+     */
+    @Setter
+    private volatile String pool;
+
+    /**
+     * 按pool选择执行线程池
+     */
+    @Setter
+    private volatile PoolSelector poolSelector;
+
+    /**
+     * 单次执行的超时毫秒数，0表示不限制
+     */
+    @Setter
+    private volatile long timeout;
+
+    /**
+     * 分片数，每次触发把任务方法按分片并行执行一次，只对分片方法生效
+     */
+    private volatile int partitions = 1;
+
+    /**
+     * 执行分片的线程池，所有分片任务共用
+     */
+    @Setter
+    private volatile Executor partitionExecutor;
+
+    /**
+     * 执行超时看门狗，所有任务共用
+     */
+    @Setter
+    private volatile TimeoutWatchdog watchdog;
+
+    /**
+     * 启动限流，为null时不限流
+     */
+    @Setter
+    private volatile StartThrottle startThrottle;
+
+    /**
+     * 合并相同cron任务的触发，为null时每个任务单独提交触发
+     */
+    @Setter
+    private volatile TriggerCoalescer coalescer;
+
+    /**
+     * 任务所在的任务流，没有上下游关系时为null
+     */
+    @Setter
+    private volatile JobFlow flow;
+
+    /**
+     * 通过管理接口暂停，暂停期间配置变化不会恢复调度，需要显式恢复
+     */
+    @Setter
+    private volatile boolean paused;
+
+    /**
+     * 集群模式下任务是否分配给当前节点
+     */
+    @Setter
+    private volatile boolean local = true;
+
+    /**
+     * 下一次触发对应的future，未排期时为null
+     */
+    private volatile ScheduledFuture<?> future;
+
+    /**
+     * 下一次计划触发时间，未排期时为0
+     */
+    private volatile long nextFireTime;
+
+    /**
+     * 每次排期或取消都会递增，旧排期遗留的触发据此丢弃
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 正在执行的次数
+     */
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * QUEUE策略下排队等待执行的次数
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * 正在执行的线程 -> 发起这次执行的排期代次
+     */
+    private final Map<Thread, Long> runningThreads = new ConcurrentHashMap<>();
+
+    /**
+     * 异步方法尚未完成的结果 -> 发起这次执行的排期代次
+     */
+    private final Map<CompletableFuture<?>, Long> pendingResults = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次触发的计划时间，重新排期时据此衔接固定频率/固定延迟任务的下一次触发
+     */
+    private volatile long lastFireTime;
+
+    /**
+     * 执行指标，重新排期时保留
+     */
+    private final JobMetrics metrics = new JobMetrics();
+
+    /**
+     * 每次执行结束后回调，如记录执行历史
+     */
+    @Setter
+    private volatile JobExecutionListener executionListener;
+
+    private volatile TaskScheduler scheduler;
+
+    public JobTask(String beanName, Object bean, JobMethodMetadata metadata) {
+        this.id = buildId(beanName, metadata.getMethod(), metadata.getIndex());
+        this.beanName = beanName;
+        this.bean = bean;
+        this.method = metadata.getMethod();
+        this.invocableMethod = metadata.getInvocableMethod();
+        this.scheduled = metadata.getScheduled();
+        Class<?>[] parameterTypes = this.invocableMethod.getParameterTypes();
+        if (parameterTypes.length == 1 && parameterTypes[0] == PartitionContext.class) {
+            this.runnable = null;
+            this.partitionInvoker = JobInvokers.createPartitioned(bean, this.invocableMethod);
+        } else {
+            //有其他参数的方法在解析注解时报错
+            this.runnable = parameterTypes.length == 0 ? new JobMethodRunnable(bean, this.invocableMethod) : null;
+            this.partitionInvoker = null;
+        }
+        this.async = isAsync(this.invocableMethod.getReturnType());
+        this.configKeys = Collections.unmodifiableSet(collectConfigKeys(this.scheduled));
+    }
+
+    /**
+     * 是否为以PartitionContext为唯一参数的分片方法
+     * @return
+     */
+    public boolean isPartitioned() {
+        return this.partitionInvoker != null;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+        this.metrics.retainPartitions(partitions);
+    }
+
+    public static boolean isAsync(Class<?> returnType) {
+        return CompletionStage.class.isAssignableFrom(returnType) || ListenableFuture.class.isAssignableFrom(returnType);
+    }
+
+    public static String buildId(String beanName, Method method, int index) {
+        String id = beanName + "." + method.getName();
+        return index > 0 ? id + "." + index : id;
+    }
+
+    private static Set<String> collectConfigKeys(JobScheduled scheduled) {
+        Set<String> keys = new LinkedHashSet<>(8);
+        addConfigKey(keys, "cron", scheduled.cron());
+        addConfigKey(keys, "enable", scheduled.enable());
+        addConfigKey(keys, "initialDelayString", scheduled.initialDelayString());
+        addConfigKey(keys, "fixedDelayString", scheduled.fixedDelayString());
+        addConfigKey(keys, "fixedRateString", scheduled.fixedRateString());
+        addConfigKey(keys, "concurrency", scheduled.concurrency());
+        addConfigKey(keys, "misfire", scheduled.misfire());
+        addConfigKey(keys, "maxCatchUp", scheduled.maxCatchUp());
+        addConfigKey(keys, "spread", scheduled.spread());
+        addConfigKey(keys, "pool", scheduled.pool());
+        addConfigKey(keys, "timeout", scheduled.timeout());
+        addConfigKey(keys, "partitions", scheduled.partitions());
+        return keys;
+    }
+
+    /**
+     * 未修改的默认值（如enable的"true"、concurrency的"SKIP"）按字面值使用，不作为配置key索引
+     */
+    private static void addConfigKey(Set<String> keys, String attribute, String value) {
+        if (StringUtils.hasText(value) && !value.equals(AnnotationUtils.getDefaultValue(JobScheduled.class, attribute))) {
+            keys.add(value);
+        }
+    }
+
+    /**
+     * 按当前排期开始调度。重新排期时，固定频率/固定延迟任务的下一次触发不早于上一次触发之后一个间隔，
+     * 避免配置变化后立即重复执行
+     * @param scheduler
+     */
+    public synchronized void start(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+        long gen = this.generation.incrementAndGet();
+        if (this.schedule.getType() == JobSchedule.Type.DEPENDENT) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long first = this.schedule.first(now);
+        if (this.lastFireTime > 0 && this.schedule.getType() != JobSchedule.Type.CRON) {
+            first = Math.max(now, this.lastFireTime + this.schedule.getInterval());
+        }
+        arm(gen, first);
+    }
+
+    /**
+     * 取消当前排期
+     * @param mayInterruptIfRunning 是否中断正在执行的任务
+     */
+    public synchronized void cancel(boolean mayInterruptIfRunning) {
+        this.generation.incrementAndGet();
+        ScheduledFuture<?> current = this.future;
+        if (current != null) {
+            current.cancel(false);
+            this.future = null;
+        }
+        TriggerCoalescer shared = this.coalescer;
+        if (shared != null) {
+            shared.remove(this);
+        }
+        this.nextFireTime = 0;
+        this.queued.set(0);
+        if (mayInterruptIfRunning) {
+            for (Thread thread : this.runningThreads.keySet()) {
+                thread.interrupt();
+            }
+            for (CompletableFuture<?> pending : this.pendingResults.keySet()) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 立即额外执行一次，不影响已有的排期，同样遵守并发策略
+     * @param scheduler
+     * @return
+     */
+    public ScheduledFuture<?> trigger(TaskScheduler scheduler) {
+        long now = System.currentTimeMillis();
+        JobSchedule current = this.schedule;
+        long gen = this.generation.get();
+        return scheduler.schedule(() -> submit(gen, () -> execute(gen, now, current, 1, null), 1, null), new Date(now));
+    }
+
+    /**
+     * 中断由早于指定代次的排期发起、仍在执行的线程，异步方法取消其尚未完成的结果
+     * @param generation
+     * @return 中断的执行数
+     */
+    public int interruptBefore(long generation) {
+        int interrupted = 0;
+        for (Map.Entry<Thread, Long> entry : this.runningThreads.entrySet()) {
+            if (entry.getValue() < generation) {
+                entry.getKey().interrupt();
+                interrupted++;
+            }
+        }
+        for (Map.Entry<CompletableFuture<?>, Long> entry : this.pendingResults.entrySet()) {
+            if (entry.getValue() < generation) {
+                entry.getKey().cancel(true);
+                interrupted++;
+            }
+        }
+        return interrupted;
+    }
+
+    /**
+     * 正在执行的次数，包括异步方法尚未完成的结果
+     * @return
+     */
+    public int getInFlight() {
+        return this.runningThreads.size() + this.pendingResults.size();
+    }
+
+    private synchronized void arm(long gen, long planned) {
+        if (gen != this.generation.get()) {
+            return;
+        }
+        JobSchedule current = this.schedule;
+        long fireAt = planned + current.jitter(this.id);
+        this.nextFireTime = fireAt;
+        TriggerCoalescer shared = this.coalescer;
+        if (shared != null && current.getType() == JobSchedule.Type.CRON) {
+            shared.add(this, current.getCron(), gen, planned, fireAt, this.scheduler);
+        } else {
+            this.future = this.scheduler.schedule(new Fire(gen, planned), new Date(fireAt));
+        }
+    }
+
+    void fire(long gen, long planned) {
+        if (gen != this.generation.get()) {
+            return;
+        }
+        JobSchedule current = this.schedule;
+        long jitter = current.jitter(this.id);
+        long now = System.currentTimeMillis();
+        //按计划时间计算错过的触发及下一次触发，分散的偏移只影响实际触发的时间
+        long logicalNow = now - jitter;
+        this.lastFireTime = planned;
+        this.metrics.recordLag(planned + jitter, now);
+        long missed = current.missedSince(planned, logicalNow, Math.max(current.getMaxCatchUp(), 1));
+        int runs = 1;
+        if (missed > 0) {
+            this.metrics.recordMisfired(missed);
+            switch (current.getMisfire()) {
+                case FIRE_ALL:
+                    runs = 1 + (int) Math.min(missed, current.getMaxCatchUp());
+                    break;
+                case IGNORE:
+                    runs = 0;
+                    break;
+                default:
+                    runs = 1;
+            }
+            logger.warn("------>任务" + this.id + "错过了" + (missed >= current.getMaxCatchUp() ? "至少" : "") + missed +
+                    "次触发，按" + current.getMisfire() + "处理，本次执行" + runs + "次");
+        }
+
+        //超过启动限流的推迟执行
+        StartThrottle throttle = this.startThrottle;
+        long startAt = runs > 0 && throttle != null ? throttle.reserve(this, now) : now;
+        int count = runs;
+        if (current.getType() == JobSchedule.Type.FIXED_DELAY) {
+            //执行结束（异步方法为返回的结果完成）或超时被放弃时提交下一次触发，只提交一次
+            AtomicBoolean rearmed = new AtomicBoolean();
+            Runnable rearm = () -> {
+                if (rearmed.compareAndSet(false, true)) {
+                    arm(gen, System.currentTimeMillis() + current.getInterval());
+                }
+            };
+            Runnable work = () -> {
+                try {
+                    execute(gen, planned, current, count, rearm);
+                } catch (RuntimeException | Error ex) {
+                    rearm.run();
+                    throw ex;
+                }
+            };
+            if (startAt > now) {
+                defer(gen, work, count, rearm, startAt);
+            } else {
+                submit(gen, work, count, rearm);
+            }
+        } else {
+            //先提交下一次触发，执行时间较长时下一次触发由并发策略处理
+            long next = current.nextAfter(planned);
+            if (next <= logicalNow) {
+                next = current.getType() == JobSchedule.Type.CRON ? current.getCron().next(logicalNow) :
+                        planned + ((logicalNow - planned) / current.getInterval() + 1) * current.getInterval();
+            }
+            arm(gen, next);
+            Runnable work = () -> execute(gen, planned, current, count, null);
+            if (startAt > now) {
+                defer(gen, work, count, null, startAt);
+            } else {
+                submit(gen, work, count, null);
+            }
+        }
+    }
+
+    private void defer(long gen, Runnable work, int runs, Runnable rejected, long startAt) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("------>任务" + this.id + "超过启动限流，推迟" + (startAt - System.currentTimeMillis()) + "ms执行");
+        }
+        this.scheduler.schedule(() -> submit(gen, work, runs, rejected), new Date(startAt));
+    }
+
+    /**
+     * 交给任务的执行线程池，没有设置线程池时在当前线程执行。线程池已满时本次跳过
+     * @param gen
+     * @param work
+     * @param runs 本次执行的次数，跳过时计入跳过数
+     * @param rejected 跳过时的回调，如固定延迟任务提交下一次触发
+     */
+    private void submit(long gen, Runnable work, int runs, Runnable rejected) {
+        if (gen != this.generation.get()) {
+            return;
+        }
+        PoolSelector selector = this.poolSelector;
+        Executor executor = runs > 0 && selector != null ? selector.select(this) : null;
+        if (executor == null) {
+            work.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                //排队期间重新排期或取消的不再执行
+                if (gen == this.generation.get()) {
+                    work.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.metrics.recordSkipped(runs);
+            logger.warn("------>任务" + this.id + "所在的线程池" + this.pool + "已满，跳过本次触发");
+            if (rejected != null) {
+                rejected.run();
+            }
+        }
+    }
+
+    /**
+     * 按并发策略执行runs次，全部结束（异步方法为返回的结果完成）或被跳过后调用onFinish
+     * @param onFinish 结束时的回调，如固定延迟任务提交下一次触发，可以为null
+     */
+    private void execute(long gen, long planned, JobSchedule current, int runs, Runnable onFinish) {
+        if (runs <= 0) {
+            finished(onFinish);
+            return;
+        }
+        ConcurrencyPolicy concurrency = current.getConcurrency();
+        if (concurrency == ConcurrencyPolicy.ALLOW_PARALLEL) {
+            this.running.incrementAndGet();
+            invokeHolding(new Permit(), gen, planned, runs, onFinish);
+        } else if (concurrency == ConcurrencyPolicy.SKIP) {
+            if (!this.running.compareAndSet(0, 1)) {
+                this.metrics.recordSkipped(1);
+                logger.warn("------>任务" + this.id + "上次执行尚未完成，跳过本次触发");
+                finished(onFinish);
+                return;
+            }
+            invokeHolding(new Permit(), gen, planned, runs, onFinish);
+        } else {
+            executeQueued(gen, planned, current, runs, onFinish);
+        }
+    }
+
+    /**
+     * 占用并发名额连续执行runs次，执行超时被放弃时名额已释放，不再继续。
+     * 同步方法在当前线程中循环执行，异步方法在上一次的结果完成后执行下一次
+     */
+    private void invokeHolding(Permit permit, long gen, long planned, int runs, Runnable onFinish) {
+        int remaining = runs;
+        while (remaining > 0 && !permit.isReleased()) {
+            CompletableFuture<Boolean> result = invoke(gen, planned, permit, onFinish);
+            remaining--;
+            if (!result.isDone()) {
+                int left = remaining;
+                result.whenComplete((success, ex) -> invokeHolding(permit, gen, planned, left, onFinish));
+                return;
+            }
+        }
+        permit.release();
+        finished(onFinish);
+    }
+
+    private void executeQueued(long gen, long planned, JobSchedule current, int runs, Runnable onFinish) {
+        if (!this.running.compareAndSet(0, 1)) {
+            addQueued(current, runs);
+            //正在执行的线程可能刚好在入队前结束，再尝试一次，失败则由正在执行的线程处理排队
+            if (!this.running.compareAndSet(0, 1)) {
+                finished(onFinish);
+                return;
+            }
+            if (!takeQueued()) {
+                this.running.decrementAndGet();
+                finished(onFinish);
+                return;
+            }
+        } else if (runs > 1) {
+            addQueued(current, runs - 1);
+        }
+        invokeQueued(gen, planned, onFinish);
+    }
+
+    /**
+     * 已获得并发名额，执行一次后继续执行排队的次数，直到排队为空或名额被其他线程取得
+     */
+    private void invokeQueued(long gen, long planned, Runnable onFinish) {
+        while (true) {
+            Permit permit = new Permit();
+            CompletableFuture<Boolean> result = invoke(gen, planned, permit, onFinish);
+            if (!result.isDone()) {
+                result.whenComplete((success, ex) -> {
+                    if (takeNextQueued(permit)) {
+                        invokeQueued(gen, planned, onFinish);
+                    } else {
+                        finished(onFinish);
+                    }
+                });
+                return;
+            }
+            if (!takeNextQueued(permit)) {
+                finished(onFinish);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 释放本次的名额，还有排队时重新获取名额并取出一次
+     * @param permit
+     * @return 是否继续执行
+     */
+    private boolean takeNextQueued(Permit permit) {
+        if (!permit.release()) {
+            //执行超时被放弃时名额已经释放，排队的执行由之后获得名额的线程处理
+            return false;
+        }
+        if (this.queued.get() == 0 || !this.running.compareAndSet(0, 1)) {
+            return false;
+        }
+        if (!takeQueued()) {
+            this.running.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private static void finished(Runnable onFinish) {
+        if (onFinish != null) {
+            onFinish.run();
+        }
+    }
+
+    private void addQueued(JobSchedule current, int runs) {
+        int max = Math.max(current.getMaxCatchUp(), 1);
+        int before = this.queued.getAndUpdate(q -> Math.min(q + runs, max));
+        int dropped = before + runs - max;
+        if (dropped > 0) {
+            this.metrics.recordSkipped(dropped);
+        }
+    }
+
+    private boolean takeQueued() {
+        while (true) {
+            int q = this.queued.get();
+            if (q == 0) {
+                return false;
+            }
+            if (this.queued.compareAndSet(q, q - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 作为任务流中的下游任务执行一次。上次执行尚未完成时，除ALLOW_PARALLEL外都跳过本次，不排队
+     * @param planned 根任务本次的计划执行时间
+     * @return 是否执行成功，跳过也视为未成功；异步方法在返回的结果完成时完成
+     */
+    CompletableFuture<Boolean> runInFlow(long planned) {
+        if (!this.enabled || this.paused) {
+            this.metrics.recordSkipped(1);
+            logger.warn("------>任务" + this.id + "未开启或已暂停，本次跳过");
+            return FAILED;
+        }
+        long gen = this.generation.get();
+        if (this.schedule.getConcurrency() == ConcurrencyPolicy.ALLOW_PARALLEL) {
+            this.running.incrementAndGet();
+        } else if (!this.running.compareAndSet(0, 1)) {
+            this.metrics.recordSkipped(1);
+            logger.warn("------>任务" + this.id + "上次执行尚未完成，跳过本次触发");
+            return FAILED;
+        }
+        Permit permit = new Permit();
+        CompletableFuture<Boolean> result = invoke(gen, planned, permit, null);
+        if (result.isDone()) {
+            permit.release();
+            return result;
+        }
+        return result.whenComplete((success, ex) -> permit.release());
+    }
+
+    /**
+     * 调用一次任务方法。同步方法返回已完成的结果；返回CompletionStage或ListenableFuture的异步方法
+     * 调用返回后立即释放当前线程，等返回的结果完成时再记录指标、执行历史并触发下游任务。
+     * 分片方法把各分片提交到分片线程池后即返回，按异步方法处理，所有分片结束时本次执行才结束
+     * @return 是否执行成功
+     */
+    private CompletableFuture<Boolean> invoke(long gen, long planned, Permit permit, Runnable onAbandon) {
+        Thread thread = Thread.currentThread();
+        this.runningThreads.put(thread, gen);
+        long startTime = System.currentTimeMillis();
+        long start = this.metrics.start();
+        long limit = this.timeout;
+        TimeoutWatchdog dog = this.watchdog;
+        Execution execution = null;
+        Object result = null;
+        Throwable error = null;
+        try {
+            //在try中开始看护，看护失败时同样移除执行线程并按执行失败结束，由调用方释放并发名额
+            if (limit > 0 && dog != null) {
+                Execution watched = new Execution(thread, planned, startTime, limit, permit, onAbandon);
+                watched.watch = dog.watch(limit, watched);
+                execution = watched;
+            }
+            result = this.partitionInvoker != null ? invokePartitions(planned) : this.runnable.call();
+        } catch (Throwable ex) {
+            error = ex;
+        } finally {
+            this.runningThreads.remove(thread);
+        }
+        CompletableFuture<?> pending = error == null && (this.async || this.partitionInvoker != null) ?
+                toFuture(result) : null;
+        if (pending == null) {
+            return complete(planned, start, startTime, execution, error) ? SUCCEEDED : FAILED;
+        }
+        this.pendingResults.put(pending, gen);
+        if (execution != null) {
+            execution.attach(pending);
+        }
+        Execution guarded = execution;
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        pending.whenComplete((value, ex) -> {
+            this.pendingResults.remove(pending);
+            done.complete(complete(planned, start, startTime, guarded, unwrap(ex)));
+        });
+        return done;
+    }
+
+    private CompletableFuture<Void> invokePartitions(long planned) {
+        Executor executor = this.partitionExecutor;
+        PartitionedRun run = new PartitionedRun(this, this.partitionInvoker, this.partitions, planned);
+        return run.start(executor != null ? executor : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 一次执行结束
+     * @return 是否执行成功
+     */
+    private boolean complete(long planned, long start, long startTime, Execution execution, Throwable error) {
+        if (execution != null) {
+            this.watchdog.cancel(execution.watch);
+            if (!execution.finish()) {
+                this.metrics.finish(start, false);
+                logger.warn("------>任务" + this.id + "超时被放弃后执行结束，耗时" +
+                        (System.currentTimeMillis() - startTime) + "ms");
+                return false;
+            }
+            if (execution.isTimedOut()) {
+                error = timeoutError(execution.timeout, error);
+            }
+        }
+        if (error != null) {
+            logger.error("------>任务" + this.id + "执行异常", error);
+        }
+        this.metrics.finish(start, error == null);
+        notifyExecuted(planned, startTime, System.currentTimeMillis(), error);
+        JobFlow current = this.flow;
+        if (current != null && current.getRoot() == this) {
+            if (error == null) {
+                current.start(planned);
+            } else {
+                logger.warn("------>任务" + this.id + "执行失败，下游任务本次不执行");
+            }
+        }
+        return error == null;
+    }
+
+    /**
+     * 把异步方法的返回值转换为CompletableFuture，返回null时按同步执行成功处理
+     */
+    @SuppressWarnings("unchecked")
+    static CompletableFuture<?> toFuture(Object result) {
+        if (result instanceof ListenableFuture) {
+            return ((ListenableFuture<Object>) result).completable();
+        }
+        if (result instanceof CompletionStage) {
+            CompletionStage<Object> stage = (CompletionStage<Object>) result;
+            try {
+                return stage.toCompletableFuture();
+            } catch (UnsupportedOperationException e) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                stage.whenComplete((value, ex) -> {
+                    if (ex != null) {
+                        future.completeExceptionally(ex);
+                    } else {
+                        future.complete(value);
+                    }
+                });
+                return future;
+            }
+        }
+        return null;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private void notifyExecuted(long planned, long startTime, long endTime, Throwable error) {
+        JobExecutionListener listener = this.executionListener;
+        if (listener != null) {
+            try {
+                listener.onExecuted(this, planned, startTime, endTime, error);
+            } catch (RuntimeException ex) {
+                logger.warn("------>任务" + this.id + "执行结果回调失败", ex);
+            }
+        }
+    }
+
+    private static TimeoutException timeoutError(long timeout, Throwable cause) {
+        TimeoutException error = new TimeoutException("Execution timed out after " + timeout + "ms");
+        if (cause != null) {
+            error.initCause(cause);
+        }
+        return error;
+    }
+
+    /**
+     * 一次执行占用的并发名额，正常结束或超时被放弃时释放，只释放一次
+     */
+    private final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        boolean release() {
+            if (this.released.compareAndSet(false, true)) {
+                running.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        boolean isReleased() {
+            return this.released.get();
+        }
+    }
+
+    /**
+     * 由看门狗看护的一次执行。同步方法超时时中断执行线程，异步方法超时时取消返回的结果
+     */
+    private final class Execution implements TimeoutWatchdog.Guarded {
+
+        private final Thread thread;
+
+        private final long planned;
+
+        private final long startTime;
+
+        private final long timeout;
+
+        private final Permit permit;
+
+        /**
+         * 放弃时的回调，如固定延迟任务提交下一次触发
+         */
+        private final Runnable onAbandon;
+
+        private TimeoutWatchdog.Watch watch;
+
+        /**
+         * 异步方法返回的结果，同步方法为null
+         */
+        private CompletableFuture<?> future;
+
+        private boolean timedOut;
+
+        private boolean abandoned;
+
+        private boolean finished;
+
+        Execution(Thread thread, long planned, long startTime, long timeout, Permit permit, Runnable onAbandon) {
+            this.thread = thread;
+            this.planned = planned;
+            this.startTime = startTime;
+            this.timeout = timeout;
+            this.permit = permit;
+            this.onAbandon = onAbandon;
+        }
+
+        @Override
+        public void timedOut() {
+            CompletableFuture<?> pending;
+            synchronized (this) {
+                if (this.finished) {
+                    return;
+                }
+                this.timedOut = true;
+                //先计数再中断，执行线程结束时超时次数已经可见
+                metrics.recordTimedOut();
+                pending = this.future;
+                if (pending == null) {
+                    this.thread.interrupt();
+                }
+            }
+            if (pending != null) {
+                logger.warn("------>任务" + id + "执行超过" + this.timeout + "ms，取消执行");
+                pending.cancel(true);
+            } else {
+                logger.warn("------>任务" + id + "执行超过" + this.timeout + "ms，中断执行线程" + this.thread.getName());
+            }
+        }
+
+        @Override
+        public void abandoned() {
+            synchronized (this) {
+                if (this.finished) {
+                    return;
+                }
+                this.abandoned = true;
+                if (this.future == null) {
+                    this.thread.interrupt();
+                }
+            }
+            Exception trace = new Exception("Stack trace of " + this.thread.getName());
+            trace.setStackTrace(this.thread.getStackTrace());
+            logger.error("------>任务" + id + "超时中断后" + watchdog.getGraceMillis() +
+                    "ms仍未结束，放弃等待并释放并发名额", trace);
+            this.permit.release();
+            long now = System.currentTimeMillis();
+            notifyExecuted(this.planned, this.startTime, now, timeoutError(this.timeout, null));
+            if (this.onAbandon != null) {
+                this.onAbandon.run();
+            }
+        }
+
+        /**
+         * 异步方法调用返回后，在调用线程中关联返回的结果；调用期间已经超时的，清除中断状态并取消结果
+         * @param future
+         */
+        void attach(CompletableFuture<?> future) {
+            boolean cancel;
+            synchronized (this) {
+                this.future = future;
+                cancel = this.timedOut;
+                if (cancel) {
+                    Thread.interrupted();
+                }
+            }
+            if (cancel) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * 执行结束时调用，同步方法清除看门狗设置的中断状态，避免影响该线程之后执行的任务
+         * @return 已被放弃时返回false
+         */
+        synchronized boolean finish() {
+            this.finished = true;
+            if (this.timedOut && this.future == null) {
+                Thread.interrupted();
+            }
+            return !this.abandoned;
+        }
+
+        synchronized boolean isTimedOut() {
+            return this.timedOut;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+
+    /**
+     * 单次触发
+     */
+    private class Fire implements Runnable {
+
+        private final long gen;
+
+        private final long planned;
+
+        Fire(long gen, long planned) {
+            this.gen = gen;
+            this.planned = planned;
+        }
+
+        @Override
+        public void run() {
+            fire(this.gen, this.planned);
+        }
+
+        @Override
+        public String toString() {
+            return JobTask.this.id;
+        }
+    }
+}
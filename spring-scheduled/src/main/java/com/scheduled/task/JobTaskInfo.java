@@ -0,0 +1,68 @@
+package com.scheduled.task;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Feinik
+ * @Discription 调度任务当前状态，供管理接口展示，时间为毫秒时间戳，0表示没有
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+@Getter
+public class JobTaskInfo {
+
+    private final String id;
+
+    private final String beanName;
+
+    private final String method;
+
+    private final JobSchedule.Type type;
+
+    private final String schedule;
+
+    private final boolean enabled;
+
+    private final boolean paused;
+
+    private final boolean local;
+
+    private final int inFlight;
+
+    private final long nextFireTime;
+
+    private final long lastFireTime;
+
+    private final Set<String> configKeys;
+
+    private final List<String> dependsOn;
+
+    private final String pool;
+
+    /**
+     * 分片数，非分片任务为1
+     */
+    private final int partitions;
+
+    public JobTaskInfo(JobTask task) {
+        JobSchedule current = task.getSchedule();
+        this.id = task.getId();
+        this.beanName = task.getBeanName();
+        this.method = task.getMethod().getName();
+        this.type = current == null ? null : current.getType();
+        this.schedule = current == null ? null : current.toString();
+        this.enabled = task.isEnabled();
+        this.paused = task.isPaused();
+        this.local = task.isLocal();
+        this.inFlight = task.getInFlight();
+        this.nextFireTime = task.getNextFireTime();
+        this.lastFireTime = task.getLastFireTime();
+        this.configKeys = task.getConfigKeys();
+        this.dependsOn = task.getDependsOn();
+        this.pool = task.getPool();
+        this.partitions = task.getPartitions();
+    }
+}
@@ -0,0 +1,104 @@
+package com.scheduled.task;
+
+import com.scheduled.config.ConfigType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Feinik
+ * @Discription 调度任务注册表，按任务id保存任务，并维护 配置key -> 任务id 的索引，
+ * 配置变化时只需重新排期受影响的任务
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobTaskRegistry {
+
+    private final Map<String, JobTask> tasks = new ConcurrentHashMap<>(64);
+
+    private final Map<String, Set<String>> keyIndex = new ConcurrentHashMap<>(64);
+
+    /**
+     * 注册任务，同一方法的任务已存在时返回已存在的任务
+     * @param task
+     * @return
+     * @throws IllegalStateException 不同的方法生成了相同的任务id，如同一个bean中重载的两个方法都加了注解
+     */
+    public JobTask register(JobTask task) {
+        JobTask existing = this.tasks.putIfAbsent(task.getId(), task);
+        if (existing != null) {
+            if (!existing.getMethod().equals(task.getMethod())) {
+                throw new IllegalStateException("Duplicate @JobScheduled task id '" + task.getId() + "' for methods " +
+                        existing.getMethod().toGenericString() + " and " + task.getMethod().toGenericString() +
+                        "; rename one of the overloaded methods");
+            }
+            return existing;
+        }
+        for (String key : task.getConfigKeys()) {
+            this.keyIndex.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(task.getId());
+        }
+        return task;
+    }
+
+    public JobTask get(String id) {
+        return this.tasks.get(id);
+    }
+
+    public Collection<JobTask> getTasks() {
+        return Collections.unmodifiableCollection(this.tasks.values());
+    }
+
+    /**
+     * 查找引用了指定配置key的任务
+     * @param configKeys
+     * @return
+     */
+    public Set<JobTask> getTasksByConfigKeys(Collection<String> configKeys) {
+        Set<JobTask> result = new LinkedHashSet<>();
+        for (String key : configKeys) {
+            Set<String> ids = this.keyIndex.get(key);
+            if (ids == null) {
+                continue;
+            }
+            for (String id : ids) {
+                JobTask task = this.tasks.get(id);
+                if (task != null) {
+                    result.add(task);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 配置key被任务引用的用途
+     * @param key
+     * @return
+     */
+    public Set<ConfigType> getConfigTypes(String key) {
+        Set<ConfigType> types = EnumSet.noneOf(ConfigType.class);
+        Set<String> ids = this.keyIndex.get(key);
+        if (ids != null) {
+            for (String id : ids) {
+                JobTask task = this.tasks.get(id);
+                if (task != null) {
+                    types.addAll(ConfigType.usages(task.getScheduled(), key));
+                }
+            }
+        }
+        return types;
+    }
+
+    public boolean isEmpty() {
+        return this.tasks.isEmpty();
+    }
+
+    public int size() {
+        return this.tasks.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.scheduled.task;
+
+/**
+ * @author Feinik
+ * @Discription 分片任务中单个分片的上下文，被JobScheduled注解的方法以它为唯一参数时，每次触发按partitions拆分为多个分片并行执行，
+ * 每个分片调用一次方法，方法按index和count只处理属于自己的那部分数据
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class PartitionContext {
+
+    private final int index;
+
+    private final int count;
+
+    private final long plannedTime;
+
+    public PartitionContext(int index, int count, long plannedTime) {
+        this.index = index;
+        this.count = count;
+        this.plannedTime = plannedTime;
+    }
+
+    /**
+     * 分片序号，从0开始
+     * @return
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * 本次触发的分片总数
+     * @return
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * 本次触发的计划执行时间
+     * @return
+     */
+    public long getPlannedTime() {
+        return this.plannedTime;
+    }
+
+    /**
+     * 按id取模判断数据是否属于当前分片，如 WHERE MOD(id, count) = index
+     * @param id
+     * @return
+     */
+    public boolean owns(long id) {
+        return Math.floorMod(id, (long) this.count) == this.index;
+    }
+
+    @Override
+    public String toString() {
+        return this.index + "/" + this.count;
+    }
+}
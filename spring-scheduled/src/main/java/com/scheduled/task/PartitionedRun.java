@@ -0,0 +1,173 @@
+package com.scheduled.task;
+
+import com.scheduled.invoker.PartitionInvoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @author Feinik
+ * @Discription 分片任务的一次触发：每个分片提交到分片线程池执行一次任务方法，所有分片都结束后本次触发才结束，
+ * 任一分片失败时本次触发失败，其余分片照常执行完。每个分片单独记录耗时；本次触发被取消（如超时）时中断仍在执行的分片，
+ * 不再执行尚未开始的分片，等已开始的分片都结束后本次触发才以取消结束，期间仍占用任务的并发名额
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+final class PartitionedRun {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedRun.class);
+
+    private final JobTask task;
+
+    private final PartitionInvoker invoker;
+
+    private final int count;
+
+    private final long planned;
+
+    /**
+     * 正在执行各分片的线程，未开始或已结束时为null
+     */
+    private final Thread[] threads;
+
+    private boolean cancelled;
+
+    PartitionedRun(JobTask task, PartitionInvoker invoker, int count, long planned) {
+        this.task = task;
+        this.invoker = invoker;
+        this.count = count;
+        this.planned = planned;
+        this.threads = new Thread[count];
+    }
+
+    /**
+     * 提交所有分片
+     * @param executor
+     * @return 所有分片都结束时完成，有分片失败时以其中一个分片的异常完成，被取消时以CancellationException完成
+     */
+    CompletableFuture<Void> start(Executor executor) {
+        CompletableFuture<Void> result = new Result();
+        CompletableFuture<?>[] slices = new CompletableFuture<?>[this.count];
+        for (int i = 0; i < this.count; i++) {
+            slices[i] = submit(new PartitionContext(i, this.count, this.planned), executor);
+        }
+        CompletableFuture.allOf(slices).whenComplete((value, ex) -> {
+            if (isCancelled()) {
+                result.completeExceptionally(new CancellationException());
+            } else if (ex != null) {
+                result.completeExceptionally(JobTask.unwrap(ex));
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Object> submit(PartitionContext context, Executor executor) {
+        CompletableFuture<Object> slice = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(context, slice));
+        } catch (RejectedExecutionException e) {
+            logger.warn("------>任务" + this.task.getId() + "的分片" + context + "提交执行失败");
+            slice.completeExceptionally(e);
+        }
+        return slice;
+    }
+
+    private void run(PartitionContext context, CompletableFuture<Object> slice) {
+        int index = context.getIndex();
+        if (!started(index)) {
+            slice.cancel(false);
+            return;
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = this.invoker.invoke(context);
+        } catch (Throwable ex) {
+            finished(index);
+            Throwable error = ex instanceof RuntimeException || ex instanceof Error ? ex :
+                    new UndeclaredThrowableException(ex);
+            finish(context, start, error);
+            slice.completeExceptionally(error);
+            return;
+        }
+        finished(index);
+        CompletableFuture<?> pending = JobTask.toFuture(result);
+        if (pending == null) {
+            finish(context, start, null);
+            slice.complete(result);
+            return;
+        }
+        pending.whenComplete((value, ex) -> {
+            Throwable error = JobTask.unwrap(ex);
+            finish(context, start, error);
+            if (error != null) {
+                slice.completeExceptionally(error);
+            } else {
+                slice.complete(value);
+            }
+        });
+    }
+
+    private void finish(PartitionContext context, long startNanos, Throwable error) {
+        long nanos = System.nanoTime() - startNanos;
+        this.task.getMetrics().recordPartition(context.getIndex(), nanos, error == null);
+        if (error != null) {
+            logger.error("------>任务" + this.task.getId() + "的分片" + context + "执行异常", error);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("------>任务" + this.task.getId() + "的分片" + context + "执行完成，耗时" + nanos / 1_000_000 + "ms");
+        }
+    }
+
+    private synchronized boolean started(int index) {
+        if (this.cancelled) {
+            return false;
+        }
+        this.threads[index] = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * 分片方法返回后调用，清除取消时可能设置的中断状态，避免影响线程池中该线程之后执行的任务
+     */
+    private synchronized void finished(int index) {
+        this.threads[index] = null;
+        if (this.cancelled) {
+            Thread.interrupted();
+        }
+    }
+
+    private synchronized void cancel() {
+        this.cancelled = true;
+        for (Thread thread : this.threads) {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * 取消时只中断分片，等所有分片结束后再完成
+     */
+    private final class Result extends CompletableFuture<Void> {
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            PartitionedRun.this.cancel();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.scheduled.task;
+
+import java.util.concurrent.Executor;
+
+/**
+ * @author Feinik
+ * @Discription 为任务选择执行线程池，任务到期后由调度线程交给选出的线程池执行，实现舱壁隔离
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface PoolSelector {
+
+    /**
+     * @param task
+     * @return 执行该任务的线程池，返回null时直接在调度线程中执行
+     */
+    Executor select(JobTask task);
+}
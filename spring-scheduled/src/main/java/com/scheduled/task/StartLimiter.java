@@ -0,0 +1,93 @@
+package com.scheduled.task;
+
+import com.scheduled.config.ConfigValue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Feinik
+ * @Discription 每个时间窗口最多启动permits次的限流器，按GCRA（通用信元速率算法）实现：
+ * 窗口内的前permits次立即启动，之后的启动按 窗口/permits 的间隔依次推迟，不会在下个窗口开始时再次集中启动。
+ * 无锁，只维护一个理论到达时间
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class StartLimiter {
+
+    private final int permits;
+
+    private final long window;
+
+    /**
+     * 两次启动之间的平均间隔
+     */
+    private final long interval;
+
+    /**
+     * 允许的突发量对应的时间
+     */
+    private final long tolerance;
+
+    /**
+     * 理论到达时间
+     */
+    private final AtomicLong tat = new AtomicLong();
+
+    public StartLimiter(int permits, long window) {
+        if (permits <= 0 || window <= 0) {
+            throw new IllegalArgumentException("permits and window must be positive");
+        }
+        this.permits = permits;
+        this.window = window;
+        this.interval = Math.max(window / permits, 1);
+        this.tolerance = window - this.interval;
+    }
+
+    /**
+     * 解析 次数/时长 格式的限流配置，如 20/1s
+     * @param text
+     * @return
+     */
+    public static StartLimiter parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash <= 0) {
+            throw new IllegalArgumentException("Invalid start limit \"" + text + "\" - expected permits/window like 20/1s");
+        }
+        int permits;
+        try {
+            permits = Integer.parseInt(text.substring(0, slash).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid start limit \"" + text + "\" - expected permits/window like 20/1s");
+        }
+        long window = ConfigValue.parseDuration(text.substring(slash + 1), "start limit window");
+        return new StartLimiter(permits, window);
+    }
+
+    /**
+     * 预留一次启动
+     * @param now
+     * @return 可以启动的时间
+     */
+    public long reserve(long now) {
+        while (true) {
+            long current = this.tat.get();
+            long base = Math.max(current, now);
+            if (this.tat.compareAndSet(current, base + this.interval)) {
+                return Math.max(now, base - this.tolerance);
+            }
+        }
+    }
+
+    public int getPermits() {
+        return this.permits;
+    }
+
+    public long getWindow() {
+        return this.window;
+    }
+
+    @Override
+    public String toString() {
+        return this.permits + "/" + this.window + "ms";
+    }
+}
@@ -0,0 +1,18 @@
+package com.scheduled.task;
+
+/**
+ * @author Feinik
+ * @Discription 任务启动限流，超过限制的启动不丢弃，而是推迟到可以启动的时间
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public interface StartThrottle {
+
+    /**
+     * 为任务预留一次启动
+     * @param task
+     * @param now 当前时间
+     * @return 可以启动的时间，不限流时为now
+     */
+    long reserve(JobTask task, long now);
+}
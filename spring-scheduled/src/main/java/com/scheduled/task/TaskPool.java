@@ -0,0 +1,142 @@
+package com.scheduled.task;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Feinik
+ * @Discription 一组任务独占的执行线程池，线程数、排队上限和线程优先级独立配置，线程和队列都用满时拒绝提交。
+ * 配置变化时只改线程数的直接调整，排队上限或优先级变化时换一个新的线程池，旧线程池中已提交的任务照常执行完
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TaskPool implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPool.class);
+
+    private final String name;
+
+    private volatile TaskPoolSpec spec;
+
+    private volatile ThreadPoolExecutor executor;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public TaskPool(String name, TaskPoolSpec spec) {
+        this.name = name;
+        this.spec = spec;
+        this.executor = create(spec);
+    }
+
+    private ThreadPoolExecutor create(TaskPoolSpec spec) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pool-" + this.name + "-");
+        threadFactory.setThreadPriority(spec.getPriority());
+        BlockingQueue<Runnable> queue = spec.getQueue() > 0 ? new ArrayBlockingQueue<>(spec.getQueue()) :
+                new SynchronousQueue<>();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(spec.getSize(), spec.getSize(), 60, TimeUnit.SECONDS,
+                queue, threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public TaskPoolSpec getSpec() {
+        return this.spec;
+    }
+
+    /**
+     * @param task
+     * @throws RejectedExecutionException 线程和队列都已用满
+     */
+    @Override
+    public void execute(Runnable task) {
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            throw e;
+        }
+    }
+
+    public synchronized void reconfigure(TaskPoolSpec spec) {
+        TaskPoolSpec current = this.spec;
+        if (current.equals(spec)) {
+            return;
+        }
+        if (current.getQueue() == spec.getQueue() && current.getPriority() == spec.getPriority()) {
+            if (spec.getSize() > current.getSize()) {
+                this.executor.setMaximumPoolSize(spec.getSize());
+                this.executor.setCorePoolSize(spec.getSize());
+            } else {
+                this.executor.setCorePoolSize(spec.getSize());
+                this.executor.setMaximumPoolSize(spec.getSize());
+            }
+        } else {
+            ThreadPoolExecutor previous = this.executor;
+            this.executor = create(spec);
+            previous.shutdown();
+        }
+        this.spec = spec;
+        logger.info("------>任务线程池" + this.name + "配置变更：" + current + " -> " + spec);
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    public Status getStatus() {
+        ThreadPoolExecutor executor = this.executor;
+        TaskPoolSpec spec = this.spec;
+        Status status = new Status();
+        status.name = this.name;
+        status.size = spec.getSize();
+        status.queueCapacity = spec.getQueue();
+        status.priority = spec.getPriority();
+        status.threads = executor.getPoolSize();
+        status.active = executor.getActiveCount();
+        status.queued = executor.getQueue().size();
+        status.completed = executor.getCompletedTaskCount();
+        status.rejected = this.rejected.sum();
+        //线程和队列的占用比例，达到1时新的提交会被拒绝
+        status.saturation = (double) (status.active + status.queued) / (spec.getSize() + spec.getQueue());
+        return status;
+    }
+
+    @Getter
+    public static class Status {
+
+        private String name;
+
+        private int size;
+
+        private int queueCapacity;
+
+        private int priority;
+
+        private int threads;
+
+        private int active;
+
+        private int queued;
+
+        private long completed;
+
+        private long rejected;
+
+        private double saturation;
+    }
+}
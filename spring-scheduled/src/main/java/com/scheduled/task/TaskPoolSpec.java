@@ -0,0 +1,111 @@
+package com.scheduled.task;
+
+import java.util.Objects;
+
+/**
+ * @author Feinik
+ * @Discription 任务线程池配置，格式为逗号分隔的 名称=值，如 size=4,queue=100,priority=3，未指定的项取默认值：
+ * size为线程数（默认10），queue为排队上限（默认1000，0表示不排队），priority为线程优先级（1-10，默认5）
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public final class TaskPoolSpec {
+
+    public static final TaskPoolSpec DEFAULT = new TaskPoolSpec(10, 1000, Thread.NORM_PRIORITY);
+
+    private final int size;
+
+    private final int queue;
+
+    private final int priority;
+
+    public TaskPoolSpec(int size, int queue, int priority) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        if (queue < 0) {
+            throw new IllegalArgumentException("Pool queue must not be negative");
+        }
+        if (priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY) {
+            throw new IllegalArgumentException("Pool priority must be between 1 and 10");
+        }
+        this.size = size;
+        this.queue = queue;
+        this.priority = priority;
+    }
+
+    public static TaskPoolSpec parse(String text) {
+        int size = DEFAULT.size;
+        int queue = DEFAULT.queue;
+        int priority = DEFAULT.priority;
+        for (String item : text.split(",")) {
+            if (item.trim().isEmpty()) {
+                continue;
+            }
+            int eq = item.indexOf('=');
+            if (eq <= 0) {
+                throw invalid(text);
+            }
+            String name = item.substring(0, eq).trim();
+            int value;
+            try {
+                value = Integer.parseInt(item.substring(eq + 1).trim());
+            } catch (NumberFormatException e) {
+                throw invalid(text);
+            }
+            switch (name) {
+                case "size":
+                    size = value;
+                    break;
+                case "queue":
+                    queue = value;
+                    break;
+                case "priority":
+                    priority = value;
+                    break;
+                default:
+                    throw invalid(text);
+            }
+        }
+        return new TaskPoolSpec(size, queue, priority);
+    }
+
+    private static IllegalArgumentException invalid(String text) {
+        return new IllegalArgumentException("Invalid pool config \"" + text +
+                "\" - expected items like size=4,queue=100,priority=5");
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getQueue() {
+        return this.queue;
+    }
+
+    public int getPriority() {
+        return this.priority;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskPoolSpec)) {
+            return false;
+        }
+        TaskPoolSpec that = (TaskPoolSpec) o;
+        return this.size == that.size && this.queue == that.queue && this.priority == that.priority;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.size, this.queue, this.priority);
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + this.size + ",queue=" + this.queue + ",priority=" + this.priority;
+    }
+}
@@ -0,0 +1,178 @@
+package com.scheduled.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Feinik
+ * @Discription 所有任务共用的执行超时看门狗：正在执行的任务按截止时间排序放在跳表中，
+ * 由一个线程等待最早的截止时间。到期时先通知超时（由任务中断执行线程），
+ * 再过graceMillis仍未结束的通知放弃（由任务释放并发名额等）。正常结束时从跳表中移除，插入和移除都是O(log n)
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TimeoutWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutWatchdog.class);
+
+    /**
+     * 被看护的一次执行
+     */
+    public interface Guarded {
+
+        /**
+         * 执行超过了超时时间
+         */
+        void timedOut();
+
+        /**
+         * 超时后又过了graceMillis仍未结束
+         */
+        void abandoned();
+    }
+
+    private final long graceMillis;
+
+    private final ConcurrentSkipListMap<Watch, Guarded> watches = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile Thread thread;
+
+    private volatile boolean running = true;
+
+    public TimeoutWatchdog(long graceMillis) {
+        this.graceMillis = graceMillis;
+    }
+
+    public long getGraceMillis() {
+        return this.graceMillis;
+    }
+
+    /**
+     * 当前看护中的执行数
+     * @return
+     */
+    public int size() {
+        return this.watches.size();
+    }
+
+    /**
+     * 开始看护一次执行，执行结束时必须调用{@link #cancel(Watch)}
+     * @param timeoutMillis
+     * @param guarded
+     * @return
+     */
+    public Watch watch(long timeoutMillis, Guarded guarded) {
+        Watch watch = new Watch(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis),
+                this.sequence.incrementAndGet(), guarded);
+        this.watches.put(watch, guarded);
+        Thread current = this.thread;
+        if (current == null) {
+            try {
+                current = start();
+            } catch (RuntimeException | Error ex) {
+                this.watches.remove(watch);
+                throw ex;
+            }
+        }
+        //看门狗线程可能刚好取出了唯一一项，跳表为空
+        Map.Entry<Watch, Guarded> first = this.watches.firstEntry();
+        if (first != null && first.getKey() == watch) {
+            //新的截止时间最早，唤醒看门狗重新计算等待时间
+            LockSupport.unpark(current);
+        }
+        return watch;
+    }
+
+    public void cancel(Watch watch) {
+        watch.finished = true;
+        this.watches.remove(watch);
+    }
+
+    private synchronized Thread start() {
+        if (this.thread == null) {
+            Thread thread = new Thread(this::loop, "job-timeout-watchdog");
+            thread.setDaemon(true);
+            thread.start();
+            this.thread = thread;
+        }
+        return this.thread;
+    }
+
+    public void stop() {
+        this.running = false;
+        Thread current = this.thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void loop() {
+        while (this.running) {
+            Map.Entry<Watch, Guarded> first = this.watches.firstEntry();
+            if (first == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            Watch watch = first.getKey();
+            long delay = watch.deadline - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+                continue;
+            }
+            if (this.watches.remove(watch) == null || watch.finished) {
+                continue;
+            }
+            try {
+                if (!watch.expired) {
+                    watch.expired = true;
+                    watch.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.graceMillis);
+                    this.watches.put(watch, watch.guarded);
+                    watch.guarded.timedOut();
+                } else {
+                    watch.guarded.abandoned();
+                }
+            } catch (Throwable ex) {
+                logger.error("------>处理任务执行超时异常", ex);
+            }
+        }
+    }
+
+    /**
+     * 跳表中的一项，按截止时间排序，截止时间相同时按创建顺序
+     */
+    public static final class Watch implements Comparable<Watch> {
+
+        /**
+         * 只在不在跳表中时由看门狗线程修改
+         */
+        private volatile long deadline;
+
+        private final long seq;
+
+        private final Guarded guarded;
+
+        private volatile boolean expired;
+
+        private volatile boolean finished;
+
+        Watch(long deadline, long seq, Guarded guarded) {
+            this.deadline = deadline;
+            this.seq = seq;
+            this.guarded = guarded;
+        }
+
+        @Override
+        public int compareTo(Watch other) {
+            int result = Long.compare(this.deadline - other.deadline, 0);
+            return result != 0 ? result : Long.compare(this.seq, other.seq);
+        }
+    }
+}
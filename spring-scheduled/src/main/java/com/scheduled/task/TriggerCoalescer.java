@@ -0,0 +1,223 @@
+package com.scheduled.task;
+
+import com.scheduled.cron.CompiledCron;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * @author Feinik
+ * @Discription 合并相同cron（表达式和时区都相同，即同一个CompiledCron实例）任务的触发：同一组任务只向调度器提交一个触发，
+ * 到期时一次唤醒把该组中到期的任务批量交给执行线程池。每个任务仍然保留自己的计划执行时间，错过触发、并发策略等照常按任务处理
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TriggerCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TriggerCoalescer.class);
+
+    private final Map<CompiledCron, Group> groups = new ConcurrentHashMap<>(64);
+
+    /**
+     * 任务 -> 当前所在的组
+     */
+    private final Map<JobTask, Group> membership = new ConcurrentHashMap<>(256);
+
+    void add(JobTask task, CompiledCron cron, long gen, long planned, long fireAt, TaskScheduler scheduler) {
+        Group group = this.groups.computeIfAbsent(cron, Group::new);
+        while (!group.add(task, gen, planned, fireAt, scheduler)) {
+            //组在最后一个任务离开时已经移除，重新创建
+            this.groups.remove(cron, group);
+            group = this.groups.computeIfAbsent(cron, Group::new);
+        }
+        Group previous = this.membership.put(task, group);
+        if (previous != null && previous != group) {
+            leave(previous, task);
+        }
+    }
+
+    void remove(JobTask task) {
+        Group group = this.membership.remove(task);
+        if (group != null) {
+            leave(group, task);
+        }
+    }
+
+    private void leave(Group group, JobTask task) {
+        if (group.remove(task)) {
+            this.groups.remove(group.cron, group);
+        }
+    }
+
+    /**
+     * 当前有任务的组数，即提交到调度器中的触发数
+     * @return
+     */
+    public int getGroupCount() {
+        int count = 0;
+        for (Group group : this.groups.values()) {
+            if (group.size() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getMemberCount() {
+        return this.membership.size();
+    }
+
+    /**
+     * 保留的组数，包括刚唤醒、任务尚未重新加入的空组
+     * @return
+     */
+    int getRetainedGroupCount() {
+        return this.groups.size();
+    }
+
+    private static Executor executorOf(TaskScheduler scheduler) {
+        if (scheduler instanceof Executor) {
+            return (Executor) scheduler;
+        }
+        return task -> scheduler.schedule(task, new Date());
+    }
+
+    private static final class Member {
+
+        private final long gen;
+
+        private final long planned;
+
+        /**
+         * 实际触发时间，设置了分散范围时晚于计划时间
+         */
+        private final long fireAt;
+
+        Member(long gen, long planned, long fireAt) {
+            this.gen = gen;
+            this.planned = planned;
+            this.fireAt = fireAt;
+        }
+    }
+
+    /**
+     * 同一个cron的任务组
+     */
+    private static final class Group {
+
+        private final CompiledCron cron;
+
+        private final Map<JobTask, Member> members = new HashMap<>();
+
+        private TaskScheduler scheduler;
+
+        private ScheduledFuture<?> future;
+
+        private long armedTime;
+
+        /**
+         * 最后一个任务离开后组被移除，不再接受任务
+         */
+        private boolean removed;
+
+        Group(CompiledCron cron) {
+            this.cron = cron;
+        }
+
+        /**
+         * @return 组已被移除时返回false
+         */
+        synchronized boolean add(JobTask task, long gen, long planned, long fireAt, TaskScheduler scheduler) {
+            if (this.removed) {
+                return false;
+            }
+            this.members.put(task, new Member(gen, planned, fireAt));
+            this.scheduler = scheduler;
+            if (this.future == null || fireAt < this.armedTime) {
+                arm(fireAt);
+            }
+            return true;
+        }
+
+        /**
+         * @return 最后一个任务离开，组需要移除时返回true
+         */
+        synchronized boolean remove(JobTask task) {
+            this.members.remove(task);
+            if (!this.members.isEmpty() || this.removed) {
+                return false;
+            }
+            if (this.future != null) {
+                this.future.cancel(false);
+                this.future = null;
+            }
+            this.removed = true;
+            return true;
+        }
+
+        synchronized int size() {
+            return this.members.size();
+        }
+
+        private void arm(long time) {
+            if (this.future != null) {
+                this.future.cancel(false);
+            }
+            this.armedTime = time;
+            this.future = this.scheduler.schedule(() -> wakeup(time), new Date(time));
+        }
+
+        private void wakeup(long time) {
+            List<JobTask> tasks = new ArrayList<>();
+            List<Member> due = new ArrayList<>();
+            TaskScheduler target;
+            synchronized (this) {
+                if (this.future == null || time != this.armedTime) {
+                    //已经重新提交了更早的触发，或组已清空
+                    return;
+                }
+                this.future = null;
+                long next = Long.MAX_VALUE;
+                for (Iterator<Map.Entry<JobTask, Member>> it = this.members.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<JobTask, Member> entry = it.next();
+                    Member member = entry.getValue();
+                    if (member.fireAt <= time) {
+                        tasks.add(entry.getKey());
+                        due.add(member);
+                        it.remove();
+                    } else if (member.fireAt < next) {
+                        next = member.fireAt;
+                    }
+                }
+                if (next != Long.MAX_VALUE) {
+                    arm(next);
+                }
+                target = this.scheduler;
+            }
+            Executor executor = executorOf(target);
+            for (int i = 0; i < tasks.size(); i++) {
+                JobTask task = tasks.get(i);
+                Member member = due.get(i);
+                try {
+                    executor.execute(() -> task.fire(member.gen, member.planned));
+                } catch (RejectedExecutionException e) {
+                    logger.warn("------>任务" + task.getId() + "提交执行失败：" + e.getMessage());
+                }
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("------>cron[" + this.cron + "]一次唤醒触发了" + tasks.size() + "个任务");
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- 调度任务配置表
+-- update_time 用于增量检查配置变化(scheduled.config.delta=true)，由MySQL在插入及更新时自动维护
+-- 增量查询读不到被删除的行，删除在每 scheduled.config.full-scan-every 次轮询一次的全量比较时生效
+CREATE TABLE IF NOT EXISTS data_config (
+  config_key   VARCHAR(128) NOT NULL PRIMARY KEY,
+  config_value VARCHAR(512) NOT NULL,
+  update_time  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  KEY idx_update_time (update_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 已有表升级
+-- ALTER TABLE data_config
+--   ADD COLUMN update_time TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+--   ADD KEY idx_update_time (update_time);
+
+INSERT INTO data_config (config_key, config_value) VALUES ('job1_cron', '0/30 * * * * ?');
+INSERT INTO data_config (config_key, config_value) VALUES ('job1_enable', 'true');
+INSERT INTO data_config (config_key, config_value) VALUES ('job2_cron', '0/10 * * * * ?');
+INSERT INTO data_config (config_key, config_value) VALUES ('job2_enable', 'true');
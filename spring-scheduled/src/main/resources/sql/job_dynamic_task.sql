@@ -0,0 +1,13 @@
+-- 动态任务表(scheduled.dynamic.enabled=true)，每行以params调用名为handler的DynamicJobHandler bean
+-- trigger_expr 为cron表达式，或固定频率的间隔如30s、5m
+-- 删除请把deleted置为1，增量读取只能通过update_time感知变化，物理删除的行在重启前不会从调度中移除
+CREATE TABLE IF NOT EXISTS job_dynamic_task (
+  id           BIGINT        NOT NULL PRIMARY KEY,
+  handler      VARCHAR(128)  NOT NULL,
+  params       VARCHAR(2048) NULL,
+  trigger_expr VARCHAR(128)  NOT NULL,
+  enabled      TINYINT(1)    NOT NULL DEFAULT 1,
+  deleted      TINYINT(1)    NOT NULL DEFAULT 0,
+  update_time  TIMESTAMP(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  KEY idx_update_time (update_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,12 @@
+-- 任务执行历史表(scheduled.history.enabled=true)，由写线程批量插入
+CREATE TABLE IF NOT EXISTS job_execution_log (
+  id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  task_id      VARCHAR(255) NOT NULL,
+  node_id      VARCHAR(128) NOT NULL,
+  planned_time TIMESTAMP(3) NULL,
+  start_time   TIMESTAMP(3) NOT NULL,
+  end_time     TIMESTAMP(3) NOT NULL,
+  success      TINYINT(1)   NOT NULL,
+  error        VARCHAR(512) NULL,
+  KEY idx_task_id (task_id, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,6 @@
+-- 集群成员表(scheduled.cluster.enabled=true)，各节点定时写入心跳，心跳过期的节点不再分配任务
+CREATE TABLE IF NOT EXISTS job_node (
+  node_id        VARCHAR(128) NOT NULL PRIMARY KEY,
+  heartbeat_time TIMESTAMP(3) NOT NULL,
+  start_time     TIMESTAMP(3) NOT NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
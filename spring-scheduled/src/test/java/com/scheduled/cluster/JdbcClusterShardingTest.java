@@ -0,0 +1,169 @@
+package com.scheduled.cluster;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription JdbcClusterSharding 在H2内存库上的加入、过期、清理和成员变化回调。
+ * 心跳只在测试调用check时发生，当前节点自己的心跳时间由测试控制的时钟决定
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JdbcClusterShardingTest {
+
+    private static final long EXPIRE = 30_000;
+
+    private static final String DDL = "CREATE TABLE job_node (node_id VARCHAR(128) NOT NULL PRIMARY KEY, " +
+            "heartbeat_time TIMESTAMP(3) NOT NULL, start_time TIMESTAMP(3) NOT NULL)";
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<JdbcClusterSharding> started = new ArrayList<>();
+
+    private JdbcTemplate template;
+
+    @Before
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:cluster" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+        this.template = new JdbcTemplate(dataSource);
+        this.template.execute(DDL);
+    }
+
+    @After
+    public void tearDown() {
+        for (JdbcClusterSharding sharding : this.started) {
+            sharding.stop();
+        }
+        this.template.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void joiningNodeIsSeenOnTheNextHeartbeat() {
+        List<List<String>> changes = new CopyOnWriteArrayList<>();
+        JdbcClusterSharding a = start("node-a", changes::add);
+        assertEquals(Collections.singletonList("node-a"), a.getNodes());
+        assertTrue(a.isLocal("bean.job"));
+
+        JdbcClusterSharding b = start("node-b", nodes -> {
+        });
+        assertEquals(Arrays.asList("node-a", "node-b"), b.getNodes());
+        assertTrue(changes.isEmpty());
+
+        a.check();
+        assertEquals(Collections.singletonList(Arrays.asList("node-a", "node-b")), changes);
+        for (int i = 0; i < 100; i++) {
+            assertTrue("exactly one owner", a.isLocal("bean.job" + i) != b.isLocal("bean.job" + i));
+        }
+
+        a.check();
+        assertEquals("unchanged membership is not reported", 1, changes.size());
+    }
+
+    @Test
+    public void stoppedNodeLeavesImmediately() {
+        List<List<String>> changes = new CopyOnWriteArrayList<>();
+        JdbcClusterSharding a = start("node-a", changes::add);
+        JdbcClusterSharding b = start("node-b", nodes -> {
+        });
+        a.check();
+        b.stop();
+        a.check();
+        assertEquals(Collections.singletonList("node-a"), changes.get(changes.size() - 1));
+        assertEquals(0, count("node-b"));
+    }
+
+    @Test
+    public void expiredNodesAreDroppedAndPurgedLater() {
+        long now = System.currentTimeMillis();
+        insert("node-expired", now - 2 * EXPIRE);
+        insert("node-ancient", now - 20 * EXPIRE);
+        insert("node-live", now);
+        JdbcClusterSharding a = start("node-a", nodes -> {
+        });
+        assertEquals(Arrays.asList("node-a", "node-live"), a.getNodes());
+        assertEquals("expired node is kept until the purge age", 1, count("node-expired"));
+        assertEquals(0, count("node-ancient"));
+    }
+
+    @Test
+    public void failedJoinRunsNothingUntilHeartbeatSucceeds() {
+        this.template.execute("DROP TABLE job_node");
+        List<List<String>> changes = new CopyOnWriteArrayList<>();
+        JdbcClusterSharding a = start("node-a", changes::add);
+        assertFalse(a.isAlive());
+        assertFalse("no fallback to running every task", a.isLocal("bean.job"));
+
+        this.template.execute(DDL);
+        a.check();
+        assertTrue(a.isAlive());
+        assertTrue(a.isLocal("bean.job"));
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    public void ownHeartbeatExpiryStopsLocalTasksUntilItRecovers() {
+        List<List<String>> changes = new CopyOnWriteArrayList<>();
+        JdbcClusterSharding a = start("node-a", changes::add);
+        assertTrue(a.isLocal("bean.job"));
+
+        this.template.execute("DROP TABLE job_node");
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(EXPIRE / 2));
+        a.check();
+        assertTrue("still within the expire time", a.isLocal("bean.job"));
+        assertTrue(changes.isEmpty());
+
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(EXPIRE));
+        assertFalse(a.isLocal("bean.job"));
+        a.check();
+        assertEquals("expiry is reported so local tasks are removed", 1, changes.size());
+        a.check();
+        assertEquals(1, changes.size());
+
+        this.template.execute(DDL);
+        a.check();
+        assertTrue(a.isLocal("bean.job"));
+        assertEquals(2, changes.size());
+    }
+
+    private JdbcClusterSharding start(String nodeId, ShardingListener listener) {
+        JdbcClusterSharding sharding = new JdbcClusterSharding(this.template, nodeId, TimeUnit.HOURS.toMillis(1), EXPIRE) {
+            @Override
+            long nanoTime() {
+                return clock.get();
+            }
+        };
+        sharding.start(listener);
+        this.started.add(sharding);
+        return sharding;
+    }
+
+    private void insert(String nodeId, long heartbeatTime) {
+        this.template.update("INSERT INTO job_node (node_id, heartbeat_time, start_time) VALUES (?, ?, ?)",
+                nodeId, new Timestamp(heartbeatTime), new Timestamp(heartbeatTime));
+    }
+
+    private int count(String nodeId) {
+        return this.template.queryForObject("SELECT COUNT(*) FROM job_node WHERE node_id = ?", Integer.class, nodeId);
+    }
+}
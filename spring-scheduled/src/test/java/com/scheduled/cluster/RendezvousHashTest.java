@@ -0,0 +1,81 @@
+package com.scheduled.cluster;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription RendezvousHash 的归属稳定，节点增减时只移动相关节点的任务
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class RendezvousHashTest {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    public void ownerDoesNotDependOnNodeOrder() {
+        RendezvousHash hash = RendezvousHash.of(Arrays.asList("node-a", "node-b", "node-c"));
+        RendezvousHash reordered = RendezvousHash.of(Arrays.asList("node-c", "node-a", "node-b", "node-a"));
+        assertEquals(Arrays.asList("node-a", "node-b", "node-c"), reordered.getNodes());
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(hash.owner(key(i)), reordered.owner(key(i)));
+        }
+    }
+
+    @Test
+    public void onlyKeysOfTheLeavingNodeMove() {
+        RendezvousHash before = RendezvousHash.of(Arrays.asList("node-a", "node-b", "node-c"));
+        RendezvousHash after = RendezvousHash.of(Arrays.asList("node-a", "node-c"));
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = before.owner(key(i));
+            if (owner.equals("node-b")) {
+                moved++;
+            } else {
+                assertEquals(owner, after.owner(key(i)));
+            }
+        }
+        assertTrue(moved > 0);
+    }
+
+    @Test
+    public void joiningNodeOnlyTakesKeys() {
+        RendezvousHash before = RendezvousHash.of(Arrays.asList("node-a", "node-b"));
+        RendezvousHash after = RendezvousHash.of(Arrays.asList("node-a", "node-b", "node-c"));
+        for (int i = 0; i < KEYS; i++) {
+            String owner = after.owner(key(i));
+            assertTrue(owner.equals("node-c") || owner.equals(before.owner(key(i))));
+        }
+    }
+
+    @Test
+    public void keysAreSpreadEvenly() {
+        RendezvousHash hash = RendezvousHash.of(Arrays.asList("node-a", "node-b", "node-c", "node-d"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(hash.owner(key(i)), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(String.valueOf(counts), count > KEYS / 5 && count < KEYS * 3 / 10);
+        }
+    }
+
+    @Test
+    public void noNodesHasNoOwner() {
+        assertNull(RendezvousHash.of(Collections.<String>emptyList()).owner(key(1)));
+    }
+
+    private static String key(int i) {
+        return "bean.job" + i;
+    }
+}
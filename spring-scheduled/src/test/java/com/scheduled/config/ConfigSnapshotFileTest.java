@@ -0,0 +1,83 @@
+package com.scheduled.config;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Feinik
+ * @Discription ConfigSnapshotFile 的保存和读取：读回保存的配置，文件不存在、被截断或内容损坏时当作没有快照
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ConfigSnapshotFileTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        ConfigSnapshotFile file = new ConfigSnapshotFile(this.folder.getRoot().toPath().resolve("snapshot/config.bin"));
+        Map<String, String> values = values();
+        file.write(ConfigSnapshot.of(7, values));
+        assertEquals(values, file.read());
+
+        values.put("job1_cron", "0 0 1 * * ?");
+        values.remove("job_pool");
+        file.write(ConfigSnapshot.of(8, values));
+        assertEquals(values, file.read());
+        assertEquals("no temporary files are left", 1, Files.list(file.getPath().getParent()).count());
+    }
+
+    @Test
+    public void emptySnapshotRoundTrips() {
+        ConfigSnapshotFile file = new ConfigSnapshotFile(this.folder.getRoot().toPath().resolve("config.bin"));
+        file.write(ConfigSnapshot.of(1, new HashMap<>()));
+        assertEquals(new HashMap<String, String>(), file.read());
+    }
+
+    @Test
+    public void missingFileHasNoSnapshot() {
+        assertNull(new ConfigSnapshotFile(this.folder.getRoot().toPath().resolve("missing.bin")).read());
+    }
+
+    @Test
+    public void corruptFilesAreRejected() throws IOException {
+        Path path = this.folder.getRoot().toPath().resolve("config.bin");
+        ConfigSnapshotFile file = new ConfigSnapshotFile(path);
+        file.write(ConfigSnapshot.of(7, values()));
+        byte[] bytes = Files.readAllBytes(path);
+
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] flipped = bytes.clone();
+            flipped[i] ^= 0x20;
+            Files.write(path, flipped);
+            assertNull("flipped byte " + i, file.read());
+        }
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(path, Arrays.copyOf(bytes, length));
+            assertNull("truncated to " + length, file.read());
+        }
+        Files.write(path, "job1_cron=0 0 1 * * ?".getBytes("UTF-8"));
+        assertNull(file.read());
+    }
+
+    private static Map<String, String> values() {
+        Map<String, String> values = new HashMap<>();
+        values.put("job1_cron", "0 0/5 * * * ?");
+        values.put("job_pool", "size=4,queue=100");
+        values.put("job2_desc", "每日对账");
+        values.put("job3_enabled", "");
+        return values;
+    }
+}
@@ -0,0 +1,41 @@
+package com.scheduled.config;
+
+import org.junit.Test;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription ConfigType 按用途校验配置值
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ConfigTypeTest {
+
+    @Test
+    public void cronAcceptsExpressionsThatFire() {
+        ConfigType.CRON.validate(new ConfigValue("0 0/5 * * * ?"));
+        ConfigType.CRON.validate(new ConfigValue("0 0 0 29 2 ?"));
+    }
+
+    @Test
+    public void cronRejectsExpressionsThatNeverFire() {
+        assertInvalid(ConfigType.CRON, "0 0 0 30 2 ?");
+        assertInvalid(ConfigType.CRON, "0 0 0 31 4 ?");
+    }
+
+    @Test
+    public void cronRejectsMalformedExpressions() {
+        assertInvalid(ConfigType.CRON, "0 0 * * *");
+        assertInvalid(ConfigType.CRON, "job1_cron");
+    }
+
+    private static void assertInvalid(ConfigType type, String raw) {
+        try {
+            type.validate(new ConfigValue(raw));
+            fail("accepted " + raw);
+        } catch (IllegalArgumentException expected) {
+            //不合法的值保留原值
+        }
+    }
+}
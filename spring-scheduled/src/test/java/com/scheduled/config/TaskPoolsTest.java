@@ -0,0 +1,102 @@
+package com.scheduled.config;
+
+import com.scheduled.task.TaskPool;
+import com.scheduled.task.TaskPoolSpec;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Feinik
+ * @Discription TaskPools 按配置创建线程池，配置变化时调整原线程池：无效的值保留原配置，删除后恢复默认配置
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TaskPoolsTest {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private long version;
+
+    private ConfigSnapshot snapshot = ConfigSnapshot.of(0, this.values);
+
+    private final TaskPools pools = new TaskPools(new DataConfig() {
+        @Override
+        public ConfigSnapshot getSnapshot() {
+            return snapshot;
+        }
+    });
+
+    @After
+    public void shutdown() {
+        this.pools.shutdown();
+    }
+
+    @Test
+    public void poolWithoutConfigUsesDefaults() {
+        TaskPool pool = pools.get("report");
+        assertEquals(TaskPoolSpec.DEFAULT, pool.getSpec());
+        assertSame(pool, pools.get("report"));
+        assertNotSame(pool, pools.get("export"));
+        assertEquals(2, pools.getPools().size());
+    }
+
+    @Test
+    public void namedConfigOverridesSharedConfig() {
+        set(TaskPools.POOL_KEY, "size=2");
+        set(TaskPools.POOL_KEY + ".report", "size=6,queue=10");
+        assertEquals(new TaskPoolSpec(6, 10, Thread.NORM_PRIORITY), pools.get("report").getSpec());
+        assertEquals(new TaskPoolSpec(2, 1000, Thread.NORM_PRIORITY), pools.get("export").getSpec());
+    }
+
+    @Test
+    public void reconfiguresTheSamePool() {
+        set(TaskPools.POOL_KEY + ".report", "size=2");
+        TaskPool pool = pools.get("report");
+
+        set(TaskPools.POOL_KEY + ".report", "size=4,queue=10");
+        assertSame(pool, pools.get("report"));
+        assertEquals(new TaskPoolSpec(4, 10, Thread.NORM_PRIORITY), pool.getSpec());
+
+        set(TaskPools.POOL_KEY + ".report", "size=zero");
+        assertEquals("invalid config keeps the previous spec", new TaskPoolSpec(4, 10, Thread.NORM_PRIORITY),
+                pools.get("report").getSpec());
+    }
+
+    @Test
+    public void removedConfigRestoresDefaults() {
+        set(TaskPools.POOL_KEY + ".report", "size=2,queue=0");
+        TaskPool pool = pools.get("report");
+
+        remove(TaskPools.POOL_KEY + ".report");
+        assertSame(pool, pools.get("report"));
+        assertEquals(TaskPoolSpec.DEFAULT, pool.getSpec());
+    }
+
+    @Test
+    public void removedNamedConfigFallsBackToSharedConfig() {
+        set(TaskPools.POOL_KEY, "size=3");
+        set(TaskPools.POOL_KEY + ".report", "size=5");
+        TaskPool pool = pools.get("report");
+
+        remove(TaskPools.POOL_KEY + ".report");
+        assertEquals(new TaskPoolSpec(3, 1000, Thread.NORM_PRIORITY), pools.get("report").getSpec());
+        assertSame(pool, pools.get("report"));
+    }
+
+    private void set(String key, String value) {
+        this.values.put(key, value);
+        this.snapshot = ConfigSnapshot.of(++this.version, this.values);
+    }
+
+    private void remove(String key) {
+        this.values.remove(key);
+        this.snapshot = ConfigSnapshot.of(++this.version, this.values);
+    }
+}
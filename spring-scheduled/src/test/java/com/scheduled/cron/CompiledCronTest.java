@@ -0,0 +1,176 @@
+package com.scheduled.cron;
+
+import org.junit.Test;
+import org.springframework.scheduling.support.CronSequenceGenerator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription CompiledCron 与 CronSequenceGenerator 的对照，以及两处有意不同的行为：
+ * 分钟进位后不跳过匹配的秒、夏令时跳过的本地时间顺延触发
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class CompiledCronTest {
+
+    private static final String[] ZONES = {"UTC", "Asia/Shanghai", "Asia/Kolkata", "America/New_York",
+            "Europe/London", "Australia/Lord_Howe"};
+
+    /**
+     * 秒字段只有一个值或为*，不会遇到分钟进位后跳过秒的情况，两者结果应完全一致
+     */
+    private static final String[] EXPRESSIONS = {"0 0/5 * * * ?", "* * * * * ?", "0 0 0 * * ?", "0 0 12 1 * ?",
+            "0 15 10 ? * MON-FRI", "0 0 0 29 2 ?", "0 0 0 31 * ?", "0 0 0 1 1 ?", "0 45 6 ? JAN,JUN-AUG SUN",
+            "30 */20 8-18 */3 * 1-5", "0 0 22 ? * 7", "15 10 4,12,20 ? */2 *"};
+
+    @Test
+    public void agreesWithCronSequenceGenerator() {
+        Random random = new Random(20261018L);
+        for (String expression : EXPRESSIONS) {
+            for (String zone : ZONES) {
+                TimeZone timeZone = TimeZone.getTimeZone(zone);
+                if (!timeZone.toZoneId().getRules().isFixedOffset() && expression.split(" ")[2].equals("*")) {
+                    // 每小时都触发的表达式会落在夏令时切换的时段，见下面的单独测试
+                    continue;
+                }
+                CronSequenceGenerator generator = new CronSequenceGenerator(expression, timeZone);
+                CompiledCron cron = new CompiledCron(expression, timeZone);
+                for (int i = 0; i < 500; i++) {
+                    long after = 1_500_000_000_000L + (long) (random.nextDouble() * 400_000_000_000L);
+                    if (i % 3 == 0) {
+                        after = after / 1000 * 1000;
+                    }
+                    long expected = generator.next(new Date(after)).getTime();
+                    assertEquals(expression + " [" + zone + "] after " + new Date(after), expected, cron.next(after));
+                    // 连续触发也一致
+                    assertEquals(expression + " [" + zone + "] after " + new Date(expected),
+                            generator.next(new Date(expected)).getTime(), cron.next(expected));
+                }
+            }
+        }
+    }
+
+    /**
+     * CronSequenceGenerator在分钟进位后从原来的秒继续查找，会跳过新分钟中更早的匹配秒
+     */
+    @Test
+    public void doesNotSkipSecondsAfterMinuteRollover() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        String expression = "*/13 */17 */5 */3 */2 */4";
+        CompiledCron cron = new CompiledCron(expression, utc);
+        long after = utc("2025-05-18T15:37:10");
+        assertEquals(utc("2025-05-18T15:51:00"), cron.next(after));
+        assertEquals(utc("2025-05-18T15:51:13"), new CronSequenceGenerator(expression, utc).next(new Date(after)).getTime());
+
+        expression = "0/7 3-59/11 1,5,23 * JAN,JUN-AUG SUN";
+        cron = new CompiledCron(expression, utc);
+        after = 1592178096000L;
+        assertEquals(1592178420000L, cron.next(after));
+        assertEquals(1592178462000L, new CronSequenceGenerator(expression, utc).next(new Date(after)).getTime());
+    }
+
+    @Test
+    public void neverLaterThanCronSequenceGenerator() {
+        Random random = new Random(7L);
+        String[] expressions = {"*/13 */17 */5 */3 */2 */4", "0/7 3-59/11 1,5,23 * JAN,JUN-AUG SUN", "5-50/9 * * * * ?"};
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        for (String expression : expressions) {
+            CronSequenceGenerator generator = new CronSequenceGenerator(expression, utc);
+            CompiledCron cron = new CompiledCron(expression, utc);
+            for (int i = 0; i < 5000; i++) {
+                long after = 1_500_000_000_000L + (long) (random.nextDouble() * 400_000_000_000L);
+                long next = cron.next(after);
+                assertTrue(expression + " after " + after, next > after);
+                assertTrue(expression + " after " + after, next <= generator.next(new Date(after)).getTime());
+            }
+        }
+    }
+
+    /**
+     * 夏令时跳过的本地时间顺延到跳过之后触发，CronSequenceGenerator会跳过这一天
+     */
+    @Test
+    public void shiftsFireInDstGapForward() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        String expression = "0 30 2 * * ?";
+        CompiledCron cron = new CompiledCron(expression, newYork);
+        long after = local("2024-03-10T00:00:00", newYork);
+        long gap = cron.next(after);
+        assertEquals(local("2024-03-10T03:30:00", newYork), gap);
+        assertEquals(local("2024-03-11T02:30:00", newYork), cron.next(gap));
+        assertEquals(local("2024-03-11T02:30:00", newYork),
+                new CronSequenceGenerator(expression, newYork).next(new Date(after)).getTime());
+
+        // 30分钟的夏令时
+        TimeZone lordHowe = TimeZone.getTimeZone("Australia/Lord_Howe");
+        cron = new CompiledCron("0 10 2 * * ?", lordHowe);
+        assertEquals(local("2024-10-06T02:40:00", lordHowe), cron.next(local("2024-10-06T01:00:00", lordHowe)));
+    }
+
+    /**
+     * 夏令时回拨时重复的本地时间取较早的时刻
+     */
+    @Test
+    public void firesOnEarlierInstantOfRepeatedLocalTime() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        CompiledCron cron = new CompiledCron("0 0 1 * * ?", newYork);
+        long first = cron.next(utc("2024-11-02T23:00:00"));
+        assertEquals(utc("2024-11-03T05:00:00"), first);
+        assertEquals(utc("2024-11-04T06:00:00"), cron.next(first));
+    }
+
+    @Test
+    public void rejectsInvalidExpressionsLikeCronSequenceGenerator() {
+        String[] invalid = {"0 0 * * *", "0 0 0 * * ? *", "60 * * * * ?", "* 0-60 * * * ?", "* * 5-3 * * ?",
+                "*/0 * * * * ?", "0 0 0 1/2/3 * ?", "0 0 0 1-2-3 * ?", "0 0 0 32 * ?"};
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        for (String expression : invalid) {
+            String expected;
+            try {
+                new CronSequenceGenerator(expression, utc);
+                expected = null;
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+            try {
+                new CompiledCron(expression, utc);
+                fail("accepted " + expression);
+            } catch (IllegalArgumentException e) {
+                assertEquals(expression, expected, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void parsesNamesRegardlessOfDefaultLocale() {
+        Locale original = Locale.getDefault();
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        long expected = new CompiledCron("0 0 9 ? 1-12 1-5", utc).next(utc("2026-10-16T10:00:00"));
+        //土耳其语中小写i大写后为İ，按默认语言环境转换时fri、wed无法识别
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals(expected, new CompiledCron("0 0 9 ? jan-dec mon-fri", utc).next(utc("2026-10-16T10:00:00")));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    private static long utc(String dateTime) {
+        return local(dateTime, TimeZone.getTimeZone("UTC"));
+    }
+
+    private static long local(String dateTime, TimeZone zone) {
+        return ZonedDateTime.of(LocalDateTime.parse(dateTime), ZoneId.of(zone.getID())).toInstant().toEpochMilli();
+    }
+}
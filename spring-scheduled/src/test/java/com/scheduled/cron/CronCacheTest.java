@@ -0,0 +1,49 @@
+package com.scheduled.cron;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription CronCache 按(表达式, 时区)共享编译结果
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class CronCacheTest {
+
+    @Test
+    public void sameExpressionAndZoneShareOneInstance() {
+        TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+        CompiledCron cron = CronCache.compile("0 0/5 * * * ?", shanghai);
+        assertSame(cron, CronCache.compile("  0 0/5 * * * ?  ", shanghai));
+        assertSame(cron, CompiledCron.compile("0 0/5 * * * ?", TimeZone.getTimeZone("Asia/Shanghai")));
+        assertEquals("0 0/5 * * * ?", cron.getExpression());
+    }
+
+    @Test
+    public void differentZonesAreCompiledSeparately() {
+        CompiledCron utc = CronCache.compile("0 0 12 * * ?", TimeZone.getTimeZone("UTC"));
+        CompiledCron tokyo = CronCache.compile("0 0 12 * * ?", TimeZone.getTimeZone("Asia/Tokyo"));
+        assertNotSame(utc, tokyo);
+        assertEquals(9 * 3600 * 1000L, utc.next(0) - tokyo.next(0));
+    }
+
+    @Test
+    public void invalidExpressionIsNotCached() {
+        int size = CronCache.size();
+        for (int i = 0; i < 2; i++) {
+            try {
+                CronCache.compile("0 0 25 * * ?", TimeZone.getTimeZone("UTC"));
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals(size, CronCache.size());
+    }
+}
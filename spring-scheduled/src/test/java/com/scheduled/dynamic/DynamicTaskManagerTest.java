@@ -0,0 +1,267 @@
+package com.scheduled.dynamic;
+
+import com.scheduled.cluster.ShardingListener;
+import com.scheduled.cluster.TaskSharding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription DynamicTaskManager 按行应用新增、修改、停用和删除，相同表达式共用一个触发，无效的行保留原定义。
+ * 任务定义来自内存中的行，排期都在一小时之后，测试期间不会真正执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class DynamicTaskManagerTest {
+
+    private static final String DAILY = "0 0 3 * * ?";
+
+    private final InMemorySource source = new InMemorySource();
+
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    private DynamicTaskManager manager;
+
+    @Before
+    public void setUp() {
+        this.beanFactory.addBean("export", (DynamicJobHandler) (id, params) -> {
+        });
+        this.beanFactory.addBean("report", (DynamicJobHandler) (id, params) -> {
+        });
+        this.scheduler.initialize();
+        this.manager = new DynamicTaskManager(true, this.source, this.beanFactory, 3_600_000, null);
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.stop();
+        this.scheduler.shutdown();
+    }
+
+    @Test
+    public void tasksWithTheSameExpressionShareOneTrigger() {
+        source.add(row(1, "export", DAILY));
+        source.add(row(2, "report", " " + DAILY + " "));
+        source.add(row(3, "export", "1h"));
+        manager.start(scheduler, null, null);
+
+        assertEquals(3, manager.getStatus().getTasks());
+        assertEquals(2, manager.getStatus().getTriggers());
+        assertEquals(3, manager.getStatus().getScheduled());
+        assertSame(manager.getTask(1).trigger, manager.getTask(2).trigger);
+        assertEquals(3, manager.getStatus().getLastLoad().getAdded());
+    }
+
+    @Test
+    public void updateAppliesOnlyChangedRows() {
+        source.add(row(1, "export", DAILY));
+        manager.start(scheduler, null, null);
+
+        DynamicTaskRow changed = row(1, "report", DAILY);
+        changed.setParams("customer=7");
+        source.add(changed);
+        DynamicTaskManager.LoadResult result = manager.poll();
+        assertEquals(1, result.getUpdated());
+        assertEquals("report", manager.getTask(1).getHandlerName());
+        assertEquals("customer=7", manager.getTask(1).getParams());
+
+        //增量读取回溯时重复读到的行
+        source.add(changed);
+        result = manager.poll();
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+    }
+
+    @Test
+    public void disableAndSoftDeleteLeaveTheTrigger() {
+        source.add(row(1, "export", DAILY));
+        source.add(row(2, "export", DAILY));
+        manager.start(scheduler, null, null);
+
+        DynamicTaskRow disabled = row(1, "export", DAILY);
+        disabled.setEnabled(false);
+        source.add(disabled);
+        manager.poll();
+        assertFalse(manager.getTask(1).isEnabled());
+        assertEquals(1, manager.getStatus().getScheduled());
+        assertEquals(1, manager.getStatus().getTriggers());
+
+        DynamicTaskRow deleted = row(2, "export", DAILY);
+        deleted.setDeleted(true);
+        source.add(deleted);
+        assertEquals(1, manager.poll().getRemoved());
+        assertNull(manager.getTask(2));
+        assertEquals(1, manager.getStatus().getTasks());
+        assertEquals(0, manager.getStatus().getTriggers());
+
+        source.add(row(1, "export", DAILY));
+        manager.poll();
+        assertTrue(manager.getTask(1).isEnabled());
+        assertEquals(1, manager.getStatus().getTriggers());
+    }
+
+    @Test
+    public void expressionChangeRemovesTheTriggerWithItsLastMember() {
+        source.add(row(1, "export", DAILY));
+        source.add(row(2, "export", DAILY));
+        manager.start(scheduler, null, null);
+        DynamicTaskManager.Trigger daily = manager.getTask(1).trigger;
+
+        source.add(row(1, "export", "1h"));
+        manager.poll();
+        assertEquals(2, manager.getStatus().getTriggers());
+        assertSame(daily, manager.getTask(2).trigger);
+
+        source.add(row(2, "export", "1h"));
+        manager.poll();
+        assertEquals(1, manager.getStatus().getTriggers());
+        assertSame(manager.getTask(1).trigger, manager.getTask(2).trigger);
+
+        //再次使用原表达式时新建触发
+        source.add(row(1, "export", DAILY));
+        manager.poll();
+        assertEquals(2, manager.getStatus().getTriggers());
+        assertNotSame(daily, manager.getTask(1).trigger);
+    }
+
+    @Test
+    public void rebalanceMovesOnlyTasksWhoseOwnerChanged() {
+        SetSharding sharding = new SetSharding();
+        sharding.local.add(DynamicTask.taskId(1));
+        source.add(row(1, "export", DAILY));
+        source.add(row(2, "export", DAILY));
+        manager.start(scheduler, sharding, null);
+        assertTrue(manager.getTask(1).isLocal());
+        assertFalse(manager.getTask(2).isLocal());
+        assertEquals(1, manager.getStatus().getScheduled());
+
+        sharding.local.remove(DynamicTask.taskId(1));
+        sharding.local.add(DynamicTask.taskId(2));
+        manager.rebalance();
+        assertFalse(manager.getTask(1).isLocal());
+        assertTrue(manager.getTask(2).isLocal());
+        assertEquals(1, manager.getStatus().getScheduled());
+        assertEquals(1, manager.getStatus().getTriggers());
+
+        sharding.local.clear();
+        manager.rebalance();
+        assertEquals(0, manager.getStatus().getScheduled());
+        assertEquals(0, manager.getStatus().getTriggers());
+    }
+
+    @Test
+    public void invalidRowsAreCountedAndDoNotStopTheLoad() {
+        source.add(row(1, "export", "0 0 0 30 2 ?"));
+        source.add(row(2, "missing", DAILY));
+        source.add(row(3, "export", "not a cron"));
+        source.add(row(4, "export", DAILY));
+        manager.start(scheduler, null, null);
+
+        DynamicTaskManager.LoadResult result = manager.getStatus().getLastLoad();
+        assertEquals(3, result.getInvalid());
+        assertEquals(1, result.getAdded());
+        assertNull(manager.getTask(1));
+        assertEquals(1, manager.getStatus().getTriggers());
+
+        //无效的修改保留原定义，同一批中后面的行照常应用
+        source.add(row(4, "export", "0 0 0 30 2 ?"));
+        source.add(row(5, "export", "1h"));
+        result = manager.poll();
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getAdded());
+        assertEquals(DAILY, manager.getTask(4).getTrigger());
+        assertEquals(2, manager.getStatus().getTriggers());
+    }
+
+    @Test
+    public void schedulerFailureDoesNotAbortStart() {
+        source.add(row(1, "export", DAILY));
+        scheduler.shutdown();
+        manager.start(scheduler, null, null);
+        assertEquals(1, manager.getStatus().getTasks());
+    }
+
+    private static DynamicTaskRow row(long id, String handler, String trigger) {
+        DynamicTaskRow row = new DynamicTaskRow();
+        row.setId(id);
+        row.setHandler(handler);
+        row.setTrigger(trigger);
+        row.setEnabled(true);
+        return row;
+    }
+
+    /**
+     * 读取时交出待读取的行，与数据库来源一样每行只读到一次
+     */
+    static final class InMemorySource implements DynamicTaskSource {
+
+        private final List<DynamicTaskRow> pending = new CopyOnWriteArrayList<>();
+
+        void add(DynamicTaskRow row) {
+            this.pending.add(row);
+        }
+
+        @Override
+        public void loadAll(Consumer<DynamicTaskRow> consumer) {
+            List<DynamicTaskRow> rows = new ArrayList<>(this.pending);
+            this.pending.clear();
+            rows.forEach(consumer);
+        }
+
+        @Override
+        public void loadChanged(Consumer<DynamicTaskRow> consumer) {
+            loadAll(consumer);
+        }
+    }
+
+    /**
+     * 由测试指定分配给当前节点的任务
+     */
+    static final class SetSharding implements TaskSharding {
+
+        final Set<String> local = new HashSet<>();
+
+        @Override
+        public void start(ShardingListener listener) {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isLocal(String taskId) {
+            return this.local.contains(taskId);
+        }
+
+        @Override
+        public String getNodeId() {
+            return "test";
+        }
+
+        @Override
+        public List<String> getNodes() {
+            return Collections.singletonList("test");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.scheduled.history;
+
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.task.JobTask;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription ExecutionHistory 缓冲区满时的DROP、SAMPLE和BLOCK处理，写库由记录参数的JdbcTemplate代替
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ExecutionHistoryTest {
+
+    private static final IllegalStateException FAILURE = new IllegalStateException("boom");
+
+    private final RecordingTemplate template = new RecordingTemplate();
+
+    private final JobTask task = newTask();
+
+    private ExecutionHistory history;
+
+    @After
+    public void stop() {
+        this.template.release.countDown();
+        if (this.history != null) {
+            this.history.stop();
+        }
+    }
+
+    @Test
+    public void dropDiscardsWhenFull() {
+        this.history = history(OverflowPolicy.DROP, 4, 1);
+        for (int i = 0; i < 6; i++) {
+            succeed();
+        }
+        assertEquals(4, this.history.getPending());
+        assertEquals(2, this.history.getDropped().sum());
+    }
+
+    @Test
+    public void sampleKeepsFailuresAfterHalfFull() {
+        this.history = history(OverflowPolicy.SAMPLE, 8, Integer.MAX_VALUE);
+        //超过一半之前全部保留
+        for (int i = 0; i < 5; i++) {
+            succeed();
+        }
+        assertEquals(5, this.history.getPending());
+        assertEquals(0, this.history.getDropped().sum());
+        //超过一半之后成功的记录按采样率丢弃，失败的记录保留到缓冲区满为止
+        for (int i = 0; i < 10; i++) {
+            succeed();
+        }
+        assertEquals(5, this.history.getPending());
+        assertEquals(10, this.history.getDropped().sum());
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(8, this.history.getPending());
+        assertEquals(11, this.history.getDropped().sum());
+
+        this.history.start();
+        this.history.stop();
+        assertEquals(8, this.history.getWritten().sum());
+        assertEquals(5, this.template.count(true));
+        assertEquals(3, this.template.count(false));
+    }
+
+    @Test
+    public void sampleRateOfOneKeepsEverythingUntilFull() {
+        this.history = history(OverflowPolicy.SAMPLE, 4, 1);
+        for (int i = 0; i < 5; i++) {
+            succeed();
+        }
+        assertEquals(4, this.history.getPending());
+        assertEquals(1, this.history.getDropped().sum());
+    }
+
+    @Test
+    public void blockWaitsForWriterToMakeRoom() throws Exception {
+        this.history = history(OverflowPolicy.BLOCK, 2, 1);
+        this.template.block = true;
+        this.history.start();
+        succeed();
+        //写线程取走第一条后阻塞在写库上
+        assertTrue(this.template.entered.await(5, TimeUnit.SECONDS));
+        succeed();
+        succeed();
+        assertEquals(2, this.history.getPending());
+
+        Thread producer = new Thread(this::succeed);
+        producer.start();
+        producer.join(100);
+        assertTrue("producer waits while the buffer is full", producer.isAlive());
+
+        this.template.release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(eventually(() -> this.history.getWritten().sum() == 4));
+        assertEquals(0, this.history.getDropped().sum());
+    }
+
+    @Test
+    public void blockDropsWhenWriterIsStopped() {
+        this.history = history(OverflowPolicy.BLOCK, 2, 1);
+        succeed();
+        succeed();
+        succeed();
+        assertEquals(2, this.history.getPending());
+        assertEquals(1, this.history.getDropped().sum());
+    }
+
+    @Test
+    public void blockGivesUpWhenInterrupted() throws Exception {
+        this.history = history(OverflowPolicy.BLOCK, 2, 1);
+        this.template.block = true;
+        this.history.start();
+        succeed();
+        assertTrue(this.template.entered.await(5, TimeUnit.SECONDS));
+        succeed();
+        succeed();
+
+        Thread producer = new Thread(this::succeed);
+        producer.start();
+        producer.join(50);
+        assertTrue(producer.isAlive());
+        producer.interrupt();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(1, this.history.getDropped().sum());
+    }
+
+    @Test
+    public void disabledHistoryRecordsNothing() {
+        this.history = new ExecutionHistory(false, this.template, "node", 4, OverflowPolicy.DROP, 1, 1, 1);
+        succeed();
+        assertEquals(0, this.history.getPending());
+        assertEquals(0, this.history.getDropped().sum());
+    }
+
+    private ExecutionHistory history(OverflowPolicy policy, int capacity, int sampleRate) {
+        return new ExecutionHistory(true, this.template, "node", capacity, policy, sampleRate, 1, 1);
+    }
+
+    private void succeed() {
+        long now = System.currentTimeMillis();
+        this.history.onExecuted(this.task, now, now, now, null);
+    }
+
+    private void fail() {
+        long now = System.currentTimeMillis();
+        this.history.onExecuted(this.task, now, now, now, FAILURE);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private static JobTask newTask() {
+        Job bean = new Job();
+        return new JobTask("job", bean, JobClassMetadata.introspect(bean).getMethods().get(0));
+    }
+
+    public static class Job {
+
+        @JobScheduled(fixedRate = 1000)
+        public void run() {
+        }
+    }
+
+    /**
+     * 记录批量插入的参数，block为true时第一次写入等待release
+     */
+    static final class RecordingTemplate extends JdbcTemplate {
+
+        final List<Object[]> rows = new CopyOnWriteArrayList<>();
+
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        volatile boolean block;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs, int[] argTypes) {
+            this.entered.countDown();
+            if (this.block) {
+                try {
+                    this.release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.rows.addAll(batchArgs);
+            return new int[batchArgs.size()];
+        }
+
+        long count(boolean success) {
+            return this.rows.stream().filter(row -> row[5].equals(success ? 1 : 0)).count();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.scheduled.history;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription ExecutionRingBuffer 的容量、满时写入、序号回绕，以及多生产者单消费者下不丢不重
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class ExecutionRingBufferTest {
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new ExecutionRingBuffer<Integer>(5).getCapacity());
+        assertEquals(8, new ExecutionRingBuffer<Integer>(8).getCapacity());
+        assertEquals(1, new ExecutionRingBuffer<Integer>(1).getCapacity());
+    }
+
+    @Test
+    public void offerOnFullBufferReturnsFalse() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void drainToStopsAtMax() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(Arrays.asList(0, 1, 2), drained);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void wrapsAroundAfterMoreThanCapacityRecords() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        int expected = 0;
+        //每轮写入和取出的个数不同，让头尾在各个槽位上多次回绕
+        for (int round = 0; round < 50; round++) {
+            int writes = 1 + round % 4;
+            for (int i = 0; i < writes; i++) {
+                if (buffer.offer(next)) {
+                    next++;
+                }
+            }
+            drained.clear();
+            buffer.drainTo(drained, 1 + round % 3);
+            for (Integer value : drained) {
+                assertEquals(expected++, value.intValue());
+            }
+        }
+        drained.clear();
+        buffer.drainTo(drained, 10);
+        for (Integer value : drained) {
+            assertEquals(expected++, value.intValue());
+        }
+        assertEquals(next, expected);
+        assertTrue(next > 10 * buffer.getCapacity());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void multipleProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 100000;
+        ExecutionRingBuffer<long[]> buffer = new ExecutionRingBuffer<>(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        ready.countDown();
+
+        long[] nextExpected = new long[producers];
+        int total = 0;
+        List<long[]> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (total < producers * perProducer) {
+            assertTrue("consumer timed out after " + total + " records", System.nanoTime() < deadline);
+            batch.clear();
+            if (buffer.drainTo(batch, 16) == 0) {
+                Thread.yield();
+                continue;
+            }
+            for (long[] element : batch) {
+                //同一个生产者的记录按写入顺序出现，且每条恰好一次
+                int producer = (int) element[0];
+                assertEquals(nextExpected[producer], element[1]);
+                nextExpected[producer]++;
+                total++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+        }
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, nextExpected[p]);
+        }
+        batch.clear();
+        assertEquals(0, buffer.drainTo(batch, 16));
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,346 @@
+package com.scheduled.scheduler;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.scheduling.Trigger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription HashedWheelTaskScheduler 的放置、逐层下沉、取消和重新排期。
+ * 时钟和tick都由测试推进，到期的任务在推进tick的线程中直接执行，结果是确定的
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class HashedWheelTaskSchedulerTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private ManualWheel wheel;
+
+    @After
+    public void destroy() {
+        if (this.wheel != null) {
+            this.wheel.destroy();
+        }
+    }
+
+    @Test
+    public void placesByDistanceAndFiresExactlyOnDeadline() {
+        wheel = ManualWheel.start(9);
+        FiredAt last = new FiredAt(wheel);
+        FiredAt level1 = new FiredAt(wheel);
+        FiredAt level2 = new FiredAt(wheel);
+        WheelTask t511 = wheel.at(511, last);
+        WheelTask t512 = wheel.at(512, level1);
+        WheelTask t512sq = wheel.at(512 * 512, level2);
+        WheelTask t512cube = wheel.at(512L * 512 * 512, () -> { });
+        wheel.advance(1);
+        assertPlaced(t511, 0, 511);
+        assertPlaced(t512, 1, 1);
+        assertPlaced(t512sq, 2, 1);
+        assertPlaced(t512cube, 3, 1);
+
+        wheel.advanceTo(510);
+        assertEquals(-1, last.tick);
+        wheel.advanceTo(511);
+        assertEquals(511, last.tick);
+
+        assertEquals(-1, level1.tick);
+        wheel.advanceTo(512);
+        assertEquals(512, level1.tick);
+
+        wheel.advanceTo(512 * 512 - 1);
+        assertEquals(-1, level2.tick);
+        wheel.advanceTo(512 * 512);
+        assertEquals(512 * 512, level2.tick);
+    }
+
+    /**
+     * 每层16个槽时四层分别覆盖16、256、4096、65536个tick，更远的任务放在最高层最远的槽，到时再次下沉
+     */
+    @Test
+    public void cascadesThroughAllLevels() {
+        wheel = ManualWheel.start(4);
+        Random random = new Random(42);
+        Map<Long, FiredAt> tasks = new HashMap<>();
+        long[] fixed = {1, 15, 16, 17, 255, 256, 257, 4095, 4096, 4101, 65535, 65536, 65537, 70000};
+        List<Long> deadlines = new ArrayList<>();
+        for (long deadline : fixed) {
+            deadlines.add(deadline);
+        }
+        for (int i = 0; i < 500; i++) {
+            deadlines.add(1 + (long) random.nextInt(80000));
+        }
+        for (long deadline : deadlines) {
+            if (!tasks.containsKey(deadline)) {
+                FiredAt fired = new FiredAt(wheel);
+                wheel.at(deadline, fired);
+                tasks.put(deadline, fired);
+            }
+        }
+        wheel.advanceTo(80000);
+        for (Map.Entry<Long, FiredAt> entry : tasks.entrySet()) {
+            assertEquals("deadline " + entry.getKey(), (long) entry.getKey(), entry.getValue().tick);
+            assertEquals("deadline " + entry.getKey(), 1, entry.getValue().count);
+        }
+    }
+
+    @Test
+    public void cancelWhileWaiting() throws Exception {
+        wheel = ManualWheel.start(9);
+        FiredAt fired = new FiredAt(wheel);
+        WheelTask task = wheel.at(600, fired);
+        wheel.advanceTo(3);
+        assertPlaced(task, 1, 1);
+        assertTrue(task.cancel(false));
+        assertTrue(task.isCancelled());
+        assertTrue(task.isDone());
+        assertFalse(task.cancel(false));
+        wheel.advanceTo(4);
+        assertEquals("cancelled task is unlinked on the next tick", -1, task.level);
+        wheel.advanceTo(700);
+        assertEquals(0, fired.count);
+        try {
+            task.get(0, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (CancellationException expected) {
+        }
+
+        // 尚未放入时间轮就取消
+        FiredAt pendingFired = new FiredAt(wheel);
+        WheelTask pending = wheel.at(800, pendingFired);
+        pending.cancel(false);
+        wheel.advanceTo(900);
+        assertEquals(0, pendingFired.count);
+        assertEquals(-1, pending.level);
+    }
+
+    @Test
+    public void cancelWhileRunningStopsRepeatingAndInterrupts() throws Exception {
+        wheel = ManualWheel.start(9);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger runs = new AtomicInteger();
+        WheelTask task = WheelTask.periodic(wheel, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, 5 * TICK_NANOS, 5 * TICK_NANOS, true, null);
+        wheel.enqueue(task);
+        Thread ticker = new Thread(() -> wheel.advanceTo(5));
+        ticker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel(true));
+        ticker.join(5000);
+        assertFalse(ticker.isAlive());
+        assertTrue(interrupted.get());
+        assertTrue(task.isCancelled());
+
+        wheel.advanceTo(100);
+        assertEquals("not re-armed after cancel", 1, runs.get());
+        assertEquals(-1, task.level);
+    }
+
+    @Test
+    public void cancelWithoutInterruptLetsRunFinish() throws Exception {
+        wheel = ManualWheel.start(9);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicInteger runs = new AtomicInteger();
+        WheelTask task = WheelTask.periodic(wheel, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+                completed.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 5 * TICK_NANOS, 5 * TICK_NANOS, false, null);
+        wheel.enqueue(task);
+        Thread ticker = new Thread(() -> wheel.advanceTo(5));
+        ticker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel(false));
+        release.countDown();
+        ticker.join(5000);
+        assertTrue(completed.get());
+        wheel.advanceTo(100);
+        assertEquals(1, runs.get());
+    }
+
+    /**
+     * 执行耗时35ms、间隔100ms：固定频率按计划时间衔接，固定延迟从执行结束时开始计算
+     */
+    @Test
+    public void fixedRateAndFixedDelayRearm() {
+        wheel = ManualWheel.start(9);
+        List<Long> rateTicks = new ArrayList<>();
+        List<Long> delayTicks = new ArrayList<>();
+        WheelTask rate = WheelTask.periodic(wheel, wheel.busy(rateTicks, 35), 10 * TICK_NANOS, 10 * TICK_NANOS,
+                true, null);
+        WheelTask delay = WheelTask.periodic(wheel, wheel.busy(delayTicks, 35), 10 * TICK_NANOS, 10 * TICK_NANOS,
+                false, null);
+        wheel.enqueue(rate);
+        wheel.enqueue(delay);
+
+        wheel.advanceTo(10);
+        assertEquals(20 * TICK_NANOS, rate.getDeadlineNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(235), delay.getDeadlineNanos());
+
+        wheel.advanceTo(45);
+        assertEquals(listOf(10, 20, 30, 40), rateTicks);
+        // 135ms结束 -> 235ms -> 第24个tick；275ms结束 -> 375ms -> 第38个tick
+        assertEquals(listOf(10, 24, 38), delayTicks);
+        assertFalse(rate.isDone());
+        assertFalse(delay.isDone());
+    }
+
+    @Test
+    public void triggerReturningNullEndsTask() throws Exception {
+        wheel = ManualWheel.start(9);
+        AtomicInteger runs = new AtomicInteger();
+        Trigger never = context -> null;
+        assertNull(wheel.schedule(runs::incrementAndGet, never));
+
+        AtomicInteger calls = new AtomicInteger();
+        Trigger once = context -> calls.getAndIncrement() == 0 ? new Date(System.currentTimeMillis() + 50) : null;
+        ScheduledFuture<?> future = wheel.schedule(runs::incrementAndGet, once);
+        assertFalse(future.isDone());
+        wheel.advanceTo(20);
+        assertEquals(1, runs.get());
+        assertEquals(2, calls.get());
+        assertTrue(future.isDone());
+        assertFalse(future.isCancelled());
+        assertNull(future.get(0, TimeUnit.MILLISECONDS));
+        wheel.advanceTo(100);
+        assertEquals(1, runs.get());
+    }
+
+    private static void assertPlaced(WheelTask task, int level, int slot) {
+        assertEquals("level of " + task, level, task.level);
+        assertEquals("slot of " + task, slot, task.slot);
+    }
+
+    private static List<Long> listOf(long... values) {
+        List<Long> list = new ArrayList<>();
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * 记录执行时所在的tick
+     */
+    private static final class FiredAt implements Runnable {
+
+        private final ManualWheel wheel;
+
+        private volatile long tick = -1;
+
+        private volatile int count;
+
+        FiredAt(ManualWheel wheel) {
+            this.wheel = wheel;
+        }
+
+        @Override
+        public void run() {
+            this.tick = this.wheel.ticks;
+            this.count++;
+        }
+    }
+
+    /**
+     * 不启动tick线程，时钟与tick由测试推进，到期的任务在推进的线程中直接执行
+     */
+    private static final class ManualWheel extends HashedWheelTaskScheduler {
+
+        private volatile long now;
+
+        private volatile long ticks;
+
+        static ManualWheel start(int wheelBits) {
+            ManualWheel wheel = new ManualWheel();
+            wheel.setTickMillis(10);
+            wheel.setWheelBits(wheelBits);
+            wheel.setWorkerPoolSize(1);
+            wheel.afterPropertiesSet();
+            return wheel;
+        }
+
+        @Override
+        long nanoTime() {
+            return this.now;
+        }
+
+        @Override
+        void startTicker() {
+        }
+
+        @Override
+        ThreadPoolExecutor createWorkerExecutor(int poolSize) {
+            return new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+                @Override
+                public void execute(Runnable command) {
+                    command.run();
+                }
+            };
+        }
+
+        WheelTask at(long deadlineTick, Runnable task) {
+            WheelTask wheelTask = WheelTask.oneShot(this, task, deadlineTick * TICK_NANOS, null);
+            enqueue(wheelTask);
+            return wheelTask;
+        }
+
+        void advance(long count) {
+            advanceTo(this.ticks + count);
+        }
+
+        void advanceTo(long tick) {
+            while (this.ticks < tick) {
+                this.ticks++;
+                this.now = this.ticks * TICK_NANOS;
+                tick();
+            }
+        }
+
+        /**
+         * 执行时把时钟向前拨动，模拟耗时
+         */
+        Runnable busy(List<Long> fired, long millis) {
+            return () -> {
+                fired.add(this.ticks);
+                this.now += TimeUnit.MILLISECONDS.toNanos(millis);
+            };
+        }
+    }
+}
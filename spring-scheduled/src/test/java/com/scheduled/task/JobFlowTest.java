@@ -0,0 +1,92 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.annotation.JobClassMetadata.JobMethodMetadata;
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.annotation.MisfirePolicy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Feinik
+ * @Discription JobFlow 一次运行结束时减少活动运行数，下游任务在上游失败时跳过；线程池替换为在当前线程执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobFlowTest {
+
+    private final Steps bean = new Steps();
+
+    @Test
+    public void singleNodeRunEnds() {
+        JobFlow flow = JobFlow.build(task("root"), Collections.emptyMap(), Runnable::run);
+        flow.start(System.currentTimeMillis());
+        assertEquals(0, flow.getActiveRuns());
+    }
+
+    @Test
+    public void failedUpstreamSkipsJoin() {
+        JobTask root = task("root");
+        JobTask left = task("left");
+        JobTask right = task("fail");
+        JobTask join = task("join");
+        Map<JobTask, List<JobTask>> downstream = new HashMap<>();
+        downstream.put(root, Arrays.asList(left, right));
+        downstream.put(left, Collections.singletonList(join));
+        downstream.put(right, Collections.singletonList(join));
+        JobFlow flow = JobFlow.build(root, downstream, Runnable::run);
+        assertEquals(Arrays.asList(root, left, right, join), flow.getNodes());
+
+        flow.start(System.currentTimeMillis());
+        assertEquals(Arrays.asList("left", "fail"), this.bean.calls);
+        assertEquals(1, join.getMetrics().snapshot(join.getId()).getSkipped());
+        assertEquals(0, flow.getActiveRuns());
+    }
+
+    private JobTask task(String method) {
+        for (JobMethodMetadata metadata : JobClassMetadata.introspect(this.bean).getMethods()) {
+            if (metadata.getMethod().getName().equals(method)) {
+                JobTask task = new JobTask("steps", this.bean, metadata);
+                task.setSchedule(JobSchedule.dependent(ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 1));
+                task.setEnabled(true);
+                return task;
+            }
+        }
+        throw new IllegalArgumentException(method);
+    }
+
+    public static class Steps {
+
+        final List<String> calls = new CopyOnWriteArrayList<>();
+
+        @JobScheduled(fixedRate = 1000)
+        public void root() {
+            this.calls.add("root");
+        }
+
+        @JobScheduled(fixedRate = 1000)
+        public void left() {
+            this.calls.add("left");
+        }
+
+        @JobScheduled(fixedRate = 1000)
+        public void fail() {
+            this.calls.add("fail");
+            throw new IllegalStateException("boom");
+        }
+
+        @JobScheduled(fixedRate = 1000)
+        public void join() {
+            this.calls.add("join");
+        }
+    }
+}
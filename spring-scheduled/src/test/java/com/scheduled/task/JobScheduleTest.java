@@ -0,0 +1,62 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.MisfirePolicy;
+import com.scheduled.cron.CompiledCron;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription JobSchedule.withSpread 按任务ID取固定偏移：同一任务每次相同，不同任务分散在范围内，只有cron和固定频率任务分散
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobScheduleTest {
+
+    private static final long SPREAD = 60_000;
+
+    private final JobSchedule cron = JobSchedule.cron(CompiledCron.compile("0 0 * * * ?", TimeZone.getTimeZone("UTC")),
+            ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10);
+
+    @Test
+    public void jitterIsFixedPerTask() {
+        JobSchedule spread = this.cron.withSpread(SPREAD);
+        JobSchedule again = this.cron.withSpread(SPREAD);
+        for (int i = 0; i < 100; i++) {
+            String id = "bean.job" + i;
+            long jitter = spread.jitter(id);
+            assertTrue(jitter >= 0 && jitter < SPREAD);
+            assertEquals(jitter, spread.jitter(id));
+            assertEquals(jitter, again.jitter(id));
+        }
+    }
+
+    @Test
+    public void similarTaskIdsAreSpreadOut() {
+        JobSchedule spread = this.cron.withSpread(SPREAD);
+        Set<Long> buckets = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            buckets.add(spread.jitter("bean.job" + i) / (SPREAD / 10));
+        }
+        assertEquals("every tenth of the range is used", 10, buckets.size());
+    }
+
+    @Test
+    public void onlyCronAndFixedRateAreSpread() {
+        assertEquals(0, this.cron.jitter("bean.job"));
+        assertTrue(this.cron.withSpread(SPREAD).jitter("bean.job") > 0);
+        JobSchedule fixedRate = JobSchedule.fixedRate(1000, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10);
+        assertTrue(fixedRate.withSpread(SPREAD).jitter("bean.job") > 0);
+        JobSchedule fixedDelay = JobSchedule.fixedDelay(1000, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10);
+        assertEquals(0, fixedDelay.withSpread(SPREAD).jitter("bean.job"));
+        JobSchedule dependent = JobSchedule.dependent(ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10);
+        assertEquals(0, dependent.withSpread(SPREAD).jitter("bean.job"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.annotation.JobClassMetadata.JobMethodMetadata;
+import com.scheduled.annotation.JobScheduled;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription JobTaskRegistry 任务id冲突的处理及配置key索引
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobTaskRegistryTest {
+
+    @Test
+    public void sameMethodRegisteredTwiceReturnsExisting() {
+        Sweeper bean = new Sweeper();
+        JobMethodMetadata metadata = find(bean, 0);
+        JobTaskRegistry registry = new JobTaskRegistry();
+        JobTask first = new JobTask("sweeper", bean, metadata);
+        assertSame(first, registry.register(first));
+        assertSame(first, registry.register(new JobTask("sweeper", bean, metadata)));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void overloadedMethodsWithSameIdAreRejected() {
+        Sweeper bean = new Sweeper();
+        JobTaskRegistry registry = new JobTaskRegistry();
+        registry.register(new JobTask("sweeper", bean, find(bean, 0)));
+        try {
+            registry.register(new JobTask("sweeper", bean, find(bean, 1)));
+            fail("overloads sharing a task id must not be silently dropped");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("sweep()"));
+            assertTrue(e.getMessage(), e.getMessage().contains("sweep(com.scheduled.task.PartitionContext)"));
+        }
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void defaultAttributeValuesAreNotIndexedAsConfigKeys() {
+        Sweeper bean = new Sweeper();
+        JobTask task = new JobTask("sweeper", bean, find(bean, 0));
+        assertEquals(Collections.emptySet(), task.getConfigKeys());
+
+        Reporter reporter = new Reporter();
+        JobTask configured = new JobTask("reporter", reporter, JobClassMetadata.introspect(reporter).getMethods().get(0));
+        assertEquals(new HashSet<>(Arrays.asList("report_cron", "report_enable", "QUEUE")), configured.getConfigKeys());
+
+        JobTaskRegistry registry = new JobTaskRegistry();
+        registry.register(task);
+        registry.register(configured);
+        assertTrue(registry.getTasksByConfigKeys(Arrays.asList("true", "SKIP", "FIRE_ONCE", "10")).isEmpty());
+        assertEquals(Collections.singleton(configured), registry.getTasksByConfigKeys(Collections.singleton("report_enable")));
+    }
+
+    private static JobMethodMetadata find(Object bean, int parameterCount) {
+        List<JobMethodMetadata> methods = JobClassMetadata.introspect(bean).getMethods();
+        for (JobMethodMetadata metadata : methods) {
+            if (metadata.getMethod().getParameterCount() == parameterCount) {
+                return metadata;
+            }
+        }
+        throw new AssertionError("no annotated method with " + parameterCount + " parameters");
+    }
+
+    public static class Sweeper {
+
+        @JobScheduled(fixedRate = 1000)
+        public void sweep() {
+        }
+
+        @JobScheduled(fixedRate = 1000, partitions = "2")
+        public void sweep(PartitionContext context) {
+        }
+    }
+
+    public static class Reporter {
+
+        @JobScheduled(cron = "report_cron", enable = "report_enable", concurrency = "QUEUE", misfire = "FIRE_ONCE")
+        public void report() {
+        }
+    }
+}
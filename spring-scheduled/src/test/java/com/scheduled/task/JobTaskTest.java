@@ -0,0 +1,718 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.annotation.JobClassMetadata.JobMethodMetadata;
+import com.scheduled.annotation.JobScheduled;
+import com.scheduled.annotation.MisfirePolicy;
+import com.scheduled.metrics.JobMetricsSnapshot;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription JobTask 的并发策略、错过触发、排期更替后的排空、执行超时和异步完成。调度器只记录提交的触发，由测试直接调用fire；
+ * 同步任务方法在测试打开闸门前一直阻塞，重叠的触发在后台线程中发起；异步任务方法返回由测试完成的CompletableFuture，
+ * 执行是否结束完全由测试决定
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class JobTaskTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+
+    private final GatedJob job = new GatedJob();
+
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    private TimeoutWatchdog watchdog;
+
+    @After
+    public void release() throws InterruptedException {
+        this.job.open();
+        for (Thread thread : this.threads) {
+            thread.join(5000);
+        }
+        if (this.watchdog != null) {
+            this.watchdog.stop();
+        }
+    }
+
+    @Test
+    public void skipDropsTriggersWhileRunning() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        job.close();
+        Thread first = fireInBackground(task);
+        fireNow(task);
+        fireNow(task);
+        assertEquals(1, job.calls.get());
+        assertEquals(1, task.getRunning().get());
+
+        job.open();
+        join(first);
+        assertEquals(0, task.getRunning().get());
+        fireNow(task);
+        assertEquals(2, job.calls.get());
+    }
+
+    @Test
+    public void queueRunsQueuedTriggersAfterTheRunningOne() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ONCE, 10));
+        job.close();
+        Thread first = fireInBackground(task);
+        fireNow(task);
+        fireNow(task);
+        assertEquals(1, job.calls.get());
+        assertEquals(2, task.getQueued().get());
+
+        //排队的两次由正在执行的线程接着执行
+        job.open();
+        join(first);
+        assertEquals(3, job.calls.get());
+        assertEquals(0, task.getQueued().get());
+        assertEquals(0, task.getRunning().get());
+    }
+
+    @Test
+    public void queueIsClampedToMaxCatchUp() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ONCE, 2));
+        job.close();
+        Thread first = fireInBackground(task);
+        for (int i = 0; i < 5; i++) {
+            fireNow(task);
+        }
+        assertEquals(2, task.getQueued().get());
+
+        job.open();
+        join(first);
+        assertEquals(3, job.calls.get());
+        assertEquals(0, task.getRunning().get());
+    }
+
+    @Test
+    public void allowParallelStartsEveryTrigger() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.ALLOW_PARALLEL,
+                MisfirePolicy.FIRE_ONCE, 10));
+        job.close();
+        Thread first = fireInBackground(task);
+        Thread second = fireInBackground(task);
+        assertEquals(2, job.calls.get());
+        assertEquals(2, task.getRunning().get());
+
+        job.open();
+        join(first);
+        join(second);
+        assertEquals(0, task.getRunning().get());
+    }
+
+    @Test
+    public void fireOnceRunsOnceAfterMisfire() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        long now = System.currentTimeMillis();
+        fire(task, now - 3 * HOUR - HOUR / 2);
+        assertEquals(1, job.calls.get());
+        assertNextArmedAfter(now);
+    }
+
+    @Test
+    public void fireAllCatchesUpEveryMissedTrigger() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ALL, 10));
+        long now = System.currentTimeMillis();
+        fire(task, now - 3 * HOUR - HOUR / 2);
+        assertEquals(4, job.calls.get());
+        assertEquals(0, task.getRunning().get());
+        assertNextArmedAfter(now);
+    }
+
+    @Test
+    public void fireAllIsLimitedByMaxCatchUp() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ALL, 2));
+        fire(task, System.currentTimeMillis() - 5 * HOUR - HOUR / 2);
+        assertEquals(3, job.calls.get());
+    }
+
+    @Test
+    public void fireAllIntoQueueIsClampedToMaxCatchUp() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ALL, 3));
+        job.close();
+        Thread first = fireInBackground(task);
+        // 正在执行时错过5次：本次需要执行1+3次，排队最多3次
+        fire(task, System.currentTimeMillis() - 5 * HOUR - HOUR / 2);
+        assertEquals(3, task.getQueued().get());
+
+        job.open();
+        join(first);
+        assertEquals(4, job.calls.get());
+        assertEquals(0, task.getQueued().get());
+    }
+
+    @Test
+    public void ignoreSkipsTheLateTrigger() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.IGNORE, 10));
+        long now = System.currentTimeMillis();
+        fire(task, now - 2 * HOUR - HOUR / 2);
+        assertEquals(0, job.calls.get());
+        assertEquals(0, task.getRunning().get());
+        assertNextArmedAfter(now);
+    }
+
+    @Test
+    public void fixedDelayRearmsAfterTheRun() {
+        JobTask task = start(job, "run", JobSchedule.fixedDelay(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        int armed = scheduler.scheduled.size();
+        AtomicInteger armedDuringRun = new AtomicInteger();
+        job.onRun = () -> armedDuringRun.set(scheduler.scheduled.size());
+        long before = System.currentTimeMillis();
+        fireNow(task);
+        assertEquals("fixed delay waits for the run", armed, armedDuringRun.get());
+        assertEquals(armed + 1, scheduler.scheduled.size());
+        assertTrue(scheduler.last().time >= before + HOUR);
+    }
+
+    @Test
+    public void fixedRateRearmsBeforeTheRun() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        int armed = scheduler.scheduled.size();
+        AtomicInteger armedDuringRun = new AtomicInteger();
+        job.onRun = () -> armedDuringRun.set(scheduler.scheduled.size());
+        fireNow(task);
+        assertEquals(armed + 1, armedDuringRun.get());
+    }
+
+    @Test
+    public void cancelDropsQueueAndStaleTriggers() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ONCE, 10));
+        long oldGen = task.getGeneration().get();
+        job.close();
+        Thread first = fireInBackground(task);
+        fireNow(task);
+        assertEquals(1, task.getQueued().get());
+
+        task.cancel(false);
+        assertEquals(0, task.getQueued().get());
+        fire(task, oldGen, System.currentTimeMillis());
+        assertEquals("stale trigger is dropped", 1, job.calls.get());
+        assertTrue(scheduler.last().isCancelled());
+
+        job.open();
+        join(first);
+        assertFalse("running execution is not interrupted", job.interrupted.get() > 0);
+        assertEquals("queued run is discarded", 1, job.calls.get());
+    }
+
+    @Test
+    public void cancelWithInterruptInterruptsRunningThread() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        job.close();
+        Thread first = fireInBackground(task);
+        task.cancel(true);
+        join(first);
+        assertEquals(1, job.interrupted.get());
+        assertEquals(0, task.getRunning().get());
+    }
+
+    /**
+     * 重新排期后旧排期的执行继续到结束，排队的不再执行；排空超时时只中断旧排期发起的执行
+     */
+    @Test
+    public void rescheduleDrainsOldGeneration() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ONCE, 10));
+        long oldGen = task.getGeneration().get();
+        job.close();
+        Thread first = fireInBackground(task);
+        fireNow(task);
+
+        task.cancel(false);
+        task.start(scheduler);
+        long newGen = task.getGeneration().get();
+        assertEquals(0, task.getQueued().get());
+        assertEquals(1, task.getInFlight());
+        assertEquals(0, task.interruptBefore(oldGen));
+        assertEquals(0, job.interrupted.get());
+
+        assertEquals(1, task.interruptBefore(newGen));
+        join(first);
+        assertEquals(1, job.interrupted.get());
+        assertEquals(0, task.getInFlight());
+        assertEquals("queued run of the old generation is not executed", 1, job.calls.get());
+
+        job.open();
+        fireNow(task);
+        assertEquals(2, job.calls.get());
+    }
+
+    @Test
+    public void newFireDuringDrainFollowsConcurrencyPolicy() throws Exception {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        job.close();
+        Thread first = fireInBackground(task);
+        task.cancel(false);
+        task.start(scheduler);
+        fireNow(task);
+        assertEquals("old run still holds the permit", 1, job.calls.get());
+
+        job.open();
+        join(first);
+        fireNow(task);
+        assertEquals(2, job.calls.get());
+    }
+
+    @Test
+    public void rescheduleKeepsFixedRatePhase() {
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        long planned = System.currentTimeMillis();
+        fire(task, planned);
+        task.cancel(false);
+        task.start(scheduler);
+        assertTrue("no extra run right after reschedule", scheduler.last().time >= planned + HOUR);
+    }
+
+    @Test
+    public void timeoutInterruptsSyncExecution() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.setTimeout(50);
+        task.setWatchdog(watchdog(5000));
+        task.setExecutionListener((t, planned, startTime, endTime, error) -> errors.add(error));
+        job.close();
+        fireNow(task);
+        assertEquals(1, job.interrupted.get());
+        assertFalse("interrupt status is cleared after the run", Thread.currentThread().isInterrupted());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof TimeoutException);
+        assertEquals(1, metrics(task).getTimedOut());
+        assertEquals(0, task.getRunning().get());
+        assertEquals(0, this.watchdog.size());
+    }
+
+    @Test
+    public void timeoutAbandonsExecutionThatIgnoresInterrupt() throws Exception {
+        BlockingJob stubborn = new BlockingJob();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        JobTask task = start(stubborn, "run", JobSchedule.fixedDelay(HOUR, 0, ConcurrencyPolicy.SKIP,
+                MisfirePolicy.FIRE_ONCE, 10));
+        task.setTimeout(50);
+        task.setWatchdog(watchdog(50));
+        task.setExecutionListener((t, planned, startTime, endTime, error) -> errors.add(error));
+        int armed = scheduler.scheduled.size();
+        Thread runner = new Thread(() -> fireNow(task));
+        this.threads.add(runner);
+        runner.start();
+        assertTrue(stubborn.started.await(5, TimeUnit.SECONDS));
+        assertTrue("fixed delay is re-armed when abandoned", eventually(() -> scheduler.scheduled.size() == armed + 1));
+        assertEquals("permit is released when abandoned", 0, task.getRunning().get());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof TimeoutException);
+
+        stubborn.release.countDown();
+        join(runner);
+        assertTrue(stubborn.interrupted.get());
+        assertEquals("the late end is not reported again", 1, errors.size());
+        assertEquals(armed + 1, scheduler.scheduled.size());
+        assertEquals(0, task.getRunning().get());
+    }
+
+    @Test
+    public void failedWatchEndsExecutionAndReleasesPermit() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        JobTask task = start(job, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.setTimeout(50);
+        IllegalStateException failure = new IllegalStateException("unable to start watchdog");
+        task.setWatchdog(new TimeoutWatchdog(0) {
+            @Override
+            public Watch watch(long timeoutMillis, Guarded guarded) {
+                throw failure;
+            }
+        });
+        task.setExecutionListener((t, planned, startTime, endTime, error) -> errors.add(error));
+        fireNow(task);
+        assertEquals(0, job.calls.get());
+        assertEquals(Collections.singletonList(failure), errors);
+        assertEquals(1, metrics(task).getFailure());
+        assertEquals(0, task.getRunning().get());
+        assertEquals(0, task.getInFlight());
+
+        task.setWatchdog(null);
+        fireNow(task);
+        assertEquals(1, job.calls.get());
+    }
+
+    @Test
+    public void asyncFireAllRunsOneAfterAnother() {
+        AsyncJob async = new AsyncJob();
+        JobTask task = start(async, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ALL, 10));
+        fire(task, System.currentTimeMillis() - 3 * HOUR - HOUR / 2);
+        // 异步方法在上一次的结果完成后才执行下一次，期间一直占用名额
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 1, async.calls.size());
+            assertEquals(1, task.getRunning().get());
+            async.complete(i);
+        }
+        assertEquals(4, async.calls.size());
+        assertEquals(0, task.getRunning().get());
+    }
+
+    @Test
+    public void asyncSkipHoldsThePermitUntilTheResultCompletes() {
+        AsyncJob async = new AsyncJob();
+        JobTask task = start(async, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        fireNow(task);
+        fireNow(task);
+        assertEquals(1, async.calls.size());
+        assertEquals(1, metrics(task).getSkipped());
+
+        async.complete(0);
+        assertEquals(0, task.getRunning().get());
+        fireNow(task);
+        assertEquals(2, async.calls.size());
+    }
+
+    @Test
+    public void fixedDelayRearmsWhenAsyncResultCompletes() {
+        AsyncJob async = new AsyncJob();
+        JobTask task = start(async, "run", JobSchedule.fixedDelay(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        int armed = scheduler.scheduled.size();
+        fireNow(task);
+        assertEquals(1, async.calls.size());
+        assertEquals("fixed delay waits for the result", armed, scheduler.scheduled.size());
+        long before = System.currentTimeMillis();
+        async.complete(0);
+        assertEquals(armed + 1, scheduler.scheduled.size());
+        assertTrue(scheduler.last().time >= before + HOUR);
+    }
+
+    @Test
+    public void asyncFailureIsRecordedWhenResultCompletes() {
+        AsyncJob async = new AsyncJob();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        JobTask task = start(async, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.setExecutionListener((t, planned, startTime, endTime, error) -> errors.add(error));
+        fireNow(task);
+        assertTrue(errors.isEmpty());
+        assertEquals(1, task.getInFlight());
+        IllegalStateException failure = new IllegalStateException("boom");
+        async.calls.get(0).completeExceptionally(failure);
+        assertEquals(1, errors.size());
+        assertSame(failure, errors.get(0));
+        assertEquals(1, metrics(task).getFailure());
+        assertEquals(0, task.getInFlight());
+        assertEquals(0, task.getRunning().get());
+
+        fireNow(task);
+        async.complete(1);
+        assertEquals(2, errors.size());
+        assertNull(errors.get(1));
+        assertEquals(1, metrics(task).getSuccess());
+    }
+
+    @Test
+    public void timeoutCancelsAsyncResult() throws Exception {
+        AsyncJob async = new AsyncJob();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        CountDownLatch reported = new CountDownLatch(1);
+        JobTask task = start(async, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.setTimeout(50);
+        task.setWatchdog(watchdog(5000));
+        task.setExecutionListener((t, planned, startTime, endTime, error) -> {
+            errors.add(error);
+            reported.countDown();
+        });
+        fireNow(task);
+        assertTrue(reported.await(5, TimeUnit.SECONDS));
+        assertTrue(async.calls.get(0).isCancelled());
+        assertTrue(errors.get(0) instanceof TimeoutException);
+        assertTrue(errors.get(0).getCause() instanceof CancellationException);
+        assertEquals(1, metrics(task).getTimedOut());
+        // 监听器在释放名额之前回调，这里等待看门狗线程走完
+        assertTrue(eventually(() -> task.getRunning().get() == 0 && task.getInFlight() == 0));
+    }
+
+    @Test
+    public void rescheduleDrainCancelsOldAsyncResult() {
+        AsyncJob async = new AsyncJob();
+        JobTask task = start(async, "run", JobSchedule.fixedRate(HOUR, 0, ConcurrencyPolicy.QUEUE, MisfirePolicy.FIRE_ONCE, 10));
+        fireNow(task);
+        fireNow(task);
+        long oldGen = task.getGeneration().get();
+
+        task.cancel(false);
+        task.start(scheduler);
+        assertEquals(0, task.getQueued().get());
+        assertEquals(1, task.getInFlight());
+        assertEquals(0, task.interruptBefore(oldGen));
+        assertEquals(1, task.interruptBefore(task.getGeneration().get()));
+        assertTrue(async.calls.get(0).isCancelled());
+        assertEquals(0, task.getInFlight());
+        assertEquals(0, task.getRunning().get());
+        assertEquals("queued run of the old generation is not executed", 1, async.calls.size());
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private TimeoutWatchdog watchdog(long graceMillis) {
+        this.watchdog = new TimeoutWatchdog(graceMillis);
+        return this.watchdog;
+    }
+
+    private JobTask start(Object bean, String method, JobSchedule schedule) {
+        JobMethodMetadata metadata = null;
+        for (JobMethodMetadata candidate : JobClassMetadata.introspect(bean).getMethods()) {
+            if (candidate.getMethod().getName().equals(method)) {
+                metadata = candidate;
+            }
+        }
+        JobTask task = new JobTask("bean", bean, metadata);
+        task.setSchedule(schedule);
+        task.setEnabled(true);
+        task.start(this.scheduler);
+        return task;
+    }
+
+    /**
+     * 在后台线程中触发一次，返回时任务方法已经开始执行
+     */
+    private Thread fireInBackground(JobTask task) throws InterruptedException {
+        Thread thread = new Thread(() -> fireNow(task));
+        this.threads.add(thread);
+        thread.start();
+        assertTrue("job did not start", this.job.entered.tryAcquire(5, TimeUnit.SECONDS));
+        return thread;
+    }
+
+    private static void join(Thread thread) throws InterruptedException {
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+    }
+
+    private static void fireNow(JobTask task) {
+        fire(task, System.currentTimeMillis());
+    }
+
+    private static void fire(JobTask task, long planned) {
+        fire(task, task.getGeneration().get(), planned);
+    }
+
+    private static void fire(JobTask task, long gen, long planned) {
+        task.fire(gen, planned);
+    }
+
+    private static JobMetricsSnapshot metrics(JobTask task) {
+        return task.getMetrics().snapshot(task.getId());
+    }
+
+    private void assertNextArmedAfter(long now) {
+        assertTrue("next trigger is after now", this.scheduler.last().time > now);
+    }
+
+    /**
+     * 关闭闸门后任务方法阻塞到闸门打开或线程被中断
+     */
+    public static class GatedJob {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        final AtomicInteger interrupted = new AtomicInteger();
+
+        final Semaphore entered = new Semaphore(0);
+
+        volatile Runnable onRun;
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @JobScheduled(fixedRate = 1000)
+        public void run() {
+            this.calls.incrementAndGet();
+            Runnable hook = this.onRun;
+            if (hook != null) {
+                hook.run();
+            }
+            this.entered.release();
+            try {
+                this.gate.await();
+            } catch (InterruptedException e) {
+                this.interrupted.incrementAndGet();
+            }
+        }
+
+        void close() {
+            this.gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            this.gate.countDown();
+        }
+    }
+
+    /**
+     * 返回由测试完成的结果
+     */
+    public static class AsyncJob {
+
+        final List<CompletableFuture<Void>> calls = new CopyOnWriteArrayList<>();
+
+        @JobScheduled(fixedRate = 1000)
+        public CompletableFuture<Void> run() {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            this.calls.add(result);
+            return result;
+        }
+
+        void complete(int index) {
+            this.calls.get(index).complete(null);
+        }
+    }
+
+    /**
+     * 忽略中断，直到测试放行才结束
+     */
+    public static class BlockingJob {
+
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final AtomicBoolean interrupted = new AtomicBoolean();
+
+        @JobScheduled(fixedRate = 1000)
+        public void run() {
+            this.started.countDown();
+            while (true) {
+                try {
+                    this.release.await();
+                    return;
+                } catch (InterruptedException e) {
+                    this.interrupted.set(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 只记录提交的触发，不执行
+     */
+    static final class ManualScheduler implements TaskScheduler {
+
+        final List<Entry> scheduled = new CopyOnWriteArrayList<>();
+
+        Entry last() {
+            return this.scheduled.get(this.scheduled.size() - 1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+            Entry entry = new Entry(task, startTime.getTime());
+            this.scheduled.add(entry);
+            return entry;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class Entry implements ScheduledFuture<Object> {
+
+        final Runnable task;
+
+        final long time;
+
+        private volatile boolean cancelled;
+
+        Entry(Runnable task, long time) {
+            this.task = task;
+            this.time = time;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.time - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            this.cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.cancelled;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+    }
+}
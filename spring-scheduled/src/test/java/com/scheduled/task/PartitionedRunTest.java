@@ -0,0 +1,132 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.metrics.JobMetricsSnapshot.PartitionSnapshot;
+import com.scheduled.task.JobTaskTest.GatedJob;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription PartitionedRun 的一次分片触发：所有分片结束后才完成，任一分片失败时其余分片照常执行完，
+ * 取消时中断正在执行的分片并跳过尚未开始的分片。分片在两个线程的线程池中执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class PartitionedRunTest {
+
+    private static final int SLICES = 3;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final JobTask task = newTask();
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void completesWhenAllSlicesFinish() throws Exception {
+        Set<Integer> ran = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Void> result = new PartitionedRun(this.task, context -> {
+            assertEquals(SLICES, context.getCount());
+            assertEquals(1000, context.getPlannedTime());
+            ran.add(context.getIndex());
+            return null;
+        }, SLICES, 1000).start(this.executor);
+
+        result.get(5, TimeUnit.SECONDS);
+        assertEquals(SLICES, ran.size());
+        for (PartitionSnapshot partition : partitions()) {
+            assertEquals(1, partition.getRunTimeHistogram().getCount());
+            assertEquals(0, partition.getFailure());
+        }
+    }
+
+    @Test
+    public void failedSliceFailsTheRunAfterTheOthersFinish() throws Exception {
+        Set<Integer> ran = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Void> result = new PartitionedRun(this.task, context -> {
+            ran.add(context.getIndex());
+            if (context.getIndex() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return null;
+        }, SLICES, 1000).start(this.executor);
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("run succeeded");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(SLICES, ran.size());
+        List<PartitionSnapshot> partitions = partitions();
+        assertEquals(0, partitions.get(0).getFailure());
+        assertEquals(1, partitions.get(1).getFailure());
+        assertEquals(0, partitions.get(2).getFailure());
+    }
+
+    @Test
+    public void cancelInterruptsRunningSlicesAndSkipsTheRest() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        Set<Integer> ran = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Void> result = new PartitionedRun(this.task, context -> {
+            ran.add(context.getIndex());
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                release.await();
+            }
+            return null;
+        }, SLICES, 1000).start(this.executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(result.cancel(true));
+        assertFalse("the run ends only when started slices end", result.isDone());
+        release.countDown();
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("run was not cancelled");
+        } catch (CancellationException expected) {
+            //取消后以CancellationException结束
+        }
+        assertEquals(2, interrupted.get());
+        assertEquals("the queued slice is skipped", 2, ran.size());
+        assertFalse("interrupt does not leak into the pool thread",
+                this.executor.submit(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS));
+    }
+
+    private List<PartitionSnapshot> partitions() {
+        return this.task.getMetrics().snapshot(this.task.getId()).getPartitions();
+    }
+
+    private static JobTask newTask() {
+        GatedJob job = new GatedJob();
+        JobTask task = new JobTask("bean", job, JobClassMetadata.introspect(job).getMethods().get(0));
+        task.getMetrics().retainPartitions(SLICES);
+        return task;
+    }
+}
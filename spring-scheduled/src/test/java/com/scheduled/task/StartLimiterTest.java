@@ -0,0 +1,74 @@
+package com.scheduled.task;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription StartLimiter 的GCRA准入：窗口内前permits次立即启动，之后按平均间隔依次推迟，空闲后恢复突发量
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class StartLimiterTest {
+
+    @Test
+    public void burstOfPermitsStartsImmediately() {
+        StartLimiter limiter = new StartLimiter(4, 1000);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(10_000, limiter.reserve(10_000));
+        }
+    }
+
+    @Test
+    public void startsBeyondTheBurstAreSpacedByTheInterval() {
+        StartLimiter limiter = new StartLimiter(4, 1000);
+        for (int i = 0; i < 4; i++) {
+            limiter.reserve(10_000);
+        }
+        assertEquals(10_250, limiter.reserve(10_000));
+        assertEquals(10_500, limiter.reserve(10_000));
+        assertEquals("a later request waits its turn too", 10_750, limiter.reserve(10_100));
+        assertEquals(11_000, limiter.reserve(10_100));
+    }
+
+    @Test
+    public void idleTimeRefillsTheBurst() {
+        StartLimiter limiter = new StartLimiter(4, 1000);
+        for (int i = 0; i < 4; i++) {
+            limiter.reserve(10_000);
+        }
+        assertEquals("half a window refills two permits", 10_500, limiter.reserve(10_500));
+        assertEquals(10_500, limiter.reserve(10_500));
+        assertEquals(10_750, limiter.reserve(10_500));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("a full idle window restores the burst", 20_000, limiter.reserve(20_000));
+        }
+        assertEquals(20_250, limiter.reserve(20_000));
+    }
+
+    @Test
+    public void parsesPermitsPerWindow() {
+        StartLimiter limiter = StartLimiter.parse("20/1s");
+        assertEquals(20, limiter.getPermits());
+        assertEquals(TimeUnit.SECONDS.toMillis(1), limiter.getWindow());
+        assertEquals(TimeUnit.MINUTES.toMillis(1), StartLimiter.parse(" 5 / 1m ").getWindow());
+    }
+
+    @Test
+    public void rejectsInvalidLimits() {
+        String[] invalid = {"20", "/1s", "x/1s", "0/1s", "20/", "20/soon"};
+        for (String text : invalid) {
+            try {
+                StartLimiter.parse(text);
+                fail("accepted " + text);
+            } catch (IllegalArgumentException expected) {
+                //无效的配置保留原配置
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.scheduled.task;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Feinik
+ * @Discription TaskPoolSpec 配置的解析，未指定的项取默认值
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TaskPoolSpecTest {
+
+    @Test
+    public void parsesAllItems() {
+        assertEquals(new TaskPoolSpec(4, 100, 3), TaskPoolSpec.parse("size=4,queue=100,priority=3"));
+        assertEquals(new TaskPoolSpec(4, 0, 7), TaskPoolSpec.parse(" priority = 7 , size=4, queue=0 "));
+    }
+
+    @Test
+    public void missingItemsUseDefaults() {
+        assertEquals(new TaskPoolSpec(2, 1000, Thread.NORM_PRIORITY), TaskPoolSpec.parse("size=2"));
+        assertEquals(TaskPoolSpec.DEFAULT, TaskPoolSpec.parse(""));
+        assertEquals(TaskPoolSpec.DEFAULT, TaskPoolSpec.parse(TaskPoolSpec.DEFAULT.toString()));
+    }
+
+    @Test
+    public void rejectsInvalidConfig() {
+        String[] invalid = {"4", "size=", "size=four", "threads=4", "=4", "size=0", "queue=-1", "priority=11",
+                "priority=0"};
+        for (String text : invalid) {
+            try {
+                TaskPoolSpec.parse(text);
+                fail("accepted " + text);
+            } catch (IllegalArgumentException expected) {
+                //无效的配置保留原配置
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.scheduled.task;
+
+import com.scheduled.annotation.ConcurrencyPolicy;
+import com.scheduled.annotation.JobClassMetadata;
+import com.scheduled.annotation.MisfirePolicy;
+import com.scheduled.cron.CompiledCron;
+import com.scheduled.task.JobTaskTest.Entry;
+import com.scheduled.task.JobTaskTest.GatedJob;
+import com.scheduled.task.JobTaskTest.ManualScheduler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Feinik
+ * @Discription TriggerCoalescer 按cron合并触发：同一cron的任务共用一个触发，一次唤醒执行全部到期任务，
+ * 最后一个任务离开时移除该组。调度器只记录提交的触发，由测试直接执行
+ * @Data 2026/10/18
+ * @Version 1.0.0
+ */
+public class TriggerCoalescerTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+
+    private final TriggerCoalescer coalescer = new TriggerCoalescer();
+
+    @Test
+    public void tasksWithTheSameCronShareOneTrigger() {
+        CompiledCron cron = CompiledCron.compile("0 0 * * * ?", UTC);
+        GatedJob job = new GatedJob();
+        start("a", job, cron);
+        start("b", job, cron);
+        start("c", job, CompiledCron.compile("0 30 * * * ?", UTC));
+        assertEquals(2, this.coalescer.getGroupCount());
+        assertEquals(3, this.coalescer.getMemberCount());
+        assertEquals(2, this.scheduler.scheduled.size());
+
+        Entry wakeup = this.scheduler.scheduled.get(0);
+        assertEquals(cron.next(System.currentTimeMillis()), wakeup.time);
+        wakeup.task.run();
+        runPending(2);
+        assertEquals(2, job.calls.get());
+
+        Entry next = this.scheduler.last();
+        assertFalse(next.isCancelled());
+        assertEquals("both tasks re-armed into one trigger", wakeup.time + 3_600_000, next.time);
+        assertEquals(2, this.coalescer.getGroupCount());
+    }
+
+    @Test
+    public void groupIsDroppedWhenItsLastTaskLeaves() {
+        CompiledCron cron = CompiledCron.compile("0 0 * * * ?", UTC);
+        GatedJob job = new GatedJob();
+        JobTask a = start("a", job, cron);
+        JobTask b = start("b", job, cron);
+        Entry wakeup = this.scheduler.last();
+
+        a.cancel(false);
+        assertEquals(1, this.coalescer.getRetainedGroupCount());
+        assertFalse(wakeup.isCancelled());
+
+        b.cancel(false);
+        assertTrue(wakeup.isCancelled());
+        assertEquals(0, this.coalescer.getGroupCount());
+        assertEquals(0, this.coalescer.getRetainedGroupCount());
+        assertEquals(0, this.coalescer.getMemberCount());
+
+        a.start(this.scheduler);
+        assertEquals(1, this.coalescer.getRetainedGroupCount());
+        assertFalse(this.scheduler.last().isCancelled());
+        assertEquals(cron.next(System.currentTimeMillis()), this.scheduler.last().time);
+    }
+
+    @Test
+    public void taskMovesToTheGroupOfItsNewCron() {
+        CompiledCron hourly = CompiledCron.compile("0 0 * * * ?", UTC);
+        CompiledCron halfPast = CompiledCron.compile("0 30 * * * ?", UTC);
+        JobTask task = start("a", new GatedJob(), hourly);
+        Entry first = this.scheduler.last();
+
+        task.setSchedule(JobSchedule.cron(halfPast, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.start(this.scheduler);
+        assertTrue("the old group is dropped with its trigger", first.isCancelled());
+        assertEquals(1, this.coalescer.getRetainedGroupCount());
+        assertEquals(halfPast.next(System.currentTimeMillis()), this.scheduler.last().time);
+    }
+
+    private JobTask start(String beanName, Object bean, CompiledCron cron) {
+        JobTask task = new JobTask(beanName, bean, JobClassMetadata.introspect(bean).getMethods().get(0));
+        task.setSchedule(JobSchedule.cron(cron, ConcurrencyPolicy.SKIP, MisfirePolicy.FIRE_ONCE, 10));
+        task.setEnabled(true);
+        task.setCoalescer(this.coalescer);
+        task.start(this.scheduler);
+        return task;
+    }
+
+    /**
+     * 执行唤醒提交给调度器的最后count个任务
+     */
+    private void runPending(int count) {
+        List<Entry> scheduled = this.scheduler.scheduled;
+        List<Entry> pending = new ArrayList<>(scheduled.subList(scheduled.size() - count, scheduled.size()));
+        for (Entry entry : pending) {
+            entry.task.run();
+        }
+    }
+}